@@ -17,6 +17,7 @@
 package org.apache.commons.lang3;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -34,6 +35,160 @@
  */
 public class CharSet implements Serializable {
 
+    /**
+     * Immutable lookup structure compiled from the ranges of a {@link CharSet}.
+     *
+     * <p>
+     * The ranges, negated ones included, are merged into sorted disjoint intervals of included characters. Dense sets are
+     * stored as a bitmap over the span of those intervals, or of their complement when that is smaller, and sparse sets
+     * as the sorted interval bounds, searched with a binary search.
+     * </p>
+     */
+    private static final class Lookup {
+
+        /** The maximum bitmap size in longs for which a bitmap is always used, covers a span of 4096 chars. */
+        private static final int SMALL_BITMAP_WORDS = 64;
+
+        /** The number of intervals above which a bitmap is always used. */
+        private static final int MAX_INTERVALS = 16;
+
+        /** The empty lookup. */
+        private static final Lookup EMPTY = new Lookup(new int[0], new int[0]);
+
+        /**
+         * Compiles the given ranges.
+         *
+         * @param ranges the ranges to compile.
+         * @return the compiled lookup.
+         */
+        static Lookup of(final CharRange[] ranges) {
+            final int[][] intervals = new int[ranges.length * 2][];
+            int count = 0;
+            for (final CharRange range : ranges) {
+                if (!range.isNegated()) {
+                    intervals[count++] = new int[] { range.getStart(), range.getEnd() };
+                } else {
+                    if (range.getStart() > Character.MIN_VALUE) {
+                        intervals[count++] = new int[] { Character.MIN_VALUE, range.getStart() - 1 };
+                    }
+                    if (range.getEnd() < Character.MAX_VALUE) {
+                        intervals[count++] = new int[] { range.getEnd() + 1, Character.MAX_VALUE };
+                    }
+                }
+            }
+            if (count == 0) {
+                return EMPTY;
+            }
+            Arrays.sort(intervals, 0, count, (a, b) -> Integer.compare(a[0], b[0]));
+            // merge overlapping and adjacent intervals
+            final int[] starts = new int[count];
+            final int[] ends = new int[count];
+            int merged = 0;
+            for (int i = 0; i < count; i++) {
+                final int[] interval = intervals[i];
+                if (merged > 0 && interval[0] <= ends[merged - 1] + 1) {
+                    ends[merged - 1] = Math.max(ends[merged - 1], interval[1]);
+                } else {
+                    starts[merged] = interval[0];
+                    ends[merged] = interval[1];
+                    merged++;
+                }
+            }
+            final int[] s = Arrays.copyOf(starts, merged);
+            final int[] e = Arrays.copyOf(ends, merged);
+            // span of the included chars and of the excluded chars
+            final int spanIn = e[merged - 1] - s[0];
+            final int firstOut = s[0] > Character.MIN_VALUE ? Character.MIN_VALUE : e[0] + 1;
+            final int lastOut = e[merged - 1] < Character.MAX_VALUE ? Character.MAX_VALUE : s[merged - 1] - 1;
+            final boolean inverted = lastOut - firstOut < spanIn;
+            if (inverted && firstOut > lastOut) {
+                // every char
+                return new Lookup(Character.MIN_VALUE, new long[0], true);
+            }
+            final int offset = inverted ? firstOut : s[0];
+            final int words = ((inverted ? lastOut - firstOut : spanIn) >> 6) + 1;
+            if (words > SMALL_BITMAP_WORDS && merged <= MAX_INTERVALS) {
+                return new Lookup(s, e);
+            }
+            final long[] bits = new long[words];
+            if (inverted) {
+                // mark the gaps between included intervals
+                mark(bits, offset, Character.MIN_VALUE, s[0] - 1);
+                for (int i = 1; i < merged; i++) {
+                    mark(bits, offset, e[i - 1] + 1, s[i] - 1);
+                }
+                mark(bits, offset, e[merged - 1] + 1, Character.MAX_VALUE);
+            } else {
+                for (int i = 0; i < merged; i++) {
+                    mark(bits, offset, s[i], e[i]);
+                }
+            }
+            return new Lookup(offset, bits, inverted);
+        }
+
+        /**
+         * Sets the bits of the chars from {@code from} to {@code to}, both inclusive.
+         */
+        private static void mark(final long[] bits, final int offset, final int from, final int to) {
+            for (int ch = from; ch <= to; ch++) {
+                final int index = ch - offset;
+                bits[index >> 6] |= 1L << index;
+            }
+        }
+
+        /** Sorted starts of the included intervals, {@code null} when a bitmap is used. */
+        private final int[] starts;
+
+        /** Sorted ends of the included intervals, {@code null} when a bitmap is used. */
+        private final int[] ends;
+
+        /** The char of the first bit. */
+        private final int offset;
+
+        /** The bitmap, of included chars, or of excluded chars when inverted. */
+        private final long[] bits;
+
+        /** Whether the bitmap holds the excluded chars. */
+        private final boolean inverted;
+
+        private Lookup(final int offset, final long[] bits, final boolean inverted) {
+            this.starts = null;
+            this.ends = null;
+            this.offset = offset;
+            this.bits = bits;
+            this.inverted = inverted;
+        }
+
+        private Lookup(final int[] starts, final int[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+            this.offset = 0;
+            this.bits = null;
+            this.inverted = false;
+        }
+
+        boolean contains(final char ch) {
+            if (bits != null) {
+                final int index = ch - offset;
+                final boolean set = index >= 0 && index >> 6 < bits.length && (bits[index >> 6] & 1L << index) != 0;
+                return set != inverted;
+            }
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                final int mid = low + high >>> 1;
+                if (ch < starts[mid]) {
+                    high = mid - 1;
+                } else if (ch > ends[mid]) {
+                    low = mid + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     /**
      * Required for serialization support. Lang version 2.0.
      *
@@ -165,6 +320,9 @@ public static CharSet getInstance(final String... setStrs) {
     /** The set of CharRange objects. */
     private final Set<CharRange> set = Collections.synchronizedSet(new HashSet<>());
 
+    /** The compiled form of {@link #set}, {@code null} until first used or after a change. */
+    private transient volatile Lookup lookup;
+
     /**
      * Constructs a new CharSet using the set syntax.
      * Each string is merged in with the set.
@@ -186,27 +344,30 @@ protected void add(final String str) {
             return;
         }
 
-        final int len = str.length();
-        int pos = 0;
-        while (pos < len) {
-            final int remainder = len - pos;
-            if (remainder >= 4 && str.charAt(pos) == '^' && str.charAt(pos + 2) == '-') {
-                // negated range
-                set.add(CharRange.isNotIn(str.charAt(pos + 1), str.charAt(pos + 3)));
-                pos += 4;
-            } else if (remainder >= 3 && str.charAt(pos + 1) == '-') {
-                // range
-                set.add(CharRange.isIn(str.charAt(pos), str.charAt(pos + 2)));
-                pos += 3;
-            } else if (remainder >= 2 && str.charAt(pos) == '^') {
-                // negated char
-                set.add(CharRange.isNot(str.charAt(pos + 1)));
-                pos += 2;
-            } else {
-                // char
-                set.add(CharRange.is(str.charAt(pos)));
-                pos += 1;
+        synchronized (set) {
+            final int len = str.length();
+            int pos = 0;
+            while (pos < len) {
+                final int remainder = len - pos;
+                if (remainder >= 4 && str.charAt(pos) == '^' && str.charAt(pos + 2) == '-') {
+                    // negated range
+                    set.add(CharRange.isNotIn(str.charAt(pos + 1), str.charAt(pos + 3)));
+                    pos += 4;
+                } else if (remainder >= 3 && str.charAt(pos + 1) == '-') {
+                    // range
+                    set.add(CharRange.isIn(str.charAt(pos), str.charAt(pos + 2)));
+                    pos += 3;
+                } else if (remainder >= 2 && str.charAt(pos) == '^') {
+                    // negated char
+                    set.add(CharRange.isNot(str.charAt(pos + 1)));
+                    pos += 2;
+                } else {
+                    // char
+                    set.add(CharRange.is(str.charAt(pos)));
+                    pos += 1;
+                }
             }
+            lookup = null;
         }
     }
 
@@ -218,9 +379,25 @@ protected void add(final String str) {
      * @return {@code true} if the set contains the characters
      */
     public boolean contains(final char ch) {
-        synchronized (set) {
-            return set.stream().anyMatch(range -> range.contains(ch));
+        return getLookup().contains(ch);
+    }
+
+    /**
+     * Counts the characters of a {@link CharSequence} that are in this set.
+     *
+     * @param cs  the character sequence to scan, not null
+     * @return the number of characters in this set
+     */
+    int count(final CharSequence cs) {
+        final Lookup chars = getLookup();
+        final int len = cs.length();
+        int count = 0;
+        for (int i = 0; i < len; i++) {
+            if (chars.contains(cs.charAt(i))) {
+                count++;
+            }
         }
+        return count;
     }
 
     // Basics
@@ -247,6 +424,25 @@ public boolean equals(final Object obj) {
         return set.equals(other.set);
     }
 
+    /**
+     * Gets the compiled lookup, compiling the current ranges if needed.
+     *
+     * @return the compiled lookup
+     */
+    private Lookup getLookup() {
+        Lookup result = lookup;
+        if (result == null) {
+            synchronized (set) {
+                result = lookup;
+                if (result == null) {
+                    result = Lookup.of(set.toArray(CharRange.EMPTY_ARRAY));
+                    lookup = result;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Gets the internal set as an array of CharRange objects.
      *
@@ -259,6 +455,26 @@ public boolean equals(final Object obj) {
         return set.toArray(CharRange.EMPTY_ARRAY);
     }
 
+    /**
+     * Finds the first index at or after {@code start} of a character of a {@link CharSequence} for which
+     * {@link #contains(char)} returns {@code expect}.
+     *
+     * @param cs  the character sequence to scan, not null
+     * @param start  the index to start at
+     * @param expect  the membership to look for
+     * @return the index found, or -1
+     */
+    int indexIn(final CharSequence cs, final int start, final boolean expect) {
+        final Lookup chars = getLookup();
+        final int len = cs.length();
+        for (int i = start; i < len; i++) {
+            if (chars.contains(cs.charAt(i)) == expect) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Gets a hash code compatible with the equals method.
      *
@@ -54,13 +54,7 @@ public static boolean containsAny(final String str, final String... set) {
         if (StringUtils.isEmpty(str) || deepEmpty(set)) {
             return false;
         }
-        final CharSet chars = CharSet.getInstance(set);
-        for (final char c : str.toCharArray()) {
-            if (chars.contains(c)) {
-                return true;
-            }
-        }
-        return false;
+        return CharSet.getInstance(set).indexIn(str, 0, true) >= 0;
     }
 
     /**
@@ -85,14 +79,7 @@ public static int count(final String str, final String... set) {
         if (StringUtils.isEmpty(str) || deepEmpty(set)) {
             return 0;
         }
-        final CharSet chars = CharSet.getInstance(set);
-        int count = 0;
-        for (final char c : str.toCharArray()) {
-            if (chars.contains(c)) {
-                count++;
-            }
-        }
-        return count;
+        return CharSet.getInstance(set).count(str);
     }
 
     /**
@@ -170,12 +157,19 @@ public static String keep(final String str, final String... set) {
      */
     private static String modify(final String str, final String[] set, final boolean expect) {
         final CharSet chars = CharSet.getInstance(set);
+        // the chars before the first one to drop are all kept
+        int drop = chars.indexIn(str, 0, !expect);
+        if (drop < 0) {
+            return str;
+        }
         final StringBuilder buffer = new StringBuilder(str.length());
-        final char[] chrs = str.toCharArray();
-        for (final char chr : chrs) {
-            if (chars.contains(chr) == expect) {
-                buffer.append(chr);
-            }
+        buffer.append(str, 0, drop);
+        // alternate between skipping a run of chars to drop and copying a run of chars to keep
+        int keep = chars.indexIn(str, drop, expect);
+        while (keep >= 0) {
+            drop = chars.indexIn(str, keep, !expect);
+            buffer.append(str, keep, drop < 0 ? str.length() : drop);
+            keep = drop < 0 ? -1 : chars.indexIn(str, drop, expect);
         }
         return buffer.toString();
     }
@@ -204,15 +198,14 @@ public static String squeeze(final String str, final String... set) {
         }
         final CharSet chars = CharSet.getInstance(set);
         final StringBuilder buffer = new StringBuilder(str.length());
-        final char[] chrs = str.toCharArray();
-        final int sz = chrs.length;
-        char lastChar = chrs[0];
+        final int sz = str.length();
+        char lastChar = str.charAt(0);
         char ch;
         Character inChars = null;
         Character notInChars = null;
         buffer.append(lastChar);
         for (int i = 1; i < sz; i++) {
-            ch = chrs[i];
+            ch = str.charAt(i);
             if (ch == lastChar) {
                 if (inChars != null && ch == inChars) {
                     continue;
@@ -20,6 +20,7 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -36,11 +37,116 @@
  */
 public class EnumUtils {
 
+    /**
+     * Per enum type lookup tables, built once and shared by all threads.
+     */
+    private static final class EnumIndex {
+
+        private final Enum<?>[] constants;
+        private final Map<String, Enum<?>> byName;
+        private final IgnoreCaseTable byNameIgnoreCase;
+
+        EnumIndex(final Enum<?>[] constants) {
+            this.constants = constants;
+            this.byName = new HashMap<>(constants.length * 4 / 3 + 1);
+            final String[] names = new String[constants.length];
+            for (int i = 0; i < constants.length; i++) {
+                names[i] = constants[i].name();
+                byName.put(names[i], constants[i]);
+            }
+            this.byNameIgnoreCase = new IgnoreCaseTable(constants, names);
+        }
+
+        /**
+         * Gets the first constant whose key equals {@code enumName} ignoring case. The keys are not cached, as
+         * {@code stringFunction} may return different keys on each call.
+         */
+        @SuppressWarnings("unchecked")
+        <E extends Enum<E>> E getFirstIgnoreCase(final String enumName, final Function<E, String> stringFunction) {
+            for (final Enum<?> constant : constants) {
+                if (enumName.equalsIgnoreCase(stringFunction.apply((E) constant))) {
+                    return (E) constant;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Open addressing table matching keys with {@link String#equalsIgnoreCase(String)}, keeping the first constant of
+     * each group of keys that are equal ignoring case.
+     */
+    private static final class IgnoreCaseTable {
+
+        /**
+         * Hashes a string consistently with {@link String#equalsIgnoreCase(String)} without allocating.
+         */
+        private static int hash(final String key) {
+            int hash = 0;
+            final int length = key.length();
+            for (int i = 0; i < length; i++) {
+                final char ch = key.charAt(i);
+                // Surrogates are skipped as the JDK may compare supplementary characters ignoring case.
+                if (!Character.isSurrogate(ch)) {
+                    hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(ch));
+                }
+            }
+            return hash ^ hash >>> 16;
+        }
+
+        private final String[] keys;
+        private final Enum<?>[] values;
+        private final int mask;
+
+        IgnoreCaseTable(final Enum<?>[] constants, final String[] constantKeys) {
+            final int capacity = Integer.highestOneBit(Math.max(constants.length, 1) * 2) * 2;
+            this.keys = new String[capacity];
+            this.values = new Enum<?>[capacity];
+            this.mask = capacity - 1;
+            for (int i = 0; i < constants.length; i++) {
+                final String key = constantKeys[i];
+                if (key == null) {
+                    continue;
+                }
+                int slot = hash(key) & mask;
+                while (keys[slot] != null && !keys[slot].equalsIgnoreCase(key)) {
+                    slot = slot + 1 & mask;
+                }
+                if (keys[slot] == null) {
+                    keys[slot] = key;
+                    values[slot] = constants[i];
+                }
+            }
+        }
+
+        Enum<?> get(final String key) {
+            int slot = hash(key) & mask;
+            String candidate;
+            while ((candidate = keys[slot]) != null) {
+                if (candidate.equalsIgnoreCase(key)) {
+                    return values[slot];
+                }
+                slot = slot + 1 & mask;
+            }
+            return null;
+        }
+    }
+
     private static final String CANNOT_STORE_S_S_VALUES_IN_S_BITS = "Cannot store %s %s values in %s bits";
     private static final String ENUM_CLASS_MUST_BE_DEFINED = "EnumClass must be defined.";
     private static final String NULL_ELEMENTS_NOT_PERMITTED = "null elements not permitted";
     private static final String S_DOES_NOT_SEEM_TO_BE_AN_ENUM_TYPE = "%s does not seem to be an Enum type";
 
+    /**
+     * Lookup tables of enum types, {@code null} for classes that are not enum types.
+     */
+    private static final ClassValue<EnumIndex> INDEXES = new ClassValue<EnumIndex>() {
+        @Override
+        protected EnumIndex computeValue(final Class<?> type) {
+            return type.isEnum() ? new EnumIndex((Enum<?>[]) type.getEnumConstants()) : null;
+        }
+    };
+
     /**
      * Validate {@code enumClass}.
      * @param <E> the type of the enumeration
@@ -216,11 +322,12 @@ public static <E extends Enum<E>> E getEnum(final Class<E> enumClass, final Stri
         if (enumName == null) {
             return defaultEnum;
         }
-        try {
-            return Enum.valueOf(enumClass, enumName);
-        } catch (final IllegalArgumentException ex) {
+        final EnumIndex index = INDEXES.get(enumClass);
+        if (index == null) {
             return defaultEnum;
         }
+        final Enum<?> constant = index.byName.get(enumName);
+        return constant != null ? enumClass.cast(constant) : defaultEnum;
     }
 
     /**
@@ -254,7 +361,15 @@ public static <E extends Enum<E>> E getEnumIgnoreCase(final Class<E> enumClass,
      */
     public static <E extends Enum<E>> E getEnumIgnoreCase(final Class<E> enumClass, final String enumName,
         final E defaultEnum) {
-        return getFirstEnumIgnoreCase(enumClass, enumName, Enum::name, defaultEnum);
+        if (enumName == null) {
+            return defaultEnum;
+        }
+        final EnumIndex index = INDEXES.get(enumClass);
+        if (index == null) {
+            return defaultEnum;
+        }
+        final Enum<?> constant = index.byNameIgnoreCase.get(enumName);
+        return constant != null ? enumClass.cast(constant) : defaultEnum;
     }
 
     /**
@@ -337,10 +452,15 @@ public static <E extends Enum<E>> E getEnumSystemProperty(final Class<E> enumCla
      */
     public static <E extends Enum<E>> E getFirstEnumIgnoreCase(final Class<E> enumClass, final String enumName, final Function<E, String> stringFunction,
         final E defaultEnum) {
-        if (enumName == null || !enumClass.isEnum()) {
+        if (enumName == null) {
+            return defaultEnum;
+        }
+        final EnumIndex index = INDEXES.get(enumClass);
+        if (index == null) {
             return defaultEnum;
         }
-        return Stream.of(enumClass.getEnumConstants()).filter(e -> enumName.equalsIgnoreCase(stringFunction.apply(e))).findFirst().orElse(defaultEnum);
+        final E constant = index.getFirstIgnoreCase(enumName, stringFunction);
+        return constant != null ? constant : defaultEnum;
     }
 
     /**
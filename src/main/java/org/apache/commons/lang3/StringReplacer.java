@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+
+/**
+ * Replaces all occurrences of a fixed set of Strings within other Strings, in a single pass over the text.
+ *
+ * <p>
+ * The search Strings are compiled once into an Aho&ndash;Corasick automaton, so the cost of a replacement grows with
+ * the length of the text and not with the number of search Strings. Keep an instance in a (static) variable to reuse
+ * it. Replacements follow the same rules as {@link StringUtils#replaceEach(String, String[], String[])} and
+ * {@link StringUtils#replaceEachRepeatedly(String, String[], String[])}: at each position the earliest match wins, ties
+ * go to the search String that comes first in the array, and search Strings that are empty or {@code null}, or whose
+ * replacement is {@code null}, are ignored.
+ * </p>
+ *
+ * <pre>{@code
+ * private static final StringReplacer REPLACER = StringReplacer.of(new String[] { "ab", "d" }, new String[] { "w", "t" });
+ * ...
+ * REPLACER.replace("abcde"); // "wcte"
+ * }</pre>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ *
+ * @see StringUtils#replaceEach(String, String[], String[])
+ * @see StringUtils#replaceEachRepeatedly(String, String[], String[])
+ * @since 3.18.0
+ */
+public final class StringReplacer {
+
+    /**
+     * The number of search Strings from which {@link StringUtils#replaceEach(String, String[], String[])} uses an
+     * automaton instead of searching for each String in turn.
+     */
+    static final int THRESHOLD = 16;
+
+    private static final int DEFAULT_TTL = 5;
+
+    private static final int ROOT = 0;
+
+    private static final int NONE = -1;
+
+    /**
+     * Creates a new instance.
+     *
+     * <pre>
+     *  StringReplacer.of(null, null).replace("aba")                                  = "aba"
+     *  StringReplacer.of(new String[]{"a"}, new String[]{""}).replace("aba")        = "b"
+     *  StringReplacer.of(new String[]{"ab", "d"}, new String[]{"d", "t"}).replace("abcde") = "dcte"
+     * </pre>
+     *
+     * @param searchList the Strings to search for, no-op if null.
+     * @param replacementList the Strings to replace them with, no-op if null.
+     * @return a new instance.
+     * @throws IllegalArgumentException if the lengths of the arrays are not the same (null is ok, and/or size 0).
+     */
+    public static StringReplacer of(final String[] searchList, final String[] replacementList) {
+        if (ArrayUtils.isEmpty(searchList) || ArrayUtils.isEmpty(replacementList)) {
+            return new StringReplacer(ArrayUtils.EMPTY_STRING_ARRAY, ArrayUtils.EMPTY_STRING_ARRAY);
+        }
+        if (searchList.length != replacementList.length) {
+            throw new IllegalArgumentException("Search and Replace array lengths don't match: "
+                + searchList.length
+                + " vs "
+                + replacementList.length);
+        }
+        return new StringReplacer(searchList.clone(), replacementList.clone());
+    }
+
+    private final String[] searchList;
+    private final String[] replacementList;
+
+    /** The length of the longest search String. */
+    private final int maxLength;
+
+    /** Upper bound of the growth of a text, as estimated by StringUtils. */
+    private final int growth;
+
+    /** Failure link of each state. */
+    private final int[] fail;
+
+    /** Index of the longest search String ending in each state, or NONE. */
+    private final int[] output;
+
+    /** Length of the longest search String ending in each state. */
+    private final int[] outputLength;
+
+    /** Goto function: open addressing table from (state, char) to state. */
+    private final long[] edgeKeys;
+    private final int[] edgeTargets;
+    private final int edgeMask;
+
+    private StringReplacer(final String[] searchList, final String[] replacementList) {
+        this.searchList = searchList;
+        this.replacementList = replacementList;
+        int chars = 0;
+        int longest = 0;
+        int increase = 0;
+        for (int i = 0; i < searchList.length; i++) {
+            if (isSearched(searchList, replacementList, i)) {
+                chars += searchList[i].length();
+                longest = Math.max(longest, searchList[i].length());
+            }
+            if (searchList[i] != null && replacementList[i] != null) {
+                final int greater = replacementList[i].length() - searchList[i].length();
+                if (greater > 0) {
+                    increase += 3 * greater; // assume 3 matches
+                }
+            }
+        }
+        this.maxLength = longest;
+        this.growth = increase;
+        final int capacity = Integer.highestOneBit(Math.max(chars, 1) * 2) * 2;
+        this.edgeKeys = new long[capacity];
+        this.edgeTargets = new int[capacity];
+        this.edgeMask = capacity - 1;
+        Arrays.fill(edgeKeys, NONE);
+        // Build the trie, remembering each state's children for the breadth-first pass below.
+        final int[] depth = new int[chars + 1];
+        final int[] firstChild = new int[chars + 1];
+        final int[] nextSibling = new int[chars + 1];
+        final char[] label = new char[chars + 1];
+        final int[] terminal = new int[chars + 1];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(terminal, NONE);
+        int states = 1;
+        for (int i = 0; i < searchList.length; i++) {
+            if (!isSearched(searchList, replacementList, i)) {
+                continue;
+            }
+            final String search = searchList[i];
+            int state = ROOT;
+            for (int j = 0; j < search.length(); j++) {
+                final char ch = search.charAt(j);
+                int target = child(state, ch);
+                if (target == NONE) {
+                    target = states++;
+                    putChild(state, ch, target);
+                    depth[target] = j + 1;
+                    label[target] = ch;
+                    nextSibling[target] = firstChild[state];
+                    firstChild[state] = target;
+                }
+                state = target;
+            }
+            if (terminal[state] == NONE) {
+                // Duplicates: the first search String wins, like in StringUtils.
+                terminal[state] = i;
+            }
+        }
+        // Compute failure links and outputs in breadth-first order.
+        this.fail = new int[states];
+        this.output = new int[states];
+        this.outputLength = new int[states];
+        output[ROOT] = NONE;
+        final int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = ROOT;
+        while (head < tail) {
+            final int state = queue[head++];
+            for (int c = firstChild[state]; c != NONE; c = nextSibling[c]) {
+                if (state == ROOT) {
+                    fail[c] = ROOT;
+                } else {
+                    int f = fail[state];
+                    int target;
+                    while ((target = child(f, label[c])) == NONE && f != ROOT) {
+                        f = fail[f];
+                    }
+                    fail[c] = target != NONE ? target : ROOT;
+                }
+                if (terminal[c] != NONE) {
+                    output[c] = terminal[c];
+                    outputLength[c] = depth[c];
+                } else {
+                    output[c] = output[fail[c]];
+                    outputLength[c] = outputLength[fail[c]];
+                }
+                queue[tail++] = c;
+            }
+        }
+    }
+
+    private static boolean isSearched(final String[] searchList, final String[] replacementList, final int i) {
+        return !StringUtils.isEmpty(searchList[i]) && replacementList[i] != null;
+    }
+
+    private int child(final int state, final char ch) {
+        final long key = (long) state << Character.SIZE | ch;
+        int slot = slot(key);
+        long candidate;
+        while ((candidate = edgeKeys[slot]) != NONE) {
+            if (candidate == key) {
+                return edgeTargets[slot];
+            }
+            slot = slot + 1 & edgeMask;
+        }
+        return NONE;
+    }
+
+    private int next(int state, final char ch) {
+        while (true) {
+            final int target = child(state, ch);
+            if (target != NONE) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private void putChild(final int state, final char ch, final int target) {
+        final long key = (long) state << Character.SIZE | ch;
+        int slot = slot(key);
+        while (edgeKeys[slot] != NONE) {
+            slot = slot + 1 & edgeMask;
+        }
+        edgeKeys[slot] = key;
+        edgeTargets[slot] = target;
+    }
+
+    /**
+     * Replaces all occurrences of the search Strings within the given text, without repeating.
+     *
+     * @param text text to search and replace in, no-op if null.
+     * @return the text with any replacements processed, {@code null} if null String input.
+     * @see StringUtils#replaceEach(String, String[], String[])
+     */
+    public String replace(final String text) {
+        return replace(text, false, 0);
+    }
+
+    /**
+     * Replaces all occurrences of the search Strings within the given text, optionally repeating on the result.
+     *
+     * @param text text to search and replace in, no-op if null.
+     * @param repeat whether to replace repeatedly until there are no more possible replacements.
+     * @param timeToLive the number of passes left before giving up when repeating.
+     * @return the text with any replacements processed, {@code null} if null String input.
+     * @throws IllegalStateException if the search is repeating and there is an endless loop due to outputs of one being
+     *         inputs to another.
+     */
+    String replace(final String text, final boolean repeat, final int timeToLive) {
+        String result = text;
+        int passesLeft = timeToLive;
+        while (!StringUtils.isEmpty(result) && maxLength > 0) {
+            if (passesLeft < 0) {
+                throw new IllegalStateException("Aborting to protect against StackOverflowError - " +
+                    "output of one loop is the input of another");
+            }
+            final String replaced = replaceOnce(result);
+            if (!repeat || replaced == result) {
+                return replaced;
+            }
+            result = replaced;
+            passesLeft--;
+        }
+        return result;
+    }
+
+    private String replaceOnce(final String text) {
+        final int length = text.length();
+        StringBuilder buf = null;
+        // Start of the text not yet copied to buf.
+        int start = 0;
+        int state = ROOT;
+        int pos = 0;
+        // The leftmost match found so far, the first search String on ties.
+        int matchStart = NONE;
+        int matchIndex = NONE;
+        while (true) {
+            // Any match not found yet starts after pos - maxLength, so a match starting before that is final.
+            if (matchStart != NONE && (pos >= length || pos - maxLength >= matchStart)) {
+                if (buf == null) {
+                    buf = new StringBuilder(length + Math.min(growth, length / 5));
+                }
+                buf.append(text, start, matchStart).append(replacementList[matchIndex]);
+                start = matchStart + searchList[matchIndex].length();
+                pos = start;
+                state = ROOT;
+                matchStart = NONE;
+                continue;
+            }
+            if (pos >= length) {
+                break;
+            }
+            state = next(state, text.charAt(pos));
+            final int index = output[state];
+            if (index != NONE) {
+                final int found = pos + 1 - outputLength[state];
+                if (matchStart == NONE || found < matchStart || found == matchStart && index < matchIndex) {
+                    matchStart = found;
+                    matchIndex = index;
+                }
+            }
+            pos++;
+        }
+        if (buf == null) {
+            return text;
+        }
+        return buf.append(text, start, length).toString();
+    }
+
+    /**
+     * Replaces all occurrences of the search Strings within the given text, repeating on the result until there are no
+     * more possible replacements.
+     *
+     * @param text text to search and replace in, no-op if null.
+     * @return the text with any replacements processed, {@code null} if null String input.
+     * @throws IllegalStateException if there is an endless loop due to outputs of one being inputs to another.
+     * @see StringUtils#replaceEachRepeatedly(String, String[], String[])
+     */
+    public String replaceRepeatedly(final String text) {
+        return replace(text, true, Math.max(searchList.length, DEFAULT_TTL));
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & edgeMask;
+    }
+}
@@ -6474,6 +6474,11 @@ private static String replaceEach(
                 + replacementLength);
         }
 
+        // with many search strings, a single pass over the text beats one indexOf per search string
+        if (searchLength >= StringReplacer.THRESHOLD) {
+            return StringReplacer.of(searchList, replacementList).replace(text, repeat, timeToLive);
+        }
+
         // keep track of which still have matches
         final boolean[] noMoreMatchesForReplIndex = new boolean[searchLength];
 
@@ -604,4 +604,13 @@ T getRight() {
         return right;
     }
 
+    /**
+     * Tests whether any {@link Diff} was appended.
+     *
+     * @return whether any {@link Diff} was appended.
+     */
+    boolean hasDiffs() {
+        return !diffs.isEmpty();
+    }
+
 }
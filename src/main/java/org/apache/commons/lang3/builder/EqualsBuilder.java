@@ -16,16 +16,12 @@
  */
 package org.apache.commons.lang3.builder;
 
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -88,6 +84,63 @@
  */
 public class EqualsBuilder implements Builder<Boolean> {
 
+    /**
+     * The fields {@code reflectionAppend} compares for a class and set of options, in order, with pre-resolved getters.
+     */
+    private static final class EqualsPlan {
+
+        private final FieldAccessor[] accessors;
+
+        EqualsPlan(final FieldAccessor[] accessors) {
+            this.accessors = accessors;
+        }
+
+        /**
+         * Compares the planned fields of the given objects, stopping at the first difference. Primitive fields are
+         * read and compared without boxing; other fields go through {@link EqualsBuilder#append(Object, Object)}.
+         *
+         * @param lhs the left-hand side object.
+         * @param rhs the right-hand side object.
+         * @param builder the builder to append to.
+         * @throws IllegalArgumentException if a field is not declared by the class of one of the objects.
+         */
+        void append(final Object lhs, final Object rhs, final EqualsBuilder builder) {
+            for (int i = 0; i < accessors.length && builder.isEquals; i++) {
+                final FieldAccessor accessor = accessors[i];
+                switch (accessor.getKind()) {
+                case FieldAccessor.BOOLEAN:
+                    builder.append(accessor.getBoolean(lhs), accessor.getBoolean(rhs));
+                    break;
+                case FieldAccessor.BYTE:
+                    builder.append(accessor.getByte(lhs), accessor.getByte(rhs));
+                    break;
+                case FieldAccessor.CHAR:
+                    builder.append(accessor.getChar(lhs), accessor.getChar(rhs));
+                    break;
+                case FieldAccessor.SHORT:
+                    builder.append(accessor.getShort(lhs), accessor.getShort(rhs));
+                    break;
+                case FieldAccessor.INT:
+                    builder.append(accessor.getInt(lhs), accessor.getInt(rhs));
+                    break;
+                case FieldAccessor.LONG:
+                    builder.append(accessor.getLong(lhs), accessor.getLong(rhs));
+                    break;
+                case FieldAccessor.FLOAT:
+                    builder.append(accessor.getFloat(lhs), accessor.getFloat(rhs));
+                    break;
+                case FieldAccessor.DOUBLE:
+                    builder.append(accessor.getDouble(lhs), accessor.getDouble(rhs));
+                    break;
+                default:
+                    builder.append(accessor.get(lhs), accessor.get(rhs));
+                    break;
+                }
+            }
+        }
+    }
+
+
     /**
      * A registry of objects used by reflection methods to detect cyclical object references and avoid infinite loops.
      *
@@ -95,6 +148,11 @@ public class EqualsBuilder implements Builder<Boolean> {
      */
     private static final ThreadLocal<Set<Pair<IDKey, IDKey>>> REGISTRY = ThreadLocal.withInitial(HashSet::new);
 
+    /**
+     * Cached plans of the fields compared by the reflection methods, per class and options.
+     */
+    private static final PlanCache<EqualsPlan> PLANS = new PlanCache<>(EqualsBuilder::newPlan);
+
     /*
      * NOTE: we cannot store the actual objects in a HashSet, as that would use the very hashCode()
      * we are in the process of calculating.
@@ -153,6 +211,17 @@ static boolean isRegistered(final Object lhs, final Object rhs) {
         return registry != null && (registry.contains(pair) || registry.contains(swappedPair));
     }
 
+    /**
+     * Builds the plan of the fields {@code reflectionAppend} compares for the given class and options.
+     *
+     * @param clazz  the class to compare the fields of, up to {@link PlanCache.Key#getUpToClass()}
+     * @param key  the options, flags are non-zero to test transient fields
+     * @return a new plan
+     */
+    private static EqualsPlan newPlan(final Class<?> clazz, final PlanCache.Key key) {
+        return new EqualsPlan(Reflection.getFieldAccessors(clazz, key, key.getFlags() != 0, EqualsExclude.class));
+    }
+
     /**
      * This method uses reflection to determine if the two {@link Object}s
      * are equal.
@@ -969,11 +1038,7 @@ public EqualsBuilder reflectionAppend(final Object lhs, final Object rhs) {
                     && (bypassReflectionClasses.contains(lhsClass) || bypassReflectionClasses.contains(rhsClass))) {
                 isEquals = lhs.equals(rhs);
             } else {
-                reflectionAppend(lhs, rhs, testClass);
-                while (testClass.getSuperclass() != null && testClass != reflectUpToClass) {
-                    testClass = testClass.getSuperclass();
-                    reflectionAppend(lhs, rhs, testClass);
-                }
+                reflectionAppend(lhs, rhs, PLANS.get(testClass, new PlanCache.Key(testTransients ? 1 : 0, reflectUpToClass, excludeFields)));
             }
         } catch (final IllegalArgumentException e) {
             // In this case, we tried to test a subclass vs. a superclass and
@@ -987,17 +1052,17 @@ public EqualsBuilder reflectionAppend(final Object lhs, final Object rhs) {
     }
 
     /**
-     * Appends the fields and values defined by the given object of the
-     * given Class.
+     * Appends the fields and values defined by the given objects as listed
+     * by the given plan.
      *
      * @param lhs  the left-hand side object
      * @param rhs  the right-hand side object
-     * @param clazz  the class to append details of
+     * @param plan  the fields to append
      */
     private void reflectionAppend(
         final Object lhs,
         final Object rhs,
-        final Class<?> clazz) {
+        final EqualsPlan plan) {
 
         if (isRegistered(lhs, rhs)) {
             return;
@@ -1005,18 +1070,7 @@ private void reflectionAppend(
 
         try {
             register(lhs, rhs);
-            final Field[] fields = clazz.getDeclaredFields();
-            AccessibleObject.setAccessible(fields, true);
-            for (int i = 0; i < fields.length && isEquals; i++) {
-                final Field field = fields[i];
-                if (!ArrayUtils.contains(excludeFields, field.getName())
-                    && !field.getName().contains("$")
-                    && (testTransients || !Modifier.isTransient(field.getModifiers()))
-                    && !Modifier.isStatic(field.getModifiers())
-                    && !field.isAnnotationPresent(EqualsExclude.class)) {
-                    append(Reflection.getUnchecked(field, lhs), Reflection.getUnchecked(field, rhs));
-                }
-            }
+            plan.append(lhs, rhs, this);
         } finally {
             unregister(lhs, rhs);
         }
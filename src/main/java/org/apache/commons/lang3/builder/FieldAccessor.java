@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.builder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Package-private, pre-resolved getter for an accessible field.
+ *
+ * <p>
+ * The getter is a {@link MethodHandle} adapted to take an {@link Object} receiver and to return the field's own type, so
+ * primitive values can be read through {@link #getInt(Object)}, {@link #getLong(Object)} and friends without boxing.
+ * </p>
+ * <p>
+ * Like {@link Field#get(Object)}, a receiver that is not an instance of the declaring class causes an
+ * {@link IllegalArgumentException}.
+ * </p>
+ */
+final class FieldAccessor {
+
+    /** Kind of a {@code boolean} field. */
+    static final int BOOLEAN = 0;
+
+    /** Kind of a {@code byte} field. */
+    static final int BYTE = 1;
+
+    /** Kind of a {@code char} field. */
+    static final int CHAR = 2;
+
+    /** Kind of a {@code short} field. */
+    static final int SHORT = 3;
+
+    /** Kind of an {@code int} field. */
+    static final int INT = 4;
+
+    /** Kind of a {@code long} field. */
+    static final int LONG = 5;
+
+    /** Kind of a {@code float} field. */
+    static final int FLOAT = 6;
+
+    /** Kind of a {@code double} field. */
+    static final int DOUBLE = 7;
+
+    /** Kind of a reference field. */
+    static final int OBJECT = 8;
+
+    /**
+     * Creates an accessor for the given field, which must already be accessible.
+     *
+     * @param field the field to read.
+     * @return a new accessor.
+     * @throws IllegalArgumentException if the field cannot be unreflected.
+     */
+    static FieldAccessor of(final Field field) {
+        MethodHandle getter;
+        try {
+            getter = MethodHandles.lookup().unreflectGetter(field);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            // Like Field.get(Object), ignore the receiver of a static field.
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+        }
+        final Class<?> type = field.getType();
+        final MethodHandle typed = getter.asType(MethodType.methodType(type, Object.class));
+        final MethodHandle boxed = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return new FieldAccessor(field, kindOf(type), typed, boxed);
+    }
+
+    private static int kindOf(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return OBJECT;
+        }
+        if (type == int.class) {
+            return INT;
+        }
+        if (type == long.class) {
+            return LONG;
+        }
+        if (type == boolean.class) {
+            return BOOLEAN;
+        }
+        if (type == double.class) {
+            return DOUBLE;
+        }
+        if (type == float.class) {
+            return FLOAT;
+        }
+        if (type == char.class) {
+            return CHAR;
+        }
+        if (type == byte.class) {
+            return BYTE;
+        }
+        return SHORT;
+    }
+
+    private static RuntimeException rethrow(final Throwable t) {
+        if (t instanceof ClassCastException) {
+            // Field.get(Object) reports a receiver of the wrong type this way.
+            return new IllegalArgumentException(t);
+        }
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalArgumentException(t);
+    }
+
+    private final Field field;
+    private final int kind;
+
+    /** Getter of type {@code (Object)T} where {@code T} is the field type. */
+    private final MethodHandle typed;
+
+    /** Getter of type {@code (Object)Object}. */
+    private final MethodHandle boxed;
+
+    private FieldAccessor(final Field field, final int kind, final MethodHandle typed, final MethodHandle boxed) {
+        this.field = field;
+        this.kind = kind;
+        this.typed = typed;
+        this.boxed = boxed;
+    }
+
+    /**
+     * Gets the field value, boxing primitives.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    Object get(final Object obj) {
+        try {
+            return (Object) boxed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the value of a {@code boolean} field.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    boolean getBoolean(final Object obj) {
+        try {
+            return (boolean) typed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the value of a {@code byte} field.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    byte getByte(final Object obj) {
+        try {
+            return (byte) typed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the value of a {@code char} field.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    char getChar(final Object obj) {
+        try {
+            return (char) typed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the value of a {@code double} field.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    double getDouble(final Object obj) {
+        try {
+            return (double) typed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the field.
+     *
+     * @return the field.
+     */
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * Gets the value of a {@code float} field.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    float getFloat(final Object obj) {
+        try {
+            return (float) typed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the value of an {@code int} field.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    int getInt(final Object obj) {
+        try {
+            return (int) typed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the kind of the field, one of the constants of this class.
+     *
+     * @return the kind of the field.
+     */
+    int getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the value of a {@code long} field.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    long getLong(final Object obj) {
+        try {
+            return (long) typed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Gets the field name.
+     *
+     * @return the field name.
+     */
+    String getName() {
+        return field.getName();
+    }
+
+    /**
+     * Gets the value of a {@code short} field.
+     *
+     * @param obj the receiver.
+     * @return the field value.
+     */
+    short getShort(final Object obj) {
+        try {
+            return (short) typed.invokeExact(obj);
+        } catch (final Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+}
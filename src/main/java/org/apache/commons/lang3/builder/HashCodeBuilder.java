@@ -17,17 +17,11 @@
 
 package org.apache.commons.lang3.builder;
 
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
-import org.apache.commons.lang3.ArraySorter;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.Validate;
 
@@ -103,6 +97,60 @@
  * @since 1.0
  */
 public class HashCodeBuilder implements Builder<Integer> {
+
+    /**
+     * The fields {@code reflectionHashCode} reads for a class and set of options, in order, with pre-resolved getters.
+     */
+    private static final class HashPlan {
+
+        private final FieldAccessor[] accessors;
+
+        HashPlan(final FieldAccessor[] accessors) {
+            this.accessors = accessors;
+        }
+
+        /**
+         * Appends the planned fields of the given object. Primitive fields are read without boxing and hashed as
+         * their wrapper's {@code hashCode()} would.
+         *
+         * @param object the object to append details of.
+         * @param builder the builder to append to.
+         */
+        void append(final Object object, final HashCodeBuilder builder) {
+            for (final FieldAccessor accessor : accessors) {
+                switch (accessor.getKind()) {
+                case FieldAccessor.BOOLEAN:
+                    builder.append(Boolean.hashCode(accessor.getBoolean(object)));
+                    break;
+                case FieldAccessor.BYTE:
+                    builder.append(accessor.getByte(object));
+                    break;
+                case FieldAccessor.CHAR:
+                    builder.append(accessor.getChar(object));
+                    break;
+                case FieldAccessor.SHORT:
+                    builder.append(accessor.getShort(object));
+                    break;
+                case FieldAccessor.INT:
+                    builder.append(accessor.getInt(object));
+                    break;
+                case FieldAccessor.LONG:
+                    builder.append(accessor.getLong(object));
+                    break;
+                case FieldAccessor.FLOAT:
+                    builder.append(accessor.getFloat(object));
+                    break;
+                case FieldAccessor.DOUBLE:
+                    builder.append(accessor.getDouble(object));
+                    break;
+                default:
+                    builder.append(accessor.get(object));
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * The default initial value to use in reflection hash code building.
      */
@@ -120,6 +168,11 @@ public class HashCodeBuilder implements Builder<Integer> {
      */
     private static final ThreadLocal<Set<IDKey>> REGISTRY = ThreadLocal.withInitial(HashSet::new);
 
+    /**
+     * Cached plans of the fields used by the reflection methods, per class and options.
+     */
+    private static final PlanCache<HashPlan> PLANS = new PlanCache<>(HashCodeBuilder::newPlan);
+
     /*
      * NOTE: we cannot store the actual objects in a HashSet, as that would use the very hashCode()
      * we are in the process of calculating.
@@ -162,41 +215,16 @@ static boolean isRegistered(final Object value) {
     }
 
     /**
-     * Appends the fields and values defined by the given object of the given {@link Class}.
+     * Builds the plan of the fields {@code reflectionHashCode} reads for the given class and options.
      *
-     * @param object
-     *            the object to append details of
      * @param clazz
-     *            the class to append details of
-     * @param builder
-     *            the builder to append to
-     * @param useTransients
-     *            whether to use transient fields
-     * @param excludeFields
-     *            Collection of String field names to exclude from use in calculation of hash code
+     *            the class of the objects to hash
+     * @param key
+     *            the options, flags are non-zero to use transient fields
+     * @return a new plan
      */
-    private static void reflectionAppend(final Object object, final Class<?> clazz, final HashCodeBuilder builder, final boolean useTransients,
-            final String[] excludeFields) {
-        if (isRegistered(object)) {
-            return;
-        }
-        try {
-            register(object);
-            // The elements in the returned array are not sorted and are not in any particular order.
-            final Field[] fields = ArraySorter.sort(clazz.getDeclaredFields(), Comparator.comparing(Field::getName));
-            AccessibleObject.setAccessible(fields, true);
-            for (final Field field : fields) {
-                if (!ArrayUtils.contains(excludeFields, field.getName())
-                    && !field.getName().contains("$")
-                    && (useTransients || !Modifier.isTransient(field.getModifiers()))
-                    && !Modifier.isStatic(field.getModifiers())
-                    && !field.isAnnotationPresent(HashCodeExclude.class)) {
-                    builder.append(Reflection.getUnchecked(field, object));
-                }
-            }
-        } finally {
-            unregister(object);
-        }
+    private static HashPlan newPlan(final Class<?> clazz, final PlanCache.Key key) {
+        return new HashPlan(Reflection.getFieldAccessors(clazz, key, key.getFlags() != 0, HashCodeExclude.class));
     }
 
     /**
@@ -338,11 +366,15 @@ public static <T> int reflectionHashCode(final int initialNonZeroOddNumber, fina
             final boolean testTransients, final Class<? super T> reflectUpToClass, final String... excludeFields) {
         Objects.requireNonNull(object, "object");
         final HashCodeBuilder builder = new HashCodeBuilder(initialNonZeroOddNumber, multiplierNonZeroOddNumber);
-        Class<?> clazz = object.getClass();
-        reflectionAppend(object, clazz, builder, testTransients, excludeFields);
-        while (clazz.getSuperclass() != null && clazz != reflectUpToClass) {
-            clazz = clazz.getSuperclass();
-            reflectionAppend(object, clazz, builder, testTransients, excludeFields);
+        final HashPlan plan = PLANS.get(object.getClass(), new PlanCache.Key(testTransients ? 1 : 0, reflectUpToClass, excludeFields));
+        if (isRegistered(object)) {
+            return builder.toHashCode();
+        }
+        try {
+            register(object);
+            plan.append(object, builder);
+        } finally {
+            unregister(object);
         }
         return builder.toHashCode();
     }
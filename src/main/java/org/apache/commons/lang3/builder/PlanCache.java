@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.builder;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+/**
+ * Package-private cache of per-class reflection plans used by the reflective builders.
+ *
+ * <p>
+ * Plans are held in a {@link ClassValue} so that they do not prevent the class they describe from being unloaded. Each
+ * class maps the options a plan was built for, a {@link Key}, to the plan. The number of plans kept per class is
+ * bounded; once the bound is reached, further plans are built but not cached.
+ * </p>
+ *
+ * @param <P> the plan type.
+ */
+final class PlanCache<P> {
+
+    /**
+     * Options a reflection plan is built for.
+     */
+    static final class Key {
+
+        private final int flags;
+        private final Class<?> upToClass;
+        private final String[] excludeFields;
+        private final String[] includeFields;
+        private final int hashCode;
+
+        /**
+         * Constructs a new instance. The array is not copied until the key is stored in the cache.
+         *
+         * @param flags builder specific option bits.
+         * @param upToClass the superclass to reflect up to (inclusive), may be {@code null}.
+         * @param excludeFields field names to exclude, may be {@code null}.
+         */
+        Key(final int flags, final Class<?> upToClass, final String[] excludeFields) {
+            this(flags, upToClass, excludeFields, null);
+        }
+
+        /**
+         * Constructs a new instance. The arrays are not copied until the key is stored in the cache.
+         *
+         * @param flags builder specific option bits.
+         * @param upToClass the superclass to reflect up to (inclusive), may be {@code null}.
+         * @param excludeFields field names to exclude, may be {@code null}.
+         * @param includeFields field names to include, may be {@code null}.
+         */
+        Key(final int flags, final Class<?> upToClass, final String[] excludeFields, final String[] includeFields) {
+            this.flags = flags;
+            this.upToClass = upToClass;
+            this.excludeFields = excludeFields;
+            this.includeFields = includeFields;
+            this.hashCode = 31 * (31 * (31 * flags + Objects.hashCode(upToClass)) + Arrays.hashCode(excludeFields)) + Arrays.hashCode(includeFields);
+        }
+
+        Key copy() {
+            if (excludeFields == null && includeFields == null) {
+                return this;
+            }
+            return new Key(flags, upToClass, clone(excludeFields), clone(includeFields));
+        }
+
+        private static String[] clone(final String[] array) {
+            return array != null ? array.clone() : null;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return flags == other.flags && upToClass == other.upToClass && Arrays.equals(excludeFields, other.excludeFields)
+                && Arrays.equals(includeFields, other.includeFields);
+        }
+
+        /**
+         * Gets the field names to exclude.
+         *
+         * @return the field names to exclude, may be {@code null}.
+         */
+        String[] getExcludeFields() {
+            return excludeFields;
+        }
+
+        /**
+         * Gets the builder specific option bits.
+         *
+         * @return the option bits.
+         */
+        int getFlags() {
+            return flags;
+        }
+
+        /**
+         * Gets the field names to include.
+         *
+         * @return the field names to include, may be {@code null}.
+         */
+        String[] getIncludeFields() {
+            return includeFields;
+        }
+
+        /**
+         * Gets the superclass to reflect up to.
+         *
+         * @return the superclass to reflect up to, may be {@code null}.
+         */
+        Class<?> getUpToClass() {
+            return upToClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The maximum number of plans cached per class.
+     */
+    static final int MAX_PLANS_PER_CLASS = 32;
+
+    private final ClassValue<ConcurrentMap<Key, P>> plans = new ClassValue<ConcurrentMap<Key, P>>() {
+        @Override
+        protected ConcurrentMap<Key, P> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final BiFunction<Class<?>, Key, P> factory;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param factory builds the plan for a class and key.
+     */
+    PlanCache(final BiFunction<Class<?>, Key, P> factory) {
+        this.factory = Objects.requireNonNull(factory, "factory");
+    }
+
+    /**
+     * Gets the plan for the given class and options, building it on first use.
+     *
+     * @param clazz the class to get the plan of.
+     * @param key the options.
+     * @return the plan.
+     */
+    P get(final Class<?> clazz, final Key key) {
+        final ConcurrentMap<Key, P> map = plans.get(clazz);
+        final P plan = map.get(key);
+        if (plan != null) {
+            return plan;
+        }
+        final P built = factory.apply(clazz, key);
+        if (map.size() >= MAX_PLANS_PER_CLASS) {
+            return built;
+        }
+        final P previous = map.putIfAbsent(key.copy(), built);
+        return previous != null ? previous : built;
+    }
+}
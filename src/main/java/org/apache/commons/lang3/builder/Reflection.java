@@ -17,14 +17,106 @@
 
 package org.apache.commons.lang3.builder;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.ArraySorter;
+import org.apache.commons.lang3.ArrayUtils;
 
 /**
  * Package-private reflection code.
  */
 final class Reflection {
 
+    /**
+     * Declared fields of a class, sorted by name and made accessible, computed once per class.
+     */
+    private static final ClassValue<Field[]> DECLARED_FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(final Class<?> type) {
+            // The elements in the returned array are not sorted and are not in any particular order.
+            final Field[] fields = ArraySorter.sort(type.getDeclaredFields(), Comparator.comparing(Field::getName));
+            AccessibleObject.setAccessible(fields, true);
+            return fields;
+        }
+    };
+
+    /**
+     * Gets accessors for the instance fields of a class and its superclasses, as used by the reflective builders.
+     * <p>
+     * Fields are listed class by class, starting with {@code clazz} and walking up to and including
+     * {@link PlanCache.Key#getUpToClass()}, each class's fields sorted by name. Static fields, fields whose name
+     * contains {@code $}, fields named in {@link PlanCache.Key#getExcludeFields()} and fields annotated with
+     * {@code excludeAnnotation} are skipped, as are transient fields unless {@code useTransients} is set.
+     * </p>
+     *
+     * @param clazz the class to start at.
+     * @param key the plan options.
+     * @param useTransients whether to include transient fields.
+     * @param excludeAnnotation the annotation marking fields to skip.
+     * @return the field accessors.
+     */
+    static FieldAccessor[] getFieldAccessors(final Class<?> clazz, final PlanCache.Key key, final boolean useTransients,
+            final Class<? extends Annotation> excludeAnnotation) {
+        final String[] excludeFields = key.getExcludeFields();
+        return getFieldAccessors(clazz, key.getUpToClass(), field -> !ArrayUtils.contains(excludeFields, field.getName())
+            && !field.getName().contains("$")
+            && (useTransients || !Modifier.isTransient(field.getModifiers()))
+            && !Modifier.isStatic(field.getModifiers())
+            && !field.isAnnotationPresent(excludeAnnotation));
+    }
+
+    /**
+     * Gets accessors for the fields of a class and its superclasses that match a filter.
+     * <p>
+     * Fields are listed class by class, starting with {@code clazz} and walking up to and including
+     * {@code upToClass}, each class's fields sorted by name.
+     * </p>
+     *
+     * @param clazz the class to start at.
+     * @param upToClass the superclass to reflect up to (inclusive), may be {@code null}.
+     * @param filter selects the fields to access.
+     * @return the field accessors.
+     */
+    static FieldAccessor[] getFieldAccessors(final Class<?> clazz, final Class<?> upToClass, final Predicate<Field> filter) {
+        final List<FieldAccessor> accessors = new ArrayList<>();
+        Class<?> current = clazz;
+        addFieldAccessors(current, filter, accessors);
+        while (current.getSuperclass() != null && current != upToClass) {
+            current = current.getSuperclass();
+            addFieldAccessors(current, filter, accessors);
+        }
+        return accessors.toArray(new FieldAccessor[0]);
+    }
+
+    private static void addFieldAccessors(final Class<?> clazz, final Predicate<Field> filter, final List<FieldAccessor> accessors) {
+        for (final Field field : getDeclaredFields(clazz)) {
+            if (filter.test(field)) {
+                accessors.add(FieldAccessor.of(field));
+            }
+        }
+    }
+
+    /**
+     * Gets the declared fields of a class, sorted by name and made accessible.
+     * <p>
+     * The returned array is shared and must not be modified.
+     * </p>
+     *
+     * @param clazz the class to query.
+     * @return the declared fields of the class.
+     */
+    static Field[] getDeclaredFields(final Class<?> clazz) {
+        return DECLARED_FIELDS.get(clazz);
+    }
+
     /**
      * Delegates to {@link Field#get(Object)} and rethrows {@link IllegalAccessException} as {@link IllegalArgumentException}.
      *
@@ -16,13 +16,16 @@
  */
 package org.apache.commons.lang3.builder;
 
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Objects;
 
 import org.apache.commons.lang3.ArraySorter;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
 /**
@@ -126,6 +129,72 @@ public Builder<T> setExcludeFieldNames(final String... excludeFieldNames) {
 
     }
 
+    /**
+     * The fields {@code build()} compares for a class and set of excluded names, in order, with pre-resolved getters.
+     */
+    private static final class DiffPlan {
+
+        private final FieldAccessor[] accessors;
+
+        DiffPlan(final FieldAccessor[] accessors) {
+            this.accessors = accessors;
+        }
+
+        /**
+         * Appends the planned fields to the given builder. Primitive fields are compared without boxing and only boxed
+         * when they differ, so the resulting {@link Diff}s are the same as for boxed values.
+         *
+         * @param diffBuilder the builder to append to.
+         * @param left the left object.
+         * @param right the right object.
+         */
+        void append(final DiffBuilder<?> diffBuilder, final Object left, final Object right) {
+            for (final FieldAccessor accessor : accessors) {
+                if (accessor.getKind() == FieldAccessor.OBJECT || !isEqual(accessor, left, right)) {
+                    diffBuilder.append(accessor.getName(), accessor.get(left), accessor.get(right));
+                }
+            }
+        }
+
+        /**
+         * Tests whether any planned field differs, stopping at the first difference.
+         *
+         * @param left the left object.
+         * @param right the right object.
+         * @return whether any planned field differs.
+         */
+        boolean isDifferent(final Object left, final Object right) {
+            for (final FieldAccessor accessor : accessors) {
+                if (!isEqual(accessor, left, right)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Cached plans of the fields compared by {@code build()}, per class and excluded names.
+     */
+    private static final PlanCache<DiffPlan> PLANS = new PlanCache<>(ReflectionDiffBuilder::newPlan);
+
+    private static boolean accept(final Field field, final String[] excludeFieldNames) {
+        if (field.getName().indexOf(ClassUtils.INNER_CLASS_SEPARATOR_CHAR) != -1) {
+            return false;
+        }
+        if (Modifier.isTransient(field.getModifiers())) {
+            return false;
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            return false;
+        }
+        if (excludeFieldNames != null && Arrays.binarySearch(excludeFieldNames, field.getName()) >= 0) {
+            // Reject fields from the getExcludeFieldNames list.
+            return false;
+        }
+        return !field.isAnnotationPresent(DiffExclude.class);
+    }
+
     /**
      * Constructs a new {@link Builder}.
      *
@@ -137,6 +206,80 @@ public static <T> Builder<T> builder() {
         return new Builder<>();
     }
 
+    /**
+     * Tests whether a field has equal values in two objects, with the same semantics as
+     * {@link DiffBuilder#append(String, Object, Object)} for the boxed values.
+     */
+    private static boolean isEqual(final FieldAccessor accessor, final Object left, final Object right) {
+        switch (accessor.getKind()) {
+        case FieldAccessor.BOOLEAN:
+            return accessor.getBoolean(left) == accessor.getBoolean(right);
+        case FieldAccessor.BYTE:
+            return accessor.getByte(left) == accessor.getByte(right);
+        case FieldAccessor.CHAR:
+            return accessor.getChar(left) == accessor.getChar(right);
+        case FieldAccessor.SHORT:
+            return accessor.getShort(left) == accessor.getShort(right);
+        case FieldAccessor.INT:
+            return accessor.getInt(left) == accessor.getInt(right);
+        case FieldAccessor.LONG:
+            return accessor.getLong(left) == accessor.getLong(right);
+        case FieldAccessor.FLOAT:
+            return Float.floatToIntBits(accessor.getFloat(left)) == Float.floatToIntBits(accessor.getFloat(right));
+        case FieldAccessor.DOUBLE:
+            return Double.doubleToLongBits(accessor.getDouble(left)) == Double.doubleToLongBits(accessor.getDouble(right));
+        default:
+            return isEqual(accessor.get(left), accessor.get(right));
+        }
+    }
+
+    /**
+     * Tests whether two field values are equal, with the same semantics as {@link DiffBuilder#append(String, Object, Object)}.
+     */
+    private static boolean isEqual(final Object lhs, final Object rhs) {
+        if (lhs == rhs) {
+            return true;
+        }
+        final Object test = lhs != null ? lhs : rhs;
+        if (ObjectUtils.isArray(test)) {
+            if (test instanceof boolean[]) {
+                return Arrays.equals((boolean[]) lhs, (boolean[]) rhs);
+            }
+            if (test instanceof byte[]) {
+                return Arrays.equals((byte[]) lhs, (byte[]) rhs);
+            }
+            if (test instanceof char[]) {
+                return Arrays.equals((char[]) lhs, (char[]) rhs);
+            }
+            if (test instanceof double[]) {
+                return Arrays.equals((double[]) lhs, (double[]) rhs);
+            }
+            if (test instanceof float[]) {
+                return Arrays.equals((float[]) lhs, (float[]) rhs);
+            }
+            if (test instanceof int[]) {
+                return Arrays.equals((int[]) lhs, (int[]) rhs);
+            }
+            if (test instanceof long[]) {
+                return Arrays.equals((long[]) lhs, (long[]) rhs);
+            }
+            if (test instanceof short[]) {
+                return Arrays.equals((short[]) lhs, (short[]) rhs);
+            }
+            return Arrays.equals((Object[]) lhs, (Object[]) rhs);
+        }
+        return Objects.equals(lhs, rhs);
+    }
+
+    /**
+     * Builds the plan of the fields {@code build()} compares, in the order of {@link FieldUtils#getAllFields(Class)}.
+     */
+    private static DiffPlan newPlan(final Class<?> clazz, final PlanCache.Key key) {
+        final Field[] fields = Arrays.stream(FieldUtils.getAllFields(clazz)).filter(field -> accept(field, key.getExcludeFields())).toArray(Field[]::new);
+        AccessibleObject.setAccessible(fields, true);
+        return new DiffPlan(Arrays.stream(fields).map(FieldAccessor::of).toArray(FieldAccessor[]::new));
+    }
+
     private static String[] toExcludeFieldNames(final String[] excludeFieldNames) {
         if (excludeFieldNames == null) {
             return ArrayUtils.EMPTY_STRING_ARRAY;
@@ -176,44 +319,13 @@ public ReflectionDiffBuilder(final T left, final T right, final ToStringStyle st
         this(DiffBuilder.<T>builder().setLeft(left).setRight(right).setStyle(style).build(), null);
     }
 
-    private boolean accept(final Field field) {
-        if (field.getName().indexOf(ClassUtils.INNER_CLASS_SEPARATOR_CHAR) != -1) {
-            return false;
-        }
-        if (Modifier.isTransient(field.getModifiers())) {
-            return false;
-        }
-        if (Modifier.isStatic(field.getModifiers())) {
-            return false;
-        }
-        if (this.excludeFieldNames != null && Arrays.binarySearch(this.excludeFieldNames, field.getName()) >= 0) {
-            // Reject fields from the getExcludeFieldNames list.
-            return false;
-        }
-        return !field.isAnnotationPresent(DiffExclude.class);
-    }
-
-    private void appendFields(final Class<?> clazz) {
-        for (final Field field : FieldUtils.getAllFields(clazz)) {
-            if (accept(field)) {
-                try {
-                    diffBuilder.append(field.getName(), readField(field, getLeft()), readField(field, getRight()));
-                } catch (final IllegalAccessException e) {
-                    // this can't happen. Would get a Security exception instead
-                    // throw a runtime exception in case the impossible happens.
-                    throw new IllegalArgumentException("Unexpected IllegalAccessException: " + e.getMessage(), e);
-                }
-            }
-        }
-    }
-
     @Override
     public DiffResult<T> build() {
         if (getLeft().equals(getRight())) {
             return diffBuilder.build();
         }
 
-        appendFields(getLeft().getClass());
+        getPlan().append(diffBuilder, getLeft(), getRight());
         return diffBuilder.build();
     }
 
@@ -227,6 +339,10 @@ public String[] getExcludeFieldNames() {
         return this.excludeFieldNames.clone();
     }
 
+    private DiffPlan getPlan() {
+        return PLANS.get(getLeft().getClass(), new PlanCache.Key(0, null, excludeFieldNames));
+    }
+
     private T getLeft() {
         return diffBuilder.getLeft();
     }
@@ -235,8 +351,20 @@ private T getRight() {
         return diffBuilder.getRight();
     }
 
-    private Object readField(final Field field, final Object target) throws IllegalAccessException {
-        return FieldUtils.readField(field, target, true);
+    /**
+     * Tests whether the objects differ in any field {@link #build()} compares, or whether a {@link Diff} was already appended to the
+     * {@link DiffBuilder} this builder was created with, without building a {@link DiffResult}.
+     *
+     * <p>
+     * This stops at the first differing field and allocates no {@link Diff}s, so it is cheaper than
+     * {@code build().getNumberOfDiffs() > 0} when only a yes or no answer is needed.
+     * </p>
+     *
+     * @return {@code true} if {@link #build()} would report at least one difference.
+     * @since 3.18.0
+     */
+    public boolean isDifferent() {
+        return diffBuilder.hasDiffs() || !getLeft().equals(getRight()) && getPlan().isDifferent(getLeft(), getRight());
     }
 
     /**
@@ -17,12 +17,10 @@
 
 package org.apache.commons.lang3.builder;
 
-import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.Objects;
 
 import org.apache.commons.lang3.ArraySorter;
@@ -100,6 +98,144 @@
  */
 public class ReflectionToStringBuilder extends ToStringBuilder {
 
+    /**
+     * The fields {@code toString()} appends for a class and set of options, in order, with pre-resolved getters and
+     * the {@link ToStringSummary} and leaf-type checks done once.
+     */
+    private static final class ToStringLayout {
+
+        /**
+         * Field starts rendered for one style.
+         */
+        private static final class FieldStarts {
+
+            private final ToStringStyle style;
+            private final String[] fieldStarts;
+
+            FieldStarts(final ToStringStyle style, final String[] fieldStarts) {
+                this.style = style;
+                this.fieldStarts = fieldStarts;
+            }
+        }
+
+        private final FieldAccessor[] accessors;
+        private final String[] names;
+        private final boolean[] summary;
+        private final boolean[] leaf;
+
+        /**
+         * The field starts rendered for the last built-in style used.
+         */
+        private volatile FieldStarts fieldStarts;
+
+        ToStringLayout(final FieldAccessor[] accessors) {
+            this.accessors = accessors;
+            this.names = new String[accessors.length];
+            this.summary = new boolean[accessors.length];
+            this.leaf = new boolean[accessors.length];
+            for (int i = 0; i < accessors.length; i++) {
+                final Field field = accessors[i].getField();
+                final Class<?> type = field.getType();
+                names[i] = field.getName();
+                summary[i] = field.isAnnotationPresent(ToStringSummary.class);
+                leaf[i] = ClassUtils.isPrimitiveOrWrapper(type) || type == String.class || type.isArray() && type.getComponentType().isPrimitive();
+            }
+        }
+
+        /**
+         * Gets the field starts rendered for the given style, or {@code null} if the style is not built-in.
+         *
+         * @param style the style.
+         * @return the field starts, or {@code null}.
+         */
+        String[] getFieldStarts(final ToStringStyle style) {
+            if (!ToStringStyle.isBuiltIn(style)) {
+                return null;
+            }
+            FieldStarts current = fieldStarts;
+            if (current == null || current.style != style) {
+                final String[] starts = new String[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    starts[i] = style.getFieldStart(names[i]);
+                }
+                current = new FieldStarts(style, starts);
+                fieldStarts = current;
+            }
+            return current.fieldStarts;
+        }
+    }
+
+    /** Layout option bit to append static fields. */
+    private static final int APPEND_STATICS = 1;
+
+    /** Layout option bit to append transient fields. */
+    private static final int APPEND_TRANSIENTS = 2;
+
+    /**
+     * Cached layouts of the fields appended by {@code toString()}, per class and options.
+     */
+    private static final PlanCache<ToStringLayout> LAYOUTS = new PlanCache<>(ReflectionToStringBuilder::newLayout);
+
+    /**
+     * Tests whether to append the given field, see {@link #accept(Field)}.
+     *
+     * @param field
+     *            The Field to test.
+     * @param appendStatics
+     *            Whether or not to append static fields.
+     * @param appendTransients
+     *            Whether or not to append transient fields.
+     * @param excludeFieldNames
+     *            The sorted field names to exclude, may be {@code null}.
+     * @param includeFieldNames
+     *            The sorted field names to include, may be {@code null}.
+     * @return Whether or not to append the given {@link Field}.
+     */
+    private static boolean accept(final Field field, final boolean appendStatics, final boolean appendTransients, final String[] excludeFieldNames,
+            final String[] includeFieldNames) {
+        if (field.getName().indexOf(ClassUtils.INNER_CLASS_SEPARATOR_CHAR) != -1) {
+            // Reject field from inner class.
+            return false;
+        }
+        if (Modifier.isTransient(field.getModifiers()) && !appendTransients) {
+            // Reject transient fields.
+            return false;
+        }
+        if (Modifier.isStatic(field.getModifiers()) && !appendStatics) {
+            // Reject static fields.
+            return false;
+        }
+
+        if (excludeFieldNames != null
+            && Arrays.binarySearch(excludeFieldNames, field.getName()) >= 0) {
+            // Reject fields from the getExcludeFieldNames list.
+            return false;
+        }
+
+        if (ArrayUtils.isNotEmpty(includeFieldNames)) {
+            // Accept fields from the getIncludeFieldNames list. {@code null} or empty means all fields are included. All fields are included by default.
+            return Arrays.binarySearch(includeFieldNames, field.getName()) >= 0;
+        }
+
+        return !field.isAnnotationPresent(ToStringExclude.class);
+    }
+
+    /**
+     * Builds the layout of the fields {@code toString()} appends for the given class and options.
+     *
+     * @param clazz
+     *            The class of the objects to append
+     * @param key
+     *            The options
+     * @return a new layout
+     */
+    private static ToStringLayout newLayout(final Class<?> clazz, final PlanCache.Key key) {
+        final boolean appendStatics = (key.getFlags() & APPEND_STATICS) != 0;
+        final boolean appendTransients = (key.getFlags() & APPEND_TRANSIENTS) != 0;
+        return new ToStringLayout(Reflection.getFieldAccessors(clazz, key.getUpToClass(),
+            field -> accept(field, appendStatics, appendTransients, key.getExcludeFields(), key.getIncludeFields())));
+    }
+
     /**
      * Converts the given Collection into an array of Strings. The returned array does not contain {@code null}
      * entries. Note that {@link Arrays#sort(Object[])} will throw an {@link NullPointerException} if an array element
@@ -476,6 +612,11 @@ public static String toStringInclude(final Object object, final String... includ
      */
     private Class<?> upToClass;
 
+    /**
+     * Whether or not to register leaf values for cycle detection.
+     */
+    private boolean registerLeafValues = true;
+
     /**
      * Constructs a new instance.
      *
@@ -601,31 +742,29 @@ public <T> ReflectionToStringBuilder(
      * @return Whether or not to append the given {@link Field}.
      */
     protected boolean accept(final Field field) {
-        if (field.getName().indexOf(ClassUtils.INNER_CLASS_SEPARATOR_CHAR) != -1) {
-            // Reject field from inner class.
-            return false;
-        }
-        if (Modifier.isTransient(field.getModifiers()) && !isAppendTransients()) {
-            // Reject transient fields.
-            return false;
-        }
-        if (Modifier.isStatic(field.getModifiers()) && !isAppendStatics()) {
-            // Reject static fields.
-            return false;
-        }
-
-        if (this.excludeFieldNames != null
-            && Arrays.binarySearch(this.excludeFieldNames, field.getName()) >= 0) {
-            // Reject fields from the getExcludeFieldNames list.
-            return false;
-        }
+        return accept(field, isAppendStatics(), isAppendTransients(), this.excludeFieldNames, this.includeFieldNames);
+    }
 
-        if (ArrayUtils.isNotEmpty(includeFieldNames)) {
-            // Accept fields from the getIncludeFieldNames list. {@code null} or empty means all fields are included. All fields are included by default.
-            return Arrays.binarySearch(this.includeFieldNames, field.getName()) >= 0;
+    /**
+     * Appends the fields and values listed by the given layout, as {@link #appendFieldsIn(Class)} would for each class.
+     *
+     * @param layout
+     *            The fields to append
+     */
+    private void appendLayout(final ToStringLayout layout) {
+        final Object object = getObject();
+        final ToStringStyle style = getStyle();
+        final String[] fieldStarts = layout.getFieldStarts(style);
+        for (int i = 0; i < layout.accessors.length; i++) {
+            final Object fieldValue = layout.accessors[i].get(object);
+            if (!excludeNullValues || fieldValue != null) {
+                if (fieldStarts == null || layout.summary[i]) {
+                    this.append(layout.names[i], fieldValue, !layout.summary[i]);
+                } else {
+                    style.appendField(getStringBuffer(), fieldStarts[i], layout.names[i], fieldValue, registerLeafValues || !layout.leaf[i]);
+                }
+            }
         }
-
-        return !field.isAnnotationPresent(ToStringExclude.class);
     }
 
     /**
@@ -644,10 +783,7 @@ protected void appendFieldsIn(final Class<?> clazz) {
             reflectionAppendArray(getObject());
             return;
         }
-        // The elements in the returned array are not sorted and are not in any particular order.
-        final Field[] fields = ArraySorter.sort(clazz.getDeclaredFields(), Comparator.comparing(Field::getName));
-        AccessibleObject.setAccessible(fields, true);
-        for (final Field field : fields) {
+        for (final Field field : Reflection.getDeclaredFields(clazz)) {
             final String fieldName = field.getName();
             if (accept(field)) {
                 try {
@@ -741,6 +877,17 @@ public boolean isExcludeNullValues() {
         return this.excludeNullValues;
     }
 
+    /**
+     * Gets whether or not to register leaf values for cycle detection.
+     *
+     * @return Whether or not to register leaf values for cycle detection.
+     * @see #setRegisterLeafValues(boolean)
+     * @since 3.18.0
+     */
+    public boolean isRegisterLeafValues() {
+        return this.registerLeafValues;
+    }
+
     /**
      * Appends to the {@code toString} an {@link Object} array.
      *
@@ -820,6 +967,24 @@ public ReflectionToStringBuilder setIncludeFieldNames(final String... includeFie
         return this;
     }
 
+    /**
+     * Sets whether or not to register leaf values for cycle detection.
+     *
+     * <p>
+     * Leaf values are the values of fields declared as a primitive, a primitive wrapper, a {@link String} or a primitive
+     * array. Such values cannot refer back to the object being appended, so skipping the registry of the
+     * {@link ToStringStyle} saves two map updates per field. This only applies to the styles defined as constants of
+     * {@link ToStringStyle}; other styles always register values. The default is {@code true}.
+     * </p>
+     *
+     * @param registerLeafValues
+     *            Whether or not to register leaf values for cycle detection.
+     * @since 3.18.0
+     */
+    public void setRegisterLeafValues(final boolean registerLeafValues) {
+        this.registerLeafValues = registerLeafValues;
+    }
+
     /**
      * Sets the last super class to stop appending fields for.
      *
@@ -850,6 +1015,12 @@ public String toString() {
         validate();
 
         Class<?> clazz = getObject().getClass();
+        if (getClass() == ReflectionToStringBuilder.class && !clazz.isArray()) {
+            // Not customized by a subclass, use the cached layout.
+            final int flags = (isAppendStatics() ? APPEND_STATICS : 0) | (isAppendTransients() ? APPEND_TRANSIENTS : 0);
+            appendLayout(LAYOUTS.get(clazz, new PlanCache.Key(flags, getUpToClass(), excludeFieldNames, includeFieldNames)));
+            return super.toString();
+        }
         appendFieldsIn(clazz);
         while (clazz.getSuperclass() != null && clazz != getUpToClass()) {
             clazz = clazz.getSuperclass();
@@ -709,6 +709,19 @@ public static Map<Object, Object> getRegistry() {
         return REGISTRY.get();
     }
 
+    /**
+     * Tests whether a style is one of the constants defined by this class, like {@link #DEFAULT_STYLE}.
+     *
+     * <p>These styles are immutable and do not override how fields are appended, so callers can cache what they
+     * render, see {@link #getFieldStart(String)}.</p>
+     *
+     * @param style  the style to test
+     * @return whether the style is built-in
+     */
+    static boolean isBuiltIn(final ToStringStyle style) {
+        return style != null && style.getClass().getEnclosingClass() == ToStringStyle.class;
+    }
+
     /**
      * Returns {@code true} if the registry contains the given object.
      * Used by the reflection methods to avoid infinite loops.
@@ -1629,6 +1642,31 @@ public void appendEnd(final StringBuffer buffer, final Object object) {
         unregister(object);
     }
 
+    /**
+     * Appends to the {@code toString} a field in full detail, as {@link #append(StringBuffer, String, Object, Boolean)}
+     * would, given the field start already rendered by {@link #getFieldStart(String)}.
+     *
+     * <p>Only used for built-in styles, see {@link #isBuiltIn(ToStringStyle)}.</p>
+     *
+     * @param buffer  the {@link StringBuffer} to populate
+     * @param fieldStart  the rendered field start
+     * @param fieldName  the field name
+     * @param value  the value to add to the {@code toString}
+     * @param register  whether to register the value for cycle detection, {@code false} is only safe for values that
+     *  cannot refer to other objects, like primitive wrappers, strings and primitive arrays
+     */
+    void appendField(final StringBuffer buffer, final String fieldStart, final String fieldName, final Object value, final boolean register) {
+        buffer.append(fieldStart);
+        if (value == null) {
+            appendNullText(buffer, fieldName);
+        } else if (register) {
+            appendInternal(buffer, fieldName, value, true);
+        } else {
+            appendValue(buffer, fieldName, value, true);
+        }
+        appendFieldEnd(buffer, fieldName);
+    }
+
     /**
      * Appends to the {@code toString} the field end.
      *
@@ -1704,88 +1742,7 @@ protected void appendInternal(final StringBuffer buffer, final String fieldName,
         register(value);
 
         try {
-            if (value instanceof Collection<?>) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (Collection<?>) value);
-                } else {
-                    appendSummarySize(buffer, fieldName, ((Collection<?>) value).size());
-                }
-
-            } else if (value instanceof Map<?, ?>) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (Map<?, ?>) value);
-                } else {
-                    appendSummarySize(buffer, fieldName, ((Map<?, ?>) value).size());
-                }
-
-            } else if (value instanceof long[]) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (long[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (long[]) value);
-                }
-
-            } else if (value instanceof int[]) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (int[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (int[]) value);
-                }
-
-            } else if (value instanceof short[]) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (short[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (short[]) value);
-                }
-
-            } else if (value instanceof byte[]) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (byte[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (byte[]) value);
-                }
-
-            } else if (value instanceof char[]) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (char[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (char[]) value);
-                }
-
-            } else if (value instanceof double[]) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (double[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (double[]) value);
-                }
-
-            } else if (value instanceof float[]) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (float[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (float[]) value);
-                }
-
-            } else if (value instanceof boolean[]) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (boolean[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (boolean[]) value);
-                }
-
-            } else if (ObjectUtils.isArray(value)) {
-                if (detail) {
-                    appendDetail(buffer, fieldName, (Object[]) value);
-                } else {
-                    appendSummary(buffer, fieldName, (Object[]) value);
-                }
-
-            } else if (detail) {
-                appendDetail(buffer, fieldName, value);
-            } else {
-                appendSummary(buffer, fieldName, value);
-            }
+            appendValue(buffer, fieldName, value, detail);
         } finally {
             unregister(value);
         }
@@ -2011,6 +1968,101 @@ public void appendToString(final StringBuffer buffer, final String toString) {
         }
     }
 
+    /**
+     * Appends to the {@code toString} an {@link Object} without cycle detection, routing it by type as
+     * {@link #appendInternal(StringBuffer, String, Object, boolean)} does.
+     *
+     * @param buffer  the {@link StringBuffer} to populate
+     * @param fieldName  the field name, typically not used as already appended
+     * @param value  the value to add to the {@code toString},
+     *  not {@code null}
+     * @param detail  output detail or not
+     */
+    private void appendValue(final StringBuffer buffer, final String fieldName, final Object value, final boolean detail) {
+        if (value instanceof Collection<?>) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (Collection<?>) value);
+            } else {
+                appendSummarySize(buffer, fieldName, ((Collection<?>) value).size());
+            }
+
+        } else if (value instanceof Map<?, ?>) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (Map<?, ?>) value);
+            } else {
+                appendSummarySize(buffer, fieldName, ((Map<?, ?>) value).size());
+            }
+
+        } else if (value instanceof long[]) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (long[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (long[]) value);
+            }
+
+        } else if (value instanceof int[]) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (int[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (int[]) value);
+            }
+
+        } else if (value instanceof short[]) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (short[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (short[]) value);
+            }
+
+        } else if (value instanceof byte[]) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (byte[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (byte[]) value);
+            }
+
+        } else if (value instanceof char[]) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (char[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (char[]) value);
+            }
+
+        } else if (value instanceof double[]) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (double[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (double[]) value);
+            }
+
+        } else if (value instanceof float[]) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (float[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (float[]) value);
+            }
+
+        } else if (value instanceof boolean[]) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (boolean[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (boolean[]) value);
+            }
+
+        } else if (ObjectUtils.isArray(value)) {
+            if (detail) {
+                appendDetail(buffer, fieldName, (Object[]) value);
+            } else {
+                appendSummary(buffer, fieldName, (Object[]) value);
+            }
+
+        } else if (detail) {
+            appendDetail(buffer, fieldName, value);
+        } else {
+            appendSummary(buffer, fieldName, value);
+        }
+    }
+
     /**
      * Gets the array end text.
      *
@@ -2074,6 +2126,18 @@ protected String getFieldSeparator() {
         return fieldSeparator;
     }
 
+    /**
+     * Renders the field start of a field, as {@link #appendFieldStart(StringBuffer, String)} appends it.
+     *
+     * @param fieldName  the field name
+     * @return the field start
+     */
+    String getFieldStart(final String fieldName) {
+        final StringBuffer buffer = new StringBuffer();
+        appendFieldStart(buffer, fieldName);
+        return buffer.toString();
+    }
+
     /**
      * Gets the text to output when {@code null} found.
      *
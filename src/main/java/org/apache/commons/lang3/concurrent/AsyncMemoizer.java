@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+/**
+ * A {@link Memoizer} that computes results asynchronously on an {@link Executor} and returns them as {@link CompletableFuture}s.
+ *
+ * <p>
+ * {@link Memoizer#compute(Object)} runs the calculation on the calling thread and blocks until the result is available. Here,
+ * {@link #computeAsync(Object)} starts the calculation on the executor and returns immediately; callers asking for the same argument while the
+ * calculation runs get the same future. {@link #computeAll(Collection)} starts a single task for all arguments without a cached result, which
+ * passes them to a bulk function in one call if one was provided.
+ * </p>
+ * <p>
+ * Like {@link Memoizer}, this is not a fully functional cache; results are kept until the memoizer is discarded. A failed calculation is kept
+ * unless {@code recalculate} is set, in which case it is removed once its future completes, so that a later call calculates the result again.
+ * Futures that are cancelled, or whose task is rejected by the executor, are always removed. Since the returned futures are shared, callers should
+ * not cancel or complete them.
+ * </p>
+ *
+ * @param <I> the type of the input to the calculation
+ * @param <O> the type of the output of the calculation
+ * @see Memoizer
+ * @since 3.18.0
+ */
+public class AsyncMemoizer<I, O> implements Computable<I, O> {
+
+    private final ConcurrentMap<I, CompletableFuture<O>> cache = new ConcurrentHashMap<>();
+    private final Function<? super I, ? extends O> function;
+    private final Function<? super Set<I>, ? extends Map<I, O>> bulkFunction;
+    private final Executor executor;
+    private final boolean recalculate;
+
+    /**
+     * Constructs an AsyncMemoizer for the provided Function calculation, running it on the given executor.
+     *
+     * <p>
+     * If a calculation throws an exception for any reason, this exception will be cached and returned for all future calls with the provided
+     * parameter.
+     * </p>
+     *
+     * @param function the function whose results should be memorized
+     * @param executor the executor running the calculations
+     * @throws NullPointerException if the function or the executor is {@code null}
+     */
+    public AsyncMemoizer(final Function<? super I, ? extends O> function, final Executor executor) {
+        this(function, executor, false);
+    }
+
+    /**
+     * Constructs an AsyncMemoizer for the provided Function calculation, running it on the given executor, with the option of whether a
+     * calculation that experiences an error should recalculate on subsequent calls or return the same cached exception.
+     *
+     * @param function the function whose results should be memorized
+     * @param executor the executor running the calculations
+     * @param recalculate determines whether the calculation should be recalculated on subsequent calls if the previous call failed
+     * @throws NullPointerException if the function or the executor is {@code null}
+     */
+    public AsyncMemoizer(final Function<? super I, ? extends O> function, final Executor executor, final boolean recalculate) {
+        this(function, null, executor, recalculate);
+    }
+
+    /**
+     * Constructs an AsyncMemoizer for the provided Function calculation and a bulk function calculating the results for several arguments in one
+     * call. The map returned by the bulk function must contain a result for each of the given arguments; the calculation of arguments without a
+     * result fails with an {@link IllegalStateException}.
+     *
+     * @param function the function whose results should be memorized
+     * @param bulkFunction the function calculating the results for several arguments, or {@code null} to call the function for each argument
+     * @param executor the executor running the calculations
+     * @param recalculate determines whether the calculation should be recalculated on subsequent calls if the previous call failed
+     * @throws NullPointerException if the function or the executor is {@code null}
+     */
+    public AsyncMemoizer(final Function<? super I, ? extends O> function, final Function<? super Set<I>, ? extends Map<I, O>> bulkFunction,
+            final Executor executor, final boolean recalculate) {
+        this.function = Objects.requireNonNull(function, "function");
+        this.bulkFunction = bulkFunction;
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.recalculate = recalculate;
+    }
+
+    /**
+     * Calculates the result for an argument and completes its future.
+     *
+     * @param arg the argument
+     * @param future the future to complete
+     */
+    private void complete(final I arg, final CompletableFuture<O> future) {
+        try {
+            future.complete(function.apply(arg));
+        } catch (final Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * This method will return the result of the calculation and cache it, if it has not previously been calculated. Unlike
+     * {@link #computeAsync(Object)}, it blocks until the result is available.
+     *
+     * @param arg the argument for the calculation
+     * @return the result of the calculation
+     * @throws InterruptedException thrown if the calculation is interrupted
+     */
+    @Override
+    public O compute(final I arg) throws InterruptedException {
+        while (true) {
+            final CompletableFuture<O> future = computeAsync(arg);
+            try {
+                return future.get();
+            } catch (final CancellationException e) {
+                cache.remove(arg, future);
+            } catch (final ExecutionException e) {
+                throw launderException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Returns a future for the results of the calculation for all given arguments, starting a single task on the executor for the arguments that
+     * have not previously been calculated and are not being calculated. If a bulk function was provided, the task calls it once with all these
+     * arguments; otherwise it calls the function for each of them.
+     *
+     * <p>
+     * The future fails if the calculation fails for one of the arguments.
+     * </p>
+     *
+     * @param args the arguments for the calculation
+     * @return a future for a map from each distinct argument, in iteration order, to its result
+     * @throws NullPointerException if the collection or one of the arguments is {@code null}
+     */
+    public CompletableFuture<Map<I, O>> computeAll(final Collection<? extends I> args) {
+        final Map<I, CompletableFuture<O>> futures = new LinkedHashMap<>();
+        final Map<I, CompletableFuture<O>> misses = new LinkedHashMap<>();
+        try {
+            for (final I arg : args) {
+                if (!futures.containsKey(arg)) {
+                    CompletableFuture<O> future = cache.get(arg);
+                    if (future == null) {
+                        final CompletableFuture<O> created = new CompletableFuture<>();
+                        future = cache.putIfAbsent(arg, created);
+                        if (future == null) {
+                            future = created;
+                            misses.put(arg, created);
+                        }
+                    }
+                    futures.put(arg, future);
+                }
+            }
+        } catch (final RuntimeException e) {
+            // a null argument, for example; release the arguments already claimed so that later calls do not wait forever
+            misses.forEach((arg, future) -> {
+                cache.remove(arg, future);
+                future.completeExceptionally(e);
+            });
+            throw e;
+        }
+        if (!misses.isEmpty()) {
+            start(misses, () -> loadAll(misses));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            final Map<I, O> results = new LinkedHashMap<>();
+            futures.forEach((arg, future) -> results.put(arg, future.join()));
+            return results;
+        });
+    }
+
+    /**
+     * Returns a future for the result of the calculation. If the result has not previously been calculated and is not being calculated, the
+     * calculation is started on the executor. This method does not block.
+     *
+     * @param arg the argument for the calculation
+     * @return the future for the result of the calculation
+     */
+    public CompletableFuture<O> computeAsync(final I arg) {
+        final CompletableFuture<O> cached = cache.get(arg);
+        if (cached != null) {
+            return cached;
+        }
+        final CompletableFuture<O> created = new CompletableFuture<>();
+        final CompletableFuture<O> existing = cache.putIfAbsent(arg, created);
+        if (existing != null) {
+            return existing;
+        }
+        start(Collections.singletonMap(arg, created), () -> complete(arg, created));
+        return created;
+    }
+
+    /**
+     * This method launders a Throwable to either a RuntimeException, Error or any other Exception wrapped in an
+     * IllegalStateException.
+     *
+     * @param throwable the throwable to laundered
+     * @return a RuntimeException, Error or an IllegalStateException
+     */
+    private RuntimeException launderException(final Throwable throwable) {
+        throw new IllegalStateException("Unchecked exception", ExceptionUtils.throwUnchecked(throwable));
+    }
+
+    /**
+     * Calculates the results for several arguments and completes their futures.
+     *
+     * @param futures the futures to complete by argument
+     */
+    private void loadAll(final Map<I, CompletableFuture<O>> futures) {
+        if (bulkFunction == null) {
+            futures.forEach(this::complete);
+            return;
+        }
+        try {
+            final Map<I, O> results = bulkFunction.apply(Collections.unmodifiableSet(futures.keySet()));
+            futures.forEach((arg, future) -> {
+                if (results.containsKey(arg)) {
+                    future.complete(results.get(arg));
+                } else {
+                    future.completeExceptionally(new IllegalStateException("No result for " + arg));
+                }
+            });
+        } catch (final Throwable t) {
+            futures.values().forEach(future -> future.completeExceptionally(t));
+        }
+    }
+
+    /**
+     * Registers the removal of failed futures from the cache and runs a task completing them on the executor.
+     *
+     * @param futures the futures the task completes by argument
+     * @param task the task
+     */
+    private void start(final Map<I, CompletableFuture<O>> futures, final Runnable task) {
+        futures.forEach((arg, future) -> future.whenComplete((result, t) -> {
+            if (t != null && (recalculate || t instanceof CancellationException)) {
+                cache.remove(arg, future);
+            }
+        }));
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            futures.forEach((arg, future) -> {
+                cache.remove(arg, future);
+                future.completeExceptionally(e);
+            });
+        }
+    }
+}
@@ -0,0 +1,580 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+/**
+ * A {@link Memoizer} that limits the number of cached results, lets results expire, and collects statistics.
+ *
+ * <p>
+ * {@link Memoizer} keeps every result forever. This class is configured with a {@link Builder} and supports:
+ * </p>
+ * <ul>
+ * <li>A maximum size. If more results are cached, the least recently used ones are evicted, down to three quarters of the maximum size so that
+ * evictions are rare.</li>
+ * <li>Expiry after write. A result is computed again once this time has passed since it was computed.</li>
+ * <li>Refresh after write. Once this time has passed since a result was computed, the next caller computes it again, while concurrent callers
+ * keep getting the previous result. If the new computation fails, the previous result is kept until the next refresh time.</li>
+ * <li>Statistics about hits, misses, computations, their duration, and evictions.</li>
+ * </ul>
+ * <p>
+ * Like {@link Memoizer}, concurrent callers for the same argument share a single computation, and exceptions are cached unless
+ * {@link Builder#setRecalculate(boolean) recalculation} is enabled. Computations run on the thread of the caller that started them, without
+ * holding a lock.
+ * </p>
+ * <p>
+ * Like {@link Memoizer}, the results are kept in a {@link ConcurrentHashMap}, so that calls finding a cached result do not lock; with a
+ * maximum size, they only stamp the result with a counter of the misses, without updating it. Results used since the same miss are thus
+ * equally recent. Evictions happen in a sweep by the caller whose computation made the cache too large, while concurrent callers may briefly
+ * add more results.
+ * </p>
+ *
+ * <pre>
+ * BoundedMemoizer&lt;String, Profile&gt; profiles = BoundedMemoizer.&lt;String, Profile&gt;builder()
+ *     .setFunction(this::loadProfile)
+ *     .setMaximumSize(10_000)
+ *     .setExpireAfterWrite(Duration.ofHours(1))
+ *     .build();
+ * </pre>
+ *
+ * @param <I> the type of the input to the calculation
+ * @param <O> the type of the output of the calculation
+ * @see Memoizer
+ * @since 3.18.0
+ */
+public class BoundedMemoizer<I, O> implements Computable<I, O> {
+
+    /**
+     * A <em>builder</em> class for creating instances of {@link BoundedMemoizer}. Only the computation is required; by default, the size is not
+     * limited, results do not expire and are not refreshed, and exceptions are cached.
+     *
+     * @param <I> the type of the input to the calculation
+     * @param <O> the type of the output of the calculation
+     */
+    public static class Builder<I, O> implements org.apache.commons.lang3.builder.Builder<BoundedMemoizer<I, O>> {
+
+        /** The computation. */
+        private Computable<I, O> computable;
+
+        /** The maximum number of cached results. */
+        private int maximumSize = Integer.MAX_VALUE;
+
+        /** The time after which results expire. */
+        private Duration expireAfterWrite;
+
+        /** The time after which results are refreshed. */
+        private Duration refreshAfterWrite;
+
+        /** Whether failed computations are repeated. */
+        private boolean recalculate;
+
+        /**
+         * Constructs a new instance.
+         */
+        public Builder() {
+            // empty
+        }
+
+        /**
+         * Creates a new {@link BoundedMemoizer} with the options set on this builder.
+         *
+         * @return the new {@link BoundedMemoizer}
+         * @throws NullPointerException if no computation has been set
+         */
+        @Override
+        public BoundedMemoizer<I, O> build() {
+            return new BoundedMemoizer<>(this);
+        }
+
+        /**
+         * Sets the computation whose results are memorized.
+         *
+         * @param computable the computation
+         * @return {@code this} instance
+         * @throws NullPointerException if the computation is {@code null}
+         */
+        public Builder<I, O> setComputable(final Computable<I, O> computable) {
+            this.computable = Objects.requireNonNull(computable, "computable");
+            return this;
+        }
+
+        /**
+         * Sets the time after which a result expires and is computed again.
+         *
+         * @param expireAfterWrite the positive time since the computation, or {@code null} for no expiry
+         * @return {@code this} instance
+         * @throws IllegalArgumentException if the time is not positive
+         */
+        public Builder<I, O> setExpireAfterWrite(final Duration expireAfterWrite) {
+            this.expireAfterWrite = validate(expireAfterWrite);
+            return this;
+        }
+
+        /**
+         * Sets the function whose results are memorized.
+         *
+         * @param function the function
+         * @return {@code this} instance
+         * @throws NullPointerException if the function is {@code null}
+         */
+        public Builder<I, O> setFunction(final Function<? super I, ? extends O> function) {
+            Objects.requireNonNull(function, "function");
+            this.computable = function::apply;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached results. If more results are cached, the least recently used ones are evicted.
+         *
+         * @param maximumSize the maximum size, at least 1
+         * @return {@code this} instance
+         * @throws IllegalArgumentException if the size is less than 1
+         */
+        public Builder<I, O> setMaximumSize(final int maximumSize) {
+            Validate.inclusiveBetween(1, Integer.MAX_VALUE, maximumSize, "Maximum size must be greater than 0!");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets whether a computation that failed is repeated on subsequent calls, instead of returning the same exception.
+         *
+         * @param recalculate whether failed computations are repeated
+         * @return {@code this} instance
+         */
+        public Builder<I, O> setRecalculate(final boolean recalculate) {
+            this.recalculate = recalculate;
+            return this;
+        }
+
+        /**
+         * Sets the time after which the next caller computes a result again, while concurrent callers get the previous result.
+         *
+         * @param refreshAfterWrite the positive time since the computation, or {@code null} for no refresh
+         * @return {@code this} instance
+         * @throws IllegalArgumentException if the time is not positive
+         */
+        public Builder<I, O> setRefreshAfterWrite(final Duration refreshAfterWrite) {
+            this.refreshAfterWrite = validate(refreshAfterWrite);
+            return this;
+        }
+
+        private static Duration validate(final Duration duration) {
+            Validate.isTrue(duration == null || !duration.isNegative() && !duration.isZero(), "Duration must be positive: %s", duration);
+            return duration;
+        }
+    }
+
+    /**
+     * A cached computation.
+     */
+    private final class Entry {
+
+        /** The computation, sharing its result with all callers. */
+        private final FutureTask<O> future;
+
+        /** Whether a caller refreshes the result. */
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        /** The time the computation finished. */
+        private volatile long writeTime;
+
+        /** The time the result was computed or last tried to be refreshed. */
+        private volatile long refreshTime;
+
+        /** The last access, on the miss counter of the memoizer. */
+        private volatile long lastAccess = accessClock.incrementAndGet();
+
+        /**
+         * Creates a computation for the given argument.
+         *
+         * @param arg the argument
+         */
+        Entry(final I arg) {
+            future = new FutureTask<>(() -> {
+                try {
+                    return computable.compute(arg);
+                } finally {
+                    writeTime = nanoTime();
+                    refreshTime = writeTime;
+                }
+            });
+        }
+
+        /**
+         * Tests whether the result has expired.
+         *
+         * @param now the current time
+         * @return whether the result has expired
+         */
+        boolean isExpired(final long now) {
+            return expireNanos > 0 && future.isDone() && now - writeTime >= expireNanos;
+        }
+
+        /**
+         * Runs the computation and records its duration.
+         */
+        void load() {
+            final long start = nanoTime();
+            future.run();
+            totalLoadTime.add(nanoTime() - start);
+        }
+    }
+
+    /**
+     * Creates a new {@link Builder}.
+     *
+     * @param <I> the type of the input to the calculation
+     * @param <O> the type of the output of the calculation
+     * @return a new {@link Builder}
+     */
+    public static <I, O> Builder<I, O> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Converts an optional duration to nanoseconds, saturating on overflow.
+     *
+     * @param duration the duration or {@code null}
+     * @return the duration in nanoseconds, or 0 for {@code null}
+     */
+    private static long toNanos(final Duration duration) {
+        if (duration == null) {
+            return 0;
+        }
+        return duration.getSeconds() >= Long.MAX_VALUE / 1_000_000_000L ? Long.MAX_VALUE : duration.toNanos();
+    }
+
+    /** The cached computations. */
+    private final ConcurrentMap<I, Entry> cache = new ConcurrentHashMap<>();
+
+    /** Ticks on each miss, so that results used between two misses are equally recent. */
+    private final AtomicLong accessClock = new AtomicLong();
+
+    /** The lock held while evicting; computations and lookups run without it. */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /** The computation. */
+    private final Computable<I, O> computable;
+
+    /** The maximum number of cached results. */
+    private final int maximumSize;
+
+    /** The time after which results expire in nanoseconds, or 0. */
+    private final long expireNanos;
+
+    /** The time after which results are refreshed in nanoseconds, or 0. */
+    private final long refreshNanos;
+
+    /** Whether failed computations are repeated. */
+    private final boolean recalculate;
+
+    /** The number of calls that found a cached result or a running computation. */
+    private final LongAdder hitCount = new LongAdder();
+
+    /** The number of calls that started a computation. */
+    private final LongAdder missCount = new LongAdder();
+
+    /** The number of computations that returned a result. */
+    private final LongAdder loadSuccessCount = new LongAdder();
+
+    /** The number of computations that threw an exception. */
+    private final LongAdder loadFailureCount = new LongAdder();
+
+    /** The total time spent in computations in nanoseconds. */
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    /** The number of results removed because of the size limit or expiry. */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder the builder
+     * @throws NullPointerException if no computation has been set
+     */
+    protected BoundedMemoizer(final Builder<I, O> builder) {
+        computable = Objects.requireNonNull(builder.computable, "computable");
+        maximumSize = builder.maximumSize;
+        expireNanos = toNanos(builder.expireAfterWrite);
+        refreshNanos = toNanos(builder.refreshAfterWrite);
+        recalculate = builder.recalculate;
+    }
+
+    /**
+     * Returns the result of the calculation, computing and caching it if it is not cached.
+     *
+     * <p>
+     * If another caller is already computing the result for the same argument, this method waits for that computation. If the cached result is due
+     * for a refresh, and no other caller refreshes it, this method computes it again.
+     * </p>
+     *
+     * @param arg the argument for the calculation
+     * @return the result of the calculation
+     * @throws InterruptedException thrown if the calculation is interrupted
+     */
+    @Override
+    public O compute(final I arg) throws InterruptedException {
+        while (true) {
+            final long now = nanoTime();
+            Entry entry = cache.get(arg);
+            if (entry != null && entry.isExpired(now)) {
+                if (cache.remove(arg, entry)) {
+                    evictionCount.increment();
+                }
+                continue;
+            }
+            boolean created = false;
+            if (entry == null) {
+                final Entry newEntry = new Entry(arg);
+                entry = cache.putIfAbsent(arg, newEntry);
+                if (entry == null) {
+                    entry = newEntry;
+                    created = true;
+                    if (cache.size() > maximumSize) {
+                        evict();
+                    }
+                }
+            }
+            if (created) {
+                missCount.increment();
+                entry.load();
+            } else {
+                hitCount.increment();
+                touch(entry);
+            }
+            try {
+                final O result = entry.future.get();
+                if (created) {
+                    loadSuccessCount.increment();
+                } else if (refreshNanos > 0 && now - entry.refreshTime >= refreshNanos && entry.refreshing.compareAndSet(false, true)) {
+                    return refresh(arg, entry, result);
+                }
+                return result;
+            } catch (final CancellationException e) {
+                remove(arg, entry);
+            } catch (final ExecutionException e) {
+                if (created) {
+                    loadFailureCount.increment();
+                }
+                if (recalculate) {
+                    remove(arg, entry);
+                }
+                throw launderException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used results if the cache is too large, down to three quarters of the maximum size. Does nothing if another
+     * thread is evicting.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            final long[] lastAccesses = cache.values().stream().mapToLong(e -> e.lastAccess).sorted().toArray();
+            final int excess = lastAccesses.length - (maximumSize - maximumSize / 4);
+            if (excess <= 0) {
+                return;
+            }
+            // results used since the same miss share a stamp, so remove only as many of those at the threshold as needed
+            final long threshold = lastAccesses[excess - 1];
+            int ties = 0;
+            while (ties < excess && lastAccesses[excess - 1 - ties] == threshold) {
+                ties++;
+            }
+            for (final Map.Entry<I, Entry> e : cache.entrySet()) {
+                final long lastAccess = e.getValue().lastAccess;
+                if ((lastAccess < threshold || lastAccess == threshold && ties > 0) && cache.remove(e.getKey(), e.getValue())) {
+                    evictionCount.increment();
+                    if (lastAccess == threshold) {
+                        ties--;
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of results removed because of the size limit or because they expired.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the number of calls that found a cached result or waited for a computation started by another caller.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of computations, including refreshes, that threw an exception.
+     *
+     * @return the load failure count
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount.sum();
+    }
+
+    /**
+     * Returns the number of computations, including refreshes, that returned a result.
+     *
+     * @return the load success count
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount.sum();
+    }
+
+    /**
+     * Returns the number of calls that started a computation because no result was cached.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the total time spent in computations, including refreshes.
+     *
+     * @return the total load time
+     */
+    public Duration getTotalLoadTime() {
+        return Duration.ofNanos(totalLoadTime.sum());
+    }
+
+    /**
+     * Removes the cached result for the given argument, so that the next call computes it again.
+     *
+     * @param arg the argument
+     */
+    public void invalidate(final I arg) {
+        cache.remove(arg);
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * This method launders a Throwable to either a RuntimeException, Error or any other Exception wrapped in an
+     * IllegalStateException.
+     *
+     * @param throwable the throwable to laundered
+     * @return a RuntimeException, Error or an IllegalStateException
+     */
+    private RuntimeException launderException(final Throwable throwable) {
+        throw new IllegalStateException("Unchecked exception", ExceptionUtils.throwUnchecked(throwable));
+    }
+
+    /**
+     * Returns the current time in nanoseconds. Tests override this method.
+     *
+     * @return the current time in nanoseconds
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Computes a cached result again, replacing it if the computation succeeds.
+     *
+     * @param arg the argument
+     * @param entry the cached computation
+     * @param result the cached result
+     * @return the new result, or the cached one if the computation failed
+     * @throws InterruptedException thrown if the calculation is interrupted
+     */
+    private O refresh(final I arg, final Entry entry, final O result) throws InterruptedException {
+        final Entry refreshed = new Entry(arg);
+        refreshed.load();
+        try {
+            final O refreshedResult = refreshed.future.get();
+            loadSuccessCount.increment();
+            refreshed.lastAccess = entry.lastAccess;
+            cache.replace(arg, entry, refreshed);
+            return refreshedResult;
+        } catch (final ExecutionException | CancellationException e) {
+            loadFailureCount.increment();
+            entry.refreshTime = nanoTime();
+            entry.refreshing.set(false);
+            return result;
+        }
+    }
+
+    /**
+     * Removes the given computation if it is still cached for the argument.
+     *
+     * @param arg the argument
+     * @param entry the computation
+     */
+    private void remove(final I arg, final Entry entry) {
+        cache.remove(arg, entry);
+    }
+
+    /**
+     * Returns the number of cached results, including running computations.
+     *
+     * @return the number of cached results
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Stamps a cached computation with the current miss counter, if the size is limited.
+     *
+     * @param entry the computation
+     */
+    private void touch(final Entry entry) {
+        if (maximumSize < Integer.MAX_VALUE) {
+            final long now = accessClock.get();
+            if (entry.lastAccess != now) {
+                entry.lastAccess = now;
+            }
+        }
+    }
+}
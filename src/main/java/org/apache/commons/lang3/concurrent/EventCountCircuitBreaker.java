@@ -20,8 +20,12 @@
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.commons.lang3.Validate;
+
 /**
  * A simple implementation of the <a
  * href="https://martinfowler.com/bliki/CircuitBreaker.html">Circuit Breaker</a> pattern
@@ -132,6 +136,15 @@
  * <li>The handling of check intervals is a bit simplistic. Therefore, there is no
  * guarantee that the circuit breaker is triggered at a specific point in time; there may
  * be some delay (less than a check interval).</li>
+ * <li>In the default exact mode, every event replaces an immutable object holding the
+ * counter and the start of the check interval, and all threads compete for a single
+ * reference. For breakers receiving very many events from many threads, a maximum count
+ * error can be passed to the constructor. The counter is then striped over several
+ * cache lines, events do not allocate objects, and a thread publishes its events only
+ * every few events. The count used to decide whether to open the circuit breaker may then
+ * lag behind by at most this number of events; the count of a finished check interval,
+ * which decides whether to close the circuit breaker, is complete except for events
+ * recorded concurrently with the end of the interval.</li>
  * </ul>
  * @since 3.5
  */
@@ -210,27 +223,29 @@ private abstract static class StateStrategy {
          * Returns a flag whether the end of the current check interval is reached.
          *
          * @param breaker the {@link CircuitBreaker}
-         * @param currentData the current state object
+         * @param checkIntervalStart the start time of the current check interval
          * @param now the current time
          * @return a flag whether the end of the current check interval is reached
          */
         public boolean isCheckIntervalFinished(final EventCountCircuitBreaker breaker,
-                final CheckIntervalData currentData, final long now) {
-            return now - currentData.getCheckIntervalStart() > fetchCheckInterval(breaker);
+                final long checkIntervalStart, final long now) {
+            return now - checkIntervalStart > fetchCheckInterval(breaker);
         }
 
         /**
-         * Checks whether the specified {@link CheckIntervalData} objects indicate that a
-         * state transition should occur. Here the logic which checks for thresholds
-         * depending on the current state is implemented.
+         * Checks whether the specified event counts indicate that a state transition
+         * should occur. Here the logic which checks for thresholds depending on the
+         * current state is implemented.
          *
          * @param breaker the {@link CircuitBreaker}
-         * @param currentData the current {@link CheckIntervalData} object
-         * @param nextData the updated {@link CheckIntervalData} object
+         * @param newInterval a flag whether the check has started a new check interval
+         * @param previousCount the number of events in the previous check interval if a
+         * new one has been started, otherwise the count before the check
+         * @param nextCount the number of events in the current check interval
          * @return a flag whether a state transition should be performed
          */
         public abstract boolean isStateTransition(EventCountCircuitBreaker breaker,
-                CheckIntervalData currentData, CheckIntervalData nextData);
+                boolean newInterval, long previousCount, long nextCount);
     }
 
     /**
@@ -251,8 +266,8 @@ protected long fetchCheckInterval(final EventCountCircuitBreaker breaker) {
          */
         @Override
         public boolean isStateTransition(final EventCountCircuitBreaker breaker,
-                final CheckIntervalData currentData, final CheckIntervalData nextData) {
-            return nextData.getEventCount() > breaker.getOpeningThreshold();
+                final boolean newInterval, final long previousCount, final long nextCount) {
+            return nextCount > breaker.getOpeningThreshold();
         }
     }
 
@@ -273,13 +288,20 @@ protected long fetchCheckInterval(final EventCountCircuitBreaker breaker) {
          */
         @Override
         public boolean isStateTransition(final EventCountCircuitBreaker breaker,
-                final CheckIntervalData currentData, final CheckIntervalData nextData) {
-            return nextData.getCheckIntervalStart() != currentData
-                    .getCheckIntervalStart()
-                    && currentData.getEventCount() < breaker.getClosingThreshold();
+                final boolean newInterval, final long previousCount, final long nextCount) {
+            return newInterval && previousCount < breaker.getClosingThreshold();
         }
     }
 
+    /** The distance in longs between two counter stripes, keeping them on separate cache lines. */
+    private static final int STRIPE_SPACING = 16;
+
+    /** The maximum number of counter stripes. */
+    private static final int MAX_STRIPES = 64;
+
+    /** A constant for mixing thread IDs into stripe indices. */
+    private static final long STRIPE_HASH = 0x9E37_79B9_7F4A_7C15L;
+
     /** A map for accessing the strategy objects for the different states. */
     private static final Map<State, StateStrategy> STRATEGY_MAP = createStrategyMap();
 
@@ -307,9 +329,27 @@ private static StateStrategy stateStrategy(final State state) {
         return STRATEGY_MAP.get(state);
     }
 
-    /** Stores information about the current check interval. */
+    /** Stores information about the current check interval in exact mode. */
     private final AtomicReference<CheckIntervalData> checkIntervalData;
 
+    /** The start time of the current check interval in approximate mode. */
+    private final AtomicLong checkIntervalStart;
+
+    /** The events published by the stripes in the current check interval in approximate mode. */
+    private final AtomicLong publishedCount;
+
+    /** The striped event counters in approximate mode, or <strong>null</strong> in exact mode. */
+    private final AtomicLongArray stripes;
+
+    /** The mask for selecting a stripe. */
+    private final int stripeMask;
+
+    /** The number of events a stripe collects before publishing them. */
+    private final int stripeBatch;
+
+    /** The maximum number of events the opening check may lag behind. */
+    private final int maxCountError;
+
     /** The threshold for opening the circuit breaker. */
     private final int openingThreshold;
 
@@ -374,22 +414,85 @@ public EventCountCircuitBreaker(final int openingThreshold, final long checkInte
     public EventCountCircuitBreaker(final int openingThreshold, final long openingInterval,
                                     final TimeUnit openingUnit, final int closingThreshold, final long closingInterval,
                                     final TimeUnit closingUnit) {
-        checkIntervalData = new AtomicReference<>(new CheckIntervalData(0, 0));
+        this(openingThreshold, openingInterval, openingUnit, closingThreshold, closingInterval, closingUnit, 0);
+    }
+
+    /**
+     * Creates a new instance of {@link EventCountCircuitBreaker} that may count events
+     * approximately. With a maximum count error of 0, events are counted exactly. With a
+     * greater value, events are counted in striped counters without allocating objects,
+     * and the count checked against the opening threshold may lag behind by at most the
+     * given number of events. This scales much better if many threads report events.
+     *
+     * @param openingThreshold the threshold for opening the circuit breaker; if this
+     * number of events is received in the time span determined by the opening interval,
+     * the circuit breaker is opened
+     * @param openingInterval the interval for opening the circuit breaker
+     * @param openingUnit the {@link TimeUnit} defining the opening interval
+     * @param closingThreshold the threshold for closing the circuit breaker; if the
+     * number of events received in the time span determined by the closing interval goes
+     * below this threshold, the circuit breaker is closed again
+     * @param closingInterval the interval for closing the circuit breaker
+     * @param closingUnit the {@link TimeUnit} defining the closing interval
+     * @param maxCountError the maximum number of events the opening check may lag behind
+     * @throws IllegalArgumentException if the maximum count error is negative
+     * @since 3.18.0
+     */
+    public EventCountCircuitBreaker(final int openingThreshold, final long openingInterval,
+                                    final TimeUnit openingUnit, final int closingThreshold, final long closingInterval,
+                                    final TimeUnit closingUnit, final int maxCountError) {
+        Validate.inclusiveBetween(0, Integer.MAX_VALUE, maxCountError, "Maximum count error must not be negative!");
         this.openingThreshold = openingThreshold;
         this.openingInterval = openingUnit.toNanos(openingInterval);
         this.closingThreshold = closingThreshold;
         this.closingInterval = closingUnit.toNanos(closingInterval);
+        this.maxCountError = maxCountError;
+        if (maxCountError == 0) {
+            checkIntervalData = new AtomicReference<>(new CheckIntervalData(0, 0));
+            checkIntervalStart = null;
+            publishedCount = null;
+            stripes = null;
+            stripeMask = 0;
+            stripeBatch = 0;
+        } else {
+            // every stripe holds back fewer than stripeBatch events
+            final int processors = Runtime.getRuntime().availableProcessors();
+            final int stripeCount = Math.min(Math.min(MAX_STRIPES, Integer.highestOneBit(maxCountError)),
+                    processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1);
+            checkIntervalData = null;
+            checkIntervalStart = new AtomicLong();
+            publishedCount = new AtomicLong();
+            stripes = new AtomicLongArray(stripeCount * STRIPE_SPACING);
+            stripeMask = stripeCount - 1;
+            stripeBatch = maxCountError / stripeCount + 1;
+        }
     }
 
     /**
-     * Changes the state of this circuit breaker and also initializes a new
-     * {@link CheckIntervalData} object.
+     * Adds the given increment to the stripe of the current thread in approximate mode,
+     * publishing the events of the stripe if it holds enough of them.
+     *
+     * @param increment the increment for the internal counter
+     * @return the number of events published in the current check interval
+     */
+    private long addToStripe(final int increment) {
+        if (increment != 0) {
+            final int index = (int) (Thread.currentThread().getId() * STRIPE_HASH >>> 32 & stripeMask) * STRIPE_SPACING;
+            if (stripes.addAndGet(index, increment) >= stripeBatch) {
+                return publishedCount.addAndGet(stripes.getAndSet(index, 0));
+            }
+        }
+        return publishedCount.get();
+    }
+
+    /**
+     * Changes the state of this circuit breaker and also starts a new check interval.
      *
      * @param newState the new state to be set
      */
     private void changeStateAndStartNewCheckInterval(final State newState) {
         changeState(newState);
-        checkIntervalData.set(new CheckIntervalData(0, nanoTime()));
+        startNewCheckInterval();
     }
 
     /**
@@ -417,7 +520,20 @@ public boolean checkState() {
     @Override
     public void close() {
         super.close();
-        checkIntervalData.set(new CheckIntervalData(0, nanoTime()));
+        startNewCheckInterval();
+    }
+
+    /**
+     * Removes all events from the stripes and the published count in approximate mode.
+     *
+     * @return the number of removed events
+     */
+    private long drainStripes() {
+        long count = publishedCount.getAndSet(0);
+        for (int i = 0; i < stripes.length(); i += STRIPE_SPACING) {
+            count += stripes.getAndSet(i, 0);
+        }
+        return count;
     }
 
     /**
@@ -440,6 +556,17 @@ public int getClosingThreshold() {
         return closingThreshold;
     }
 
+    /**
+     * Returns the maximum number of events the count checked against the opening
+     * threshold may lag behind. A value of 0 means that events are counted exactly.
+     *
+     * @return the maximum count error
+     * @since 3.18.0
+     */
+    public int getMaxCountError() {
+        return maxCountError;
+    }
+
     /**
      * Returns the interval (in nanoseconds) for checking for the opening threshold.
      *
@@ -504,7 +631,7 @@ long nanoTime() {
     private CheckIntervalData nextCheckIntervalData(final int increment,
             final CheckIntervalData currentData, final State currentState, final long time) {
         final CheckIntervalData nextData;
-        if (stateStrategy(currentState).isCheckIntervalFinished(this, currentData, time)) {
+        if (stateStrategy(currentState).isCheckIntervalFinished(this, currentData.getCheckIntervalStart(), time)) {
             nextData = new CheckIntervalData(increment, time);
         } else {
             nextData = currentData.increment(increment);
@@ -524,7 +651,33 @@ private CheckIntervalData nextCheckIntervalData(final int increment,
     @Override
     public void open() {
         super.open();
-        checkIntervalData.set(new CheckIntervalData(0, nanoTime()));
+        startNewCheckInterval();
+    }
+
+    /**
+     * Checks the state of this circuit breaker in approximate mode and executes a state
+     * transition if necessary. The thread that notices the end of the check interval
+     * starts a new one and collects the events of the finished interval.
+     *
+     * @param increment the increment for the internal counter
+     * @return a flag whether the circuit breaker is now closed
+     */
+    private boolean performApproximateStateCheck(final int increment) {
+        final long time = nanoTime();
+        State currentState = state.get();
+        final StateStrategy strategy = stateStrategy(currentState);
+        final long intervalStart = checkIntervalStart.get();
+        final boolean newInterval = strategy.isCheckIntervalFinished(this, intervalStart, time)
+                && checkIntervalStart.compareAndSet(intervalStart, time);
+        final long previousCount = newInterval ? drainStripes() : 0;
+        final long nextCount = addToStripe(increment);
+
+        // Like in exact mode, this might race with other changes.
+        if (strategy.isStateTransition(this, newInterval, previousCount, nextCount)) {
+            currentState = currentState.oppositeState();
+            changeStateAndStartNewCheckInterval(currentState);
+        }
+        return !isOpen(currentState);
     }
 
     /**
@@ -535,6 +688,9 @@ public void open() {
      * @return a flag whether the circuit breaker is now closed
      */
     private boolean performStateCheck(final int increment) {
+        if (stripes != null) {
+            return performApproximateStateCheck(increment);
+        }
         CheckIntervalData currentData;
         CheckIntervalData nextData;
         State currentState;
@@ -548,13 +704,28 @@ private boolean performStateCheck(final int increment) {
 
         // This might cause a race condition if other changes happen in between!
         // Refer to the header comment!
-        if (stateStrategy(currentState).isStateTransition(this, currentData, nextData)) {
+        if (stateStrategy(currentState).isStateTransition(this,
+                nextData.getCheckIntervalStart() != currentData.getCheckIntervalStart(),
+                currentData.getEventCount(), nextData.getEventCount())) {
             currentState = currentState.oppositeState();
             changeStateAndStartNewCheckInterval(currentState);
         }
         return !isOpen(currentState);
     }
 
+    /**
+     * Starts a new check interval with no events at the current time.
+     */
+    private void startNewCheckInterval() {
+        final long time = nanoTime();
+        if (stripes == null) {
+            checkIntervalData.set(new CheckIntervalData(0, time));
+        } else {
+            checkIntervalStart.set(time);
+            drainStripes();
+        }
+    }
+
     /**
      * Updates the {@link CheckIntervalData} object. The current data object is replaced
      * by the one modified by the last check. The return value indicates whether this was
@@ -0,0 +1,666 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.beans.PropertyChangeListener;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An implementation of the <a href="https://martinfowler.com/bliki/CircuitBreaker.html">Circuit Breaker</a> pattern that opens if the rate of
+ * failed or slow calls in a sliding time window exceeds a threshold.
+ *
+ * <p>
+ * {@link EventCountCircuitBreaker} counts events in fixed check intervals, so a burst of events split across two intervals may never open it.
+ * This circuit breaker instead divides a time window into a number of buckets and always evaluates the calls recorded in the current bucket and
+ * the preceding ones that still lie within the window. The buckets form a preallocated ring of atomic counters; recording a call does not allocate
+ * objects or take locks.
+ * </p>
+ * <p>
+ * The application reports the outcome of every call with {@link #recordSuccess(long, TimeUnit)} or {@link #recordFailure(long, TimeUnit)}. A
+ * call is slow if it took at least the configured slow call duration. Once the window holds at least the minimum number of calls, the circuit
+ * breaker opens if the percentage of failed calls reaches the failure rate threshold, or if the percentage of slow calls reaches the slow call
+ * rate threshold. It closes again after the configured open duration has elapsed, starting with an empty window. Outcomes reported while the
+ * circuit breaker is open are ignored.
+ * </p>
+ * <p>
+ * Instances are created with a {@link Builder}. The following example opens the circuit breaker if at least half of the calls in the last minute
+ * failed, or if 80 percent of them took two seconds or more, and gives the service 30 seconds to recover:
+ * </p>
+ *
+ * <pre>
+ * SlidingWindowCircuitBreaker breaker = SlidingWindowCircuitBreaker.builder()
+ *     .setWindow(Duration.ofMinutes(1), 12)
+ *     .setMinimumCalls(20)
+ *     .setFailureRateThreshold(50)
+ *     .setSlowCallRateThreshold(80)
+ *     .setSlowCallDuration(Duration.ofSeconds(2))
+ *     .setOpenDuration(Duration.ofSeconds(30))
+ *     .build();
+ * ...
+ * public void handleRequest(Request request) {
+ *     if (breaker.checkState()) {
+ *         final long start = System.nanoTime();
+ *         try {
+ *             service.doSomething();
+ *             breaker.recordSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+ *         } catch (ServiceException ex) {
+ *             breaker.recordFailure(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+ *         }
+ *     } else {
+ *         // return an error code, use an alternative service, etc.
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * As for the other circuit breakers, {@link PropertyChangeListener change listeners} can be registered to be notified about state transitions.
+ * {@link #incrementAndCheckState(Integer)} records the given number of failed calls.
+ * </p>
+ * <p>
+ * <em>Implementation notes:</em> Every counter packs the lower 32 bits of the index of the bucket period it belongs to and its count into a single
+ * {@code long}, so a counter of an outdated period is replaced atomically by the first update in a new period. So that the truncated indices
+ * compare correctly, the first call 2<sup>29</sup> bucket periods after the last sweep resets the outdated counters, or all of them after a longer
+ * pause. The window covers the current, partial bucket and the preceding full ones, so its effective length is between the window size minus one
+ * bucket and the window size. The counts of a single bucket must stay below 2<sup>32</sup>.
+ * </p>
+ *
+ * @see EventCountCircuitBreaker
+ * @since 3.18.0
+ */
+public class SlidingWindowCircuitBreaker extends AbstractCircuitBreaker<Integer> {
+
+    /**
+     * A <em>builder</em> class for creating instances of {@link SlidingWindowCircuitBreaker}. All options have defaults: a window of 10 seconds in
+     * 10 buckets, a minimum of 100 calls, a failure rate threshold of 50 percent, a slow call rate threshold of 100 percent, a slow call duration of
+     * 60 seconds, and an open duration of 60 seconds.
+     */
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<SlidingWindowCircuitBreaker> {
+
+        /** The size of the time window. */
+        private Duration windowSize = Duration.ofSeconds(10);
+
+        /** The number of buckets in the time window. */
+        private int bucketCount = 10;
+
+        /** The minimum number of calls for evaluating the rates. */
+        private int minimumCalls = 100;
+
+        /** The failure rate threshold in percent. */
+        private double failureRateThreshold = 50;
+
+        /** The slow call rate threshold in percent. */
+        private double slowCallRateThreshold = 100;
+
+        /** The duration from which on a call is slow. */
+        private Duration slowCallDuration = Duration.ofSeconds(60);
+
+        /** The time the circuit breaker stays open. */
+        private Duration openDuration = Duration.ofSeconds(60);
+
+        /**
+         * Constructs a new instance.
+         */
+        public Builder() {
+            // empty
+        }
+
+        /**
+         * Creates a new {@link SlidingWindowCircuitBreaker} with the options set on this builder.
+         *
+         * @return the new {@link SlidingWindowCircuitBreaker}
+         */
+        @Override
+        public SlidingWindowCircuitBreaker build() {
+            return new SlidingWindowCircuitBreaker(this);
+        }
+
+        /**
+         * Sets the failure rate threshold. The circuit breaker opens if at least this percentage of the calls in the window failed.
+         *
+         * @param failureRateThreshold the threshold in percent, greater than 0 and at most 100
+         * @return {@code this} instance
+         * @throws IllegalArgumentException if the threshold is out of range
+         */
+        public Builder setFailureRateThreshold(final double failureRateThreshold) {
+            this.failureRateThreshold = validateRate(failureRateThreshold);
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of calls in the window before the rates are evaluated.
+         *
+         * @param minimumCalls the minimum number of calls, at least 1
+         * @return {@code this} instance
+         * @throws IllegalArgumentException if the number is less than 1
+         */
+        public Builder setMinimumCalls(final int minimumCalls) {
+            Validate.inclusiveBetween(1, Integer.MAX_VALUE, minimumCalls, "Minimum calls must be greater than 0!");
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets the time the circuit breaker stays open before it closes again.
+         *
+         * @param openDuration the open duration, not negative
+         * @return {@code this} instance
+         * @throws NullPointerException if the duration is {@code null}
+         * @throws IllegalArgumentException if the duration is negative
+         */
+        public Builder setOpenDuration(final Duration openDuration) {
+            this.openDuration = validateDuration(openDuration, "openDuration");
+            return this;
+        }
+
+        /**
+         * Sets the duration from which on a call is slow.
+         *
+         * @param slowCallDuration the slow call duration, not negative
+         * @return {@code this} instance
+         * @throws NullPointerException if the duration is {@code null}
+         * @throws IllegalArgumentException if the duration is negative
+         */
+        public Builder setSlowCallDuration(final Duration slowCallDuration) {
+            this.slowCallDuration = validateDuration(slowCallDuration, "slowCallDuration");
+            return this;
+        }
+
+        /**
+         * Sets the slow call rate threshold. The circuit breaker opens if at least this percentage of the calls in the window were slow.
+         *
+         * @param slowCallRateThreshold the threshold in percent, greater than 0 and at most 100
+         * @return {@code this} instance
+         * @throws IllegalArgumentException if the threshold is out of range
+         */
+        public Builder setSlowCallRateThreshold(final double slowCallRateThreshold) {
+            this.slowCallRateThreshold = validateRate(slowCallRateThreshold);
+            return this;
+        }
+
+        /**
+         * Sets the size of the sliding time window and the number of buckets it is divided into. More buckets make the window slide more smoothly,
+         * but make evaluating it more expensive.
+         *
+         * @param windowSize the size of the window, positive
+         * @param bucketCount the number of buckets, at least 1
+         * @return {@code this} instance
+         * @throws NullPointerException if the window size is {@code null}
+         * @throws IllegalArgumentException if the window size is not positive, the bucket count is less than 1, or a bucket is shorter than a
+         * nanosecond
+         */
+        public Builder setWindow(final Duration windowSize, final int bucketCount) {
+            Objects.requireNonNull(windowSize, "windowSize");
+            Validate.inclusiveBetween(1, Integer.MAX_VALUE, bucketCount, "Bucket count must be greater than 0!");
+            Validate.isTrue(windowSize.compareTo(Duration.ofNanos(bucketCount)) >= 0, "Window size must be at least one nanosecond per bucket!");
+            this.windowSize = windowSize;
+            this.bucketCount = bucketCount;
+            return this;
+        }
+
+        private static Duration validateDuration(final Duration duration, final String name) {
+            Objects.requireNonNull(duration, name);
+            Validate.isTrue(!duration.isNegative(), "%s must not be negative!", name);
+            return duration;
+        }
+
+        private static double validateRate(final double rate) {
+            Validate.isTrue(rate > 0 && rate <= 100, "Rate threshold must be greater than 0 and at most 100: %s", rate);
+            return rate;
+        }
+    }
+
+    /** The number of counters per bucket. */
+    private static final int COUNTERS = 3;
+
+    /** The offset of the call counter within a bucket. */
+    private static final int CALLS = 0;
+
+    /** The offset of the failure counter within a bucket. */
+    private static final int FAILURES = 1;
+
+    /** The offset of the slow call counter within a bucket. */
+    private static final int SLOW_CALLS = 2;
+
+    /** Mask for the count in a packed counter. */
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    /**
+     * The number of bucket periods after which the outdated counters are reset. The periods of all counters then stay within less than 2<sup>31</sup>
+     * periods of the current one, as there are fewer than 2<sup>30</sup> buckets.
+     */
+    private static final long SWEEP_PERIODS = 1L << 29;
+
+    /**
+     * Creates a new {@link Builder}.
+     *
+     * @return a new {@link Builder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** The size of the time window. */
+    private final Duration windowSize;
+
+    /** The number of buckets in the time window. */
+    private final int bucketCount;
+
+    /** The length of a bucket in nanoseconds. */
+    private final long bucketNanos;
+
+    /** The minimum number of calls for evaluating the rates. */
+    private final int minimumCalls;
+
+    /** The failure rate threshold in percent. */
+    private final double failureRateThreshold;
+
+    /** The slow call rate threshold in percent. */
+    private final double slowCallRateThreshold;
+
+    /** The duration from which on a call is slow. */
+    private final Duration slowCallDuration;
+
+    /** The duration from which on a call is slow, in nanoseconds. */
+    private final long slowCallNanos;
+
+    /** The time the circuit breaker stays open. */
+    private final Duration openDuration;
+
+    /** The time the circuit breaker stays open, in nanoseconds. */
+    private final long openNanos;
+
+    /** The ring of buckets, each holding packed counters for calls, failures and slow calls. */
+    private final AtomicLongArray buckets;
+
+    /** The time the circuit breaker was opened. */
+    private volatile long openedAt;
+
+    /** The bucket period in which the outdated counters were last reset. */
+    private volatile long sweptPeriod;
+
+    /**
+     * Creates a new instance from the given builder.
+     *
+     * @param builder the builder
+     */
+    protected SlidingWindowCircuitBreaker(final Builder builder) {
+        windowSize = builder.windowSize;
+        bucketCount = builder.bucketCount;
+        bucketNanos = Math.max(1, toNanos(windowSize) / bucketCount);
+        minimumCalls = builder.minimumCalls;
+        failureRateThreshold = builder.failureRateThreshold;
+        slowCallRateThreshold = builder.slowCallRateThreshold;
+        slowCallDuration = builder.slowCallDuration;
+        slowCallNanos = toNanos(slowCallDuration);
+        openDuration = builder.openDuration;
+        openNanos = toNanos(openDuration);
+        buckets = new AtomicLongArray(bucketCount * COUNTERS);
+        clearWindow(0);
+    }
+
+    /**
+     * Converts a duration to nanoseconds, saturating on overflow.
+     *
+     * @param duration the duration
+     * @return the duration in nanoseconds
+     */
+    private static long toNanos(final Duration duration) {
+        return duration.getSeconds() >= Long.MAX_VALUE / TimeUnit.SECONDS.toNanos(1) ? Long.MAX_VALUE : duration.toNanos();
+    }
+
+    /**
+     * Adds a number of events to a counter, replacing the counter if it belongs to an older bucket period.
+     *
+     * @param index the index of the counter
+     * @param period the current bucket period
+     * @param count the number of events to add
+     */
+    private void add(final int index, final long period, final int count) {
+        for (;;) {
+            final long current = buckets.get(index);
+            final long next = (int) (current >>> 32) == (int) period ? current + count : period << 32 | count;
+            if (buckets.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If this circuit breaker is closed, it is opened if the calls in the window reach a rate threshold. If it is open and the open duration has
+     * elapsed, it is closed again with an empty window.
+     * </p>
+     */
+    @Override
+    public boolean checkState() {
+        return performStateCheck(nanoTime());
+    }
+
+    /**
+     * Marks all counters as outdated, so that the window is empty in the given bucket period.
+     *
+     * @param period the current bucket period
+     */
+    private void clearWindow(final long period) {
+        final long outdated = period - bucketCount << 32;
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, outdated);
+        }
+        sweptPeriod = period;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The window is cleared, so the rates are evaluated again once the minimum number of calls has been recorded.
+     * </p>
+     */
+    @Override
+    public void close() {
+        clearWindow(period(nanoTime()));
+        super.close();
+    }
+
+    /**
+     * Returns the number of buckets the window is divided into.
+     *
+     * @return the number of buckets
+     */
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Returns the number of calls recorded in the current window.
+     *
+     * @return the number of calls
+     */
+    public long getCallCount() {
+        return sum(CALLS, period(nanoTime()));
+    }
+
+    /**
+     * Returns the failure rate threshold in percent.
+     *
+     * @return the failure rate threshold
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Returns the number of failed calls recorded in the current window.
+     *
+     * @return the number of failed calls
+     */
+    public long getFailureCount() {
+        return sum(FAILURES, period(nanoTime()));
+    }
+
+    /**
+     * Returns the minimum number of calls in the window before the rates are evaluated.
+     *
+     * @return the minimum number of calls
+     */
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Returns the time the circuit breaker stays open before it closes again.
+     *
+     * @return the open duration
+     */
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Returns the number of slow calls recorded in the current window.
+     *
+     * @return the number of slow calls
+     */
+    public long getSlowCallCount() {
+        return sum(SLOW_CALLS, period(nanoTime()));
+    }
+
+    /**
+     * Returns the duration from which on a call is slow.
+     *
+     * @return the slow call duration
+     */
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * Returns the slow call rate threshold in percent.
+     *
+     * @return the slow call rate threshold
+     */
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * Returns the size of the sliding time window.
+     *
+     * @return the window size
+     */
+    public Duration getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The increment is the number of failed calls to record, without a duration.
+     * </p>
+     */
+    @Override
+    public boolean incrementAndCheckState(final Integer increment) {
+        final long now = nanoTime();
+        if (increment > 0 && !isOpen()) {
+            final long period = period(now);
+            final int index = bucketIndex(period);
+            add(index + CALLS, period, increment);
+            add(index + FAILURES, period, increment);
+        }
+        return performStateCheck(now);
+    }
+
+    /**
+     * Returns the current time in nanoseconds. Tests override this method.
+     *
+     * @return the current time in nanoseconds
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The open duration starts now.
+     * </p>
+     */
+    @Override
+    public void open() {
+        openedAt = nanoTime();
+        super.open();
+    }
+
+    /**
+     * Checks the state of this circuit breaker and executes a state transition if necessary.
+     *
+     * @param now the current time
+     * @return a flag whether the circuit breaker is now closed
+     */
+    private boolean performStateCheck(final long now) {
+        final State currentState = state.get();
+        if (isOpen(currentState)) {
+            if (now - openedAt < openNanos) {
+                return false;
+            }
+            clearWindow(period(now));
+            changeState(State.CLOSED);
+            return true;
+        }
+        if (isThresholdReached(period(now))) {
+            openedAt = now;
+            changeState(State.OPEN);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether the calls in the window reach one of the rate thresholds.
+     *
+     * @param period the current bucket period
+     * @return a flag whether the circuit breaker should open
+     */
+    private boolean isThresholdReached(final long period) {
+        final long calls = sum(CALLS, period);
+        if (calls < minimumCalls) {
+            return false;
+        }
+        final double limit = calls / 100d;
+        return sum(FAILURES, period) >= failureRateThreshold * limit || sum(SLOW_CALLS, period) >= slowCallRateThreshold * limit;
+    }
+
+    /**
+     * Returns the bucket period containing the given time, first resetting the outdated counters if the last sweep is too long ago.
+     *
+     * @param time the time in nanoseconds
+     * @return the bucket period
+     */
+    private long period(final long time) {
+        final long period = Math.floorDiv(time, bucketNanos);
+        if (Math.abs(period - sweptPeriod) >= SWEEP_PERIODS) {
+            sweep(period);
+        }
+        return period;
+    }
+
+    /**
+     * Returns the index of the first counter of the bucket for a period.
+     *
+     * @param period the bucket period
+     * @return the index of the bucket
+     */
+    private int bucketIndex(final long period) {
+        return (int) Math.floorMod(period, (long) bucketCount) * COUNTERS;
+    }
+
+    /**
+     * Records a call that failed after the given duration and checks the state of this circuit breaker.
+     *
+     * @param duration the duration of the call
+     * @param unit the unit of the duration
+     * @return <strong>true</strong> if the circuit breaker is now closed; <strong>false</strong> otherwise
+     */
+    public boolean recordFailure(final long duration, final TimeUnit unit) {
+        return record(true, unit.toNanos(duration));
+    }
+
+    /**
+     * Records a call and checks the state of this circuit breaker.
+     *
+     * @param failure whether the call failed
+     * @param durationNanos the duration of the call in nanoseconds
+     * @return a flag whether the circuit breaker is now closed
+     */
+    private boolean record(final boolean failure, final long durationNanos) {
+        final long now = nanoTime();
+        if (!isOpen()) {
+            final long period = period(now);
+            final int index = bucketIndex(period);
+            add(index + CALLS, period, 1);
+            if (failure) {
+                add(index + FAILURES, period, 1);
+            }
+            if (durationNanos >= slowCallNanos) {
+                add(index + SLOW_CALLS, period, 1);
+            }
+        }
+        return performStateCheck(now);
+    }
+
+    /**
+     * Records a call that succeeded after the given duration and checks the state of this circuit breaker.
+     *
+     * @param duration the duration of the call
+     * @param unit the unit of the duration
+     * @return <strong>true</strong> if the circuit breaker is now closed; <strong>false</strong> otherwise
+     */
+    public boolean recordSuccess(final long duration, final TimeUnit unit) {
+        return record(false, unit.toNanos(duration));
+    }
+
+    /**
+     * Sums a counter over all buckets in the window of the given period.
+     *
+     * @param offset the offset of the counter within a bucket
+     * @param period the current bucket period
+     * @return the sum
+     */
+    private long sum(final int offset, final long period) {
+        long sum = 0;
+        for (int i = offset; i < buckets.length(); i += COUNTERS) {
+            final long counter = buckets.get(i);
+            final int age = (int) period - (int) (counter >>> 32);
+            if (age >= 0 && age < bucketCount) {
+                sum += counter & COUNT_MASK;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Resets the counters that are outdated in the given bucket period, so that their truncated periods keep comparing correctly. If no call was
+     * recorded for longer than the sweep interval, all counters are outdated.
+     *
+     * @param period the current bucket period
+     */
+    private synchronized void sweep(final long period) {
+        final long swept = sweptPeriod;
+        if (Math.abs(period - swept) < SWEEP_PERIODS) {
+            // another thread swept
+            return;
+        }
+        if (period < swept || period - swept >= SWEEP_PERIODS + bucketCount) {
+            clearWindow(period);
+            return;
+        }
+        final long outdated = period - bucketCount << 32;
+        for (int i = 0; i < buckets.length(); i++) {
+            for (;;) {
+                final long counter = buckets.get(i);
+                if ((int) period - (int) (counter >>> 32) < bucketCount || buckets.compareAndSet(i, counter, outdated)) {
+                    break;
+                }
+            }
+        }
+        sweptPeriod = period;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A rate limiter that provides a number of permits in a given time frame, without locks and without a timer thread.
+ *
+ * <p>
+ * This class has the same semantics as {@link TimedSemaphore}: there is no {@code release()} method, but all permits are restored at the end of
+ * each time period, so only the configured number of {@link #acquire()} or successful {@link #tryAcquire()} calls is possible per period. A limit
+ * less than or equal to {@link #NO_LIMIT} lets all callers pass directly.
+ * </p>
+ * <p>
+ * The differences are in the implementation. {@link TimedSemaphore} synchronizes every method on a single monitor, blocks callers with
+ * {@link Object#wait()}, and needs a {@link java.util.concurrent.ScheduledExecutorService} to end each period. This class instead keeps the index of
+ * the current period together with the number of permits acquired in it, which is updated with compare-and-set operations; an object is only
+ * allocated when a period is rolled over. Periods are aligned to
+ * the construction time of the instance and are rolled over lazily by whichever caller first notices that a period has ended, so no background
+ * thread is needed and periods do not drift. Threads waiting in {@link #acquire()} are parked with {@link LockSupport} until the end of the current
+ * period, which also works well with virtual threads.
+ * </p>
+ * <p>
+ * Since no resources are held, calling {@link #shutdown()} is optional; it only makes subsequent acquire operations fail.
+ * </p>
+ *
+ * @see TimedSemaphore
+ * @since 3.18.0
+ */
+public class TimedRateLimiter {
+
+    /**
+     * The permits acquired in a period.
+     */
+    private static final class Window {
+
+        /** The index of the period. */
+        private final long index;
+
+        /** The number of permits acquired in the period, or {@link #CLOSED} once a later period has started. */
+        private final AtomicInteger count = new AtomicInteger();
+
+        Window(final long index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * Constant for a value representing no limit. If the limit is set to a value less or equal this constant, the {@link TimedRateLimiter} will be
+     * effectively switched off.
+     */
+    public static final int NO_LIMIT = 0;
+
+    /** The count of a period that has been rolled over. */
+    private static final int CLOSED = -1;
+
+    /** Stores the period for this rate limiter. */
+    private final long period;
+
+    /** The time unit for the period. */
+    private final TimeUnit unit;
+
+    /** The length of a period in nanoseconds. */
+    private final long periodNanos;
+
+    /** The source of the current time in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** The time the first period started. */
+    private final long origin;
+
+    /** The current period. */
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window(0));
+
+    /** Stores the number of permits acquired in all completed periods. */
+    private final AtomicLong totalAcquireCount = new AtomicLong();
+
+    /** The number of permits acquired in the last period. */
+    private volatile int lastAcquiresPerPeriod;
+
+    /** The limit. */
+    private volatile int limit;
+
+    /** A flag whether shutdown() was called. */
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a new instance of {@link TimedRateLimiter} and initializes it with the given time period and the limit. The first period starts now.
+     *
+     * @param timePeriod the time period
+     * @param timeUnit the unit for the period
+     * @param limit the limit for the rate limiter
+     * @throws IllegalArgumentException if the period is less or equals 0
+     * @throws NullPointerException if the time unit is {@code null}
+     */
+    public TimedRateLimiter(final long timePeriod, final TimeUnit timeUnit, final int limit) {
+        this(timePeriod, timeUnit, limit, System::nanoTime);
+    }
+
+    /**
+     * Creates a new instance of {@link TimedRateLimiter} that reads the current time from the given clock. This constructor is used by tests.
+     *
+     * @param timePeriod the time period
+     * @param timeUnit the unit for the period
+     * @param limit the limit for the rate limiter
+     * @param nanoClock the source of the current time in nanoseconds
+     */
+    TimedRateLimiter(final long timePeriod, final TimeUnit timeUnit, final int limit, final LongSupplier nanoClock) {
+        Validate.inclusiveBetween(1, Long.MAX_VALUE, timePeriod, "Time period must be greater than 0!");
+        period = timePeriod;
+        unit = Objects.requireNonNull(timeUnit, "timeUnit");
+        periodNanos = Math.max(1, timeUnit.toNanos(timePeriod));
+        this.nanoClock = nanoClock;
+        origin = nanoClock.getAsLong();
+        setLimit(limit);
+    }
+
+    /**
+     * Acquires a permit from this rate limiter. This method will block if the limit for the current period has already been reached, until a permit
+     * becomes available in a following period. If {@link #shutdown()} has already been invoked, or is invoked while this method blocks, calling this
+     * method will cause an exception.
+     *
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IllegalStateException if this rate limiter is already shut down
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = acquirePermit()) > 0) {
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Tries to acquire a permit for the current period.
+     *
+     * @return 0 if a permit was acquired, otherwise the number of nanoseconds until the current period ends
+     * @throws IllegalStateException if this rate limiter is already shut down
+     */
+    private long acquirePermit() {
+        if (shutdown) {
+            throw new IllegalStateException("TimedRateLimiter is shut down!");
+        }
+        for (;;) {
+            final long elapsed = nanoClock.getAsLong() - origin;
+            final Window current = currentWindow(elapsed / periodNanos);
+            final int count = current.count.get();
+            if (count == CLOSED) {
+                // another thread has moved on to a later period
+                continue;
+            }
+            final int currentLimit = limit;
+            if (currentLimit > NO_LIMIT && count >= currentLimit) {
+                return periodNanos - elapsed % periodNanos;
+            }
+            // without a limit, the count saturates instead of overflowing
+            if (count == Integer.MAX_VALUE || current.count.compareAndSet(count, count + 1)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the given period, rolling over the current period if it has ended. If another thread has already moved on to a later period, that
+     * period is returned. The count of a period is closed when it is rolled over, so that permits acquired concurrently are counted for it.
+     *
+     * @param periodIndex the index of the current period
+     * @return the current period
+     */
+    private Window currentWindow(final long periodIndex) {
+        for (;;) {
+            final Window current = window.get();
+            if (current.index >= periodIndex) {
+                return current;
+            }
+            final Window next = new Window(periodIndex);
+            if (window.compareAndSet(current, next)) {
+                final int count = current.count.getAndSet(CLOSED);
+                totalAcquireCount.addAndGet(count);
+                lastAcquiresPerPeriod = periodIndex - current.index == 1 ? count : 0;
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of permits acquired in the current period. This may be useful for testing or debugging purposes.
+     *
+     * @return the current number of acquired permits
+     */
+    public int getAcquireCount() {
+        for (;;) {
+            final int count = currentWindow(periodIndex()).count.get();
+            if (count != CLOSED) {
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of permits that can still be acquired in the current period without blocking. There is no guarantee that a subsequent call to
+     * {@link #acquire()} actually is not blocking because in the meantime other threads may have acquired permits.
+     *
+     * @return the current number of available permits in the current period
+     */
+    public int getAvailablePermits() {
+        return getLimit() - getAcquireCount();
+    }
+
+    /**
+     * Returns the average number of permits acquired per period over all completed periods of this {@link TimedRateLimiter}.
+     *
+     * @return the average number of acquired permits per period
+     */
+    public double getAverageCallsPerPeriod() {
+        final long periodIndex = periodIndex();
+        currentWindow(periodIndex);
+        return periodIndex == 0 ? 0 : (double) totalAcquireCount.get() / (double) periodIndex;
+    }
+
+    /**
+     * Returns the number of permits acquired during the last completed period. If a limit is set, the value returned by this method won't be greater
+     * than this limit.
+     *
+     * @return the number of permits acquired in the last period
+     */
+    public int getLastAcquiresPerPeriod() {
+        currentWindow(periodIndex());
+        return lastAcquiresPerPeriod;
+    }
+
+    /**
+     * Returns the limit enforced by this rate limiter. The limit determines how many permits can be acquired within a period.
+     *
+     * @return the limit
+     */
+    public final int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the time period. This is the time monitored by this rate limiter.
+     *
+     * @return the time period
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Returns the time unit. This is the unit used by {@link #getPeriod()}.
+     *
+     * @return the time unit
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Tests whether the {@link #shutdown()} method has been called on this object. If this method returns <strong>true</strong>, this instance cannot
+     * be used any longer.
+     *
+     * @return a flag whether a shutdown has been performed
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Returns the index of the current period.
+     *
+     * @return the index of the current period
+     */
+    private long periodIndex() {
+        return (nanoClock.getAsLong() - origin) / periodNanos;
+    }
+
+    /**
+     * Sets the limit. This is the number of permits that can be acquired within the time period. Reducing the limit takes effect immediately; if it is
+     * increased, blocked threads acquire the new permits when they wake up at the end of the current period. Setting the limit to a value &lt;=
+     * {@link #NO_LIMIT} disables the limit.
+     *
+     * @param limit the limit
+     */
+    public final void setLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Initializes a shutdown. After that the object cannot be used anymore. Threads blocked in {@link #acquire()} fail when they wake up at the end of
+     * the current period. This method can be invoked an arbitrary number of times.
+     */
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    /**
+     * Tries to acquire a permit from this rate limiter. If the limit of this rate limiter has not yet been reached in the current period, a permit is
+     * acquired, and this method returns <strong>true</strong>. Otherwise, this method returns immediately with the result <strong>false</strong>.
+     *
+     * @return <strong>true</strong> if a permit could be acquired; <strong>false</strong> otherwise
+     * @throws IllegalStateException if this rate limiter is already shut down
+     */
+    public boolean tryAcquire() {
+        return acquirePermit() == 0;
+    }
+
+    /**
+     * Tries to acquire a permit from this rate limiter, waiting up to the given time if the limit of the current period has been reached.
+     *
+     * @param timeout the maximum time to wait for a permit
+     * @param timeUnit the unit of the timeout
+     * @return <strong>true</strong> if a permit could be acquired; <strong>false</strong> if the waiting time elapsed before
+     * @throws InterruptedException if the thread gets interrupted
+     * @throws IllegalStateException if this rate limiter is already shut down
+     */
+    public boolean tryAcquire(final long timeout, final TimeUnit timeUnit) throws InterruptedException {
+        final long deadline = nanoClock.getAsLong() + timeUnit.toNanos(timeout);
+        long waitNanos;
+        while ((waitNanos = acquirePermit()) > 0) {
+            final long remaining = deadline - nanoClock.getAsLong();
+            if (remaining < waitNanos) {
+                return false;
+            }
+            LockSupport.parkNanos(this, waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+}
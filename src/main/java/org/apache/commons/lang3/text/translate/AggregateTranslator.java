@@ -44,6 +44,34 @@ public AggregateTranslator(final CharSequenceTranslator... translators) {
         this.translators = ArrayUtils.clone(translators);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getLookahead() {
+        int lookahead = 0;
+        for (final CharSequenceTranslator translator : translators) {
+            lookahead = Math.max(lookahead, translator.getLookahead());
+        }
+        return lookahead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTranslatable(final int codePoint) {
+        if (isStrictSubclassOf(AggregateTranslator.class)) {
+            return true;
+        }
+        for (final CharSequenceTranslator translator : translators) {
+            if (translator.isTranslatable(codePoint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * The first translator to consume code points from the input is the 'winner'.
      * Execution stops with the number of consumed code points being returned.
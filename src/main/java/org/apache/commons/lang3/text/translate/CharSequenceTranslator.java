@@ -17,9 +17,12 @@
 package org.apache.commons.lang3.text.translate;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -40,6 +43,18 @@ public abstract class CharSequenceTranslator {
 
     static final char[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
 
+    /** The initial size of the buffers used to translate a {@link Reader}. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Copies a buffer in fill mode into a new buffer twice as large.
+     */
+    private static CharBuffer grow(final CharBuffer buffer) {
+        final CharBuffer grown = CharBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        return grown.put(buffer);
+    }
+
     /**
      * Returns an upper case hexadecimal {@link String} for the given
      * character.
@@ -67,6 +82,10 @@ public final String translate(final CharSequence input) {
         if (input == null) {
             return null;
         }
+        if (skip(input, 0, input.length()) == input.length()) {
+            // nothing to translate
+            return input.toString();
+        }
         try {
             final StringWriter writer = new StringWriter(input.length() * 2);
             translate(input, writer);
@@ -77,6 +96,78 @@ public final String translate(final CharSequence input) {
         }
     }
 
+    /**
+     * Gets the number of chars, starting at the index being translated, that {@link #translate(CharSequence, int, Writer)}
+     * needs to see to translate the same way as if it saw the whole input.
+     *
+     * <p>
+     * The streaming methods {@link #translateStream(Reader, Writer)} and {@link #translate(CharBuffer, CharBuffer, boolean)}
+     * only translate an index once this many chars are available after it, or once the input ends, and show
+     * {@link #translate(CharSequence, int, Writer)} no more than this many chars from the index on. The default
+     * implementation returns {@link Integer#MAX_VALUE}, which means the whole input is needed and is buffered before
+     * translating.
+     * </p>
+     *
+     * @return the number of chars needed from the index on, {@link Integer#MAX_VALUE} for the whole input.
+     * @since 3.18.0
+     */
+    protected int getLookahead() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Tests whether this translator is an instance of a subclass of the given class, rather than of the class itself.
+     * An implementation of {@link #isTranslatable(int)} uses this to return {@code true} for subclasses, which may
+     * translate code points that the implementation does not know about.
+     *
+     * @param type the class declaring the {@link #isTranslatable(int)} implementation.
+     * @return whether the class of this translator is a subclass of {@code type}, and not {@code type} itself.
+     * @since 3.18.0
+     */
+    protected final boolean isStrictSubclassOf(final Class<? extends CharSequenceTranslator> type) {
+        return getClass() != type;
+    }
+
+    /**
+     * Tests whether this translator may consume input starting with the given code point.
+     *
+     * <p>
+     * Returns {@code false} only if {@link #translate(CharSequence, int, Writer)} consumes and writes nothing for any
+     * input with this code point at the index, which lets {@link #translate(CharSequence, Writer)} copy runs of such
+     * code points without calling the translator. The default implementation returns {@code true}. The translators of
+     * this package return {@code false} only if {@link #isStrictSubclassOf(Class)} is {@code false} for their own
+     * class, so that a subclass overriding {@link #translate(CharSequence, int, Writer)} is never skipped; such a
+     * subclass may override this method too, to have its runs copied in bulk again.
+     * </p>
+     *
+     * @param codePoint the code point at the index being translated.
+     * @return whether this translator may consume input starting with the code point.
+     * @since 3.18.0
+     */
+    public boolean isTranslatable(final int codePoint) {
+        return true;
+    }
+
+    /**
+     * Gets the end of the run of code points starting at {@code pos} that this translator does not translate.
+     *
+     * @param input the input.
+     * @param pos the start of the run.
+     * @param len the length of the input.
+     * @return the end of the run, {@code pos} if this translator may translate the code point at {@code pos}.
+     */
+    private int skip(final CharSequence input, final int pos, final int len) {
+        int end = pos;
+        while (end < len) {
+            final int codePoint = Character.codePointAt(input, end);
+            if (isTranslatable(codePoint)) {
+                break;
+            }
+            end += Character.charCount(codePoint);
+        }
+        return end;
+    }
+
     /**
      * Translate a set of code points, represented by an int index into a CharSequence,
      * into another set of code points. The number of code points consumed must be returned,
@@ -108,6 +199,19 @@ public final void translate(final CharSequence input, final Writer writer) throw
         int pos = 0;
         final int len = input.length();
         while (pos < len) {
+            // copy what this translator leaves as is in bulk
+            final int end = skip(input, pos, len);
+            if (end > pos) {
+                if (input instanceof String) {
+                    writer.write((String) input, pos, end - pos);
+                } else {
+                    writer.append(input, pos, end);
+                }
+                pos = end;
+                if (pos == len) {
+                    break;
+                }
+            }
             final int consumed = translate(input, pos, writer);
             if (consumed == 0) {
                 // inlined implementation of Character.toChars(Character.codePointAt(input, pos))
@@ -132,6 +236,125 @@ public final void translate(final CharSequence input, final Writer writer) throw
         }
     }
 
+    /**
+     * Translates chars from an input buffer into an output buffer, in the manner of
+     * {@link java.nio.charset.CharsetEncoder#encode(CharBuffer, CharBuffer, boolean)}.
+     *
+     * <p>
+     * Chars are read from the input buffer's position and written at the output buffer's position, both positions are
+     * advanced. Unless {@code endOfInput} is true, up to {@link #getLookahead()} chars may be left in the input buffer
+     * because translating them depends on input that is not available yet; the caller should compact the input buffer,
+     * fill it, and call this method again. The translation of a single index is written completely or not at all.
+     * </p>
+     *
+     * @param input the input buffer.
+     * @param output the output buffer.
+     * @param endOfInput whether the input buffer holds the end of the input.
+     * @return {@link CoderResult#UNDERFLOW} when more input is needed or the input is done, {@link CoderResult#OVERFLOW}
+     *         when the output buffer is full.
+     * @since 3.18.0
+     */
+    public final CoderResult translate(final CharBuffer input, final CharBuffer output, final boolean endOfInput) {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(output, "output");
+        final int base = input.position();
+        final CharBuffer in = input.slice();
+        final int len = in.length();
+        // Only translate an index once the chars it may depend on are available.
+        final int lookahead = getLookahead();
+        final int limit = endOfInput ? len : len - Math.max(lookahead, 2) + 1;
+        final StringWriter step = new StringWriter();
+        int pos = 0;
+        try {
+            while (pos < limit) {
+                final int end = skip(in, pos, limit);
+                if (end > pos) {
+                    int n = Math.min(end - pos, output.remaining());
+                    if (n < end - pos && n > 0 && Character.isHighSurrogate(in.charAt(pos + n - 1)) && Character.isLowSurrogate(in.charAt(pos + n))) {
+                        // don't split a surrogate pair
+                        n--;
+                    }
+                    output.put(in.subSequence(pos, pos + n));
+                    pos += n;
+                    if (pos < end) {
+                        input.position(base + pos);
+                        return CoderResult.OVERFLOW;
+                    }
+                    continue;
+                }
+                step.getBuffer().setLength(0);
+                // never show more than the lookahead, so that the result does not depend on how the input is chunked
+                final int consumed = translate(len - pos > lookahead ? in.subSequence(0, pos + lookahead) : in, pos, step);
+                int next = pos;
+                final CharSequence translated;
+                if (consumed == 0) {
+                    next += Character.charCount(Character.codePointAt(in, pos));
+                    translated = in.subSequence(pos, next);
+                } else {
+                    for (int pt = 0; pt < consumed; pt++) {
+                        next += Character.charCount(Character.codePointAt(in, next));
+                    }
+                    translated = step.getBuffer();
+                }
+                if (translated.length() > output.remaining()) {
+                    input.position(base + pos);
+                    return CoderResult.OVERFLOW;
+                }
+                output.append(translated);
+                pos = next;
+            }
+        } catch (final IOException ioe) {
+            // this should never ever happen while writing to a StringWriter
+            throw new UncheckedIOException(ioe);
+        }
+        input.position(base + pos);
+        return CoderResult.UNDERFLOW;
+    }
+
+    /**
+     * Translates all chars from a Reader onto a Writer, reading and writing in chunks.
+     *
+     * <p>
+     * Unlike {@link #translate(CharSequence, Writer)}, the input is never held in memory as a whole, except for
+     * translators whose {@link #getLookahead()} requires it. The Reader and the Writer are not closed.
+     * </p>
+     *
+     * @param reader Reader to translate the text from.
+     * @param writer Writer to translate the text to.
+     * @throws IOException if the Reader or the Writer produces an IOException.
+     * @since 3.18.0
+     */
+    public final void translateStream(final Reader reader, final Writer writer) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(writer, "writer");
+        CharBuffer in = CharBuffer.allocate(BUFFER_SIZE);
+        CharBuffer out = CharBuffer.allocate(BUFFER_SIZE);
+        boolean endOfInput = false;
+        CoderResult result = CoderResult.UNDERFLOW;
+        while (true) {
+            if (result.isUnderflow() && !endOfInput) {
+                if (!in.hasRemaining()) {
+                    // the translator needs more than a buffer of lookahead
+                    in = grow(in);
+                }
+                endOfInput = reader.read(in) < 0;
+            }
+            in.flip();
+            result = translate(in, out, endOfInput);
+            in.compact();
+            if (out.position() > 0) {
+                writer.write(out.array(), out.arrayOffset(), out.position());
+                out.clear();
+            } else if (result.isOverflow()) {
+                // the translation of a single index does not fit
+                out = grow(out);
+            }
+            if (endOfInput && result.isUnderflow()) {
+                return;
+            }
+        }
+    }
+
     /**
      * Helper method to create a merger of this translator with another set of
      * translators. Useful in customizing the standard functionality.
@@ -38,6 +38,15 @@ public CodePointTranslator() {
         // empty
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getLookahead() {
+        // a surrogate pair at most
+        return 2;
+    }
+
     /**
      * Implements translate to map onto the abstract translate(int, Writer) method.
      * {@inheritDoc}
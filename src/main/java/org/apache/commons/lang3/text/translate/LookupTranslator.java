@@ -18,12 +18,18 @@
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.ArrayUtils;
 
 /**
  * Translates a value using a lookup table.
  *
+ * <p>
+ * The lookup table is held in a character trie, so the longest key matching the input is found by walking the input
+ * once, without creating intermediary Strings.
+ * </p>
+ *
  * @since 3.0
  * @deprecated As of 3.6, use Apache Commons Text
  * <a href="https://commons.apache.org/proper/commons-text/javadocs/api-release/org/apache/commons/text/translate/LookupTranslator.html">
@@ -32,40 +38,103 @@
 @Deprecated
 public class LookupTranslator extends CharSequenceTranslator {
 
-    private final HashMap<String, String> lookupMap;
-    private final HashSet<Character> prefixSet;
-    private final int shortest;
+    /**
+     * A trie node, children are kept sorted by character.
+     */
+    private static final class Node {
+
+        private static final Node[] EMPTY = {};
+
+        private char[] chars = ArrayUtils.EMPTY_CHAR_ARRAY;
+        private Node[] children = EMPTY;
+        private String value;
+
+        Node child(final char ch) {
+            final int i = Arrays.binarySearch(chars, ch);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node getOrAddChild(final char ch) {
+            int i = Arrays.binarySearch(chars, ch);
+            if (i >= 0) {
+                return children[i];
+            }
+            i = -i - 1;
+            final Node child = new Node();
+            chars = ArrayUtils.insert(i, chars, ch);
+            children = ArrayUtils.insert(i, children, child);
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+
+    /** Bit set of the first characters of the keys. */
+    private final long[] prefixSet;
+
+    /** The length of the longest key. */
     private final int longest;
 
     /**
      * Define the lookup table to be used in translation
      *
-     * Note that, as of Lang 3.1, the key to the lookup table is converted to a
-     * java.lang.String. This is because we need the key to support hashCode and
-     * equals(Object), allowing it to be the key for a HashMap. See LANG-882.
+     * Note that keys of the lookup table are matched by their characters and
+     * not with equals(Object), so any CharSequence, like a StringBuffer, may
+     * be used as a key.
      *
      * @param lookup CharSequence[][] table of size [*][2]
      */
     public LookupTranslator(final CharSequence[]... lookup) {
-        lookupMap = new HashMap<>();
-        prefixSet = new HashSet<>();
-        int tmpShortest = Integer.MAX_VALUE;
+        char maxPrefix = 0;
         int tmpLongest = 0;
         if (lookup != null) {
             for (final CharSequence[] seq : lookup) {
-                this.lookupMap.put(seq[0].toString(), seq[1].toString());
-                this.prefixSet.add(seq[0].charAt(0));
-                final int sz = seq[0].length();
-                if (sz < tmpShortest) {
-                    tmpShortest = sz;
+                final CharSequence key = seq[0];
+                final char prefix = key.charAt(0);
+                if (prefix > maxPrefix) {
+                    maxPrefix = prefix;
                 }
+                Node node = root;
+                final int sz = key.length();
                 if (sz > tmpLongest) {
                     tmpLongest = sz;
                 }
+                for (int i = 0; i < sz; i++) {
+                    node = node.getOrAddChild(key.charAt(i));
+                }
+                // Like a map, a later entry for the same key wins.
+                node.value = seq[1].toString();
             }
         }
-        this.shortest = tmpShortest;
-        this.longest = tmpLongest;
+        longest = tmpLongest;
+        prefixSet = new long[maxPrefix / Long.SIZE + 1];
+        for (final char prefix : root.chars) {
+            prefixSet[prefix / Long.SIZE] |= 1L << prefix;
+        }
+    }
+
+    private boolean isPrefix(final char ch) {
+        final int word = ch / Long.SIZE;
+        return word < prefixSet.length && (prefixSet[word] & 1L << ch) != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getLookahead() {
+        return longest;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTranslatable(final int codePoint) {
+        if (isStrictSubclassOf(LookupTranslator.class)) {
+            return true;
+        }
+        return isPrefix(Character.isBmpCodePoint(codePoint) ? (char) codePoint : Character.highSurrogate(codePoint));
     }
 
     /**
@@ -74,22 +143,29 @@ public LookupTranslator(final CharSequence[]... lookup) {
     @Override
     public int translate(final CharSequence input, final int index, final Writer out) throws IOException {
         // check if translation exists for the input at position index
-        if (prefixSet.contains(input.charAt(index))) {
-            int max = longest;
-            if (index + longest > input.length()) {
-                max = input.length() - index;
+        final char first = input.charAt(index);
+        if (!isPrefix(first)) {
+            return 0;
+        }
+        // implement greedy algorithm by keeping the longest match
+        final int length = input.length();
+        Node node = root.child(first);
+        String result = null;
+        int consumed = 0;
+        int i = index + 1;
+        while (true) {
+            if (node.value != null) {
+                result = node.value;
+                consumed = i - index;
             }
-            // implement greedy algorithm by trying maximum match first
-            for (int i = max; i >= shortest; i--) {
-                final CharSequence subSeq = input.subSequence(index, index + i);
-                final String result = lookupMap.get(subSeq.toString());
-
-                if (result != null) {
-                    out.write(result);
-                    return i;
-                }
+            if (i >= length || (node = node.child(input.charAt(i))) == null) {
+                break;
             }
+            i++;
+        }
+        if (result != null) {
+            out.write(result);
         }
-        return 0;
+        return consumed;
     }
 }
@@ -99,6 +99,20 @@ private NumericEntityEscaper(final int below, final int above, final boolean bet
         this.between = between;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTranslatable(final int codePoint) {
+        if (isStrictSubclassOf(NumericEntityEscaper.class)) {
+            return true;
+        }
+        if (between) {
+            return codePoint >= below && codePoint <= above;
+        }
+        return codePoint < below || codePoint > above;
+    }
+
     /**
      * {@inheritDoc}
      */
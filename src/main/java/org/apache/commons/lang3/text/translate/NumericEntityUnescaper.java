@@ -55,6 +55,9 @@ public enum OPTION {
         errorIfNoSemiColon
     }
 
+    /** The longest entity translated when streaming. */
+    private static final int MAX_ENTITY_LENGTH = 64;
+
     // TODO?: Create an OptionsSet class to hide some of the conditional logic below
     private final EnumSet<OPTION> options;
 
@@ -92,6 +95,30 @@ public boolean isSet(final OPTION option) {
         return options != null && options.contains(option);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Entities are unbounded in theory as any number of leading zeros may be used; when streaming, entities longer than
+     * this are handled as if their digits ended at that length.
+     * </p>
+     */
+    @Override
+    protected int getLookahead() {
+        return MAX_ENTITY_LENGTH;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTranslatable(final int codePoint) {
+        if (isStrictSubclassOf(NumericEntityUnescaper.class)) {
+            return true;
+        }
+        return codePoint == '&';
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -42,6 +42,15 @@ public OctalUnescaper() {
         // empty
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getLookahead() {
+        // a backslash and up to 3 digits
+        return 4;
+    }
+
     /**
      * Checks if the given char is an octal digit. Octal digits are the character representations of the digits 0 to 7.
      * @param ch the char to check
@@ -51,6 +60,17 @@ private boolean isOctalDigit(final char ch) {
         return ch >= '0' && ch <= '7';
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTranslatable(final int codePoint) {
+        if (isStrictSubclassOf(OctalUnescaper.class)) {
+            return true;
+        }
+        return codePoint == '\\';
+    }
+
     /**
      * Checks if the given char is the character representation of one of the digit from 0 to 3.
      * @param ch the char to check
@@ -112,6 +112,21 @@ protected String toUtf16Escape(final int codePoint) {
         return "\\u" + hex(codePoint);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTranslatable(final int codePoint) {
+        // JavaUnicodeEscaper only changes how supplementary code points are written, not which are translated
+        if (isStrictSubclassOf(UnicodeEscaper.class) && isStrictSubclassOf(JavaUnicodeEscaper.class)) {
+            return true;
+        }
+        if (between) {
+            return codePoint >= below && codePoint <= above;
+        }
+        return codePoint < below || codePoint > above;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -32,6 +32,9 @@
 @Deprecated
 public class UnicodeUnescaper extends CharSequenceTranslator {
 
+    /** The longest escape translated when streaming. */
+    private static final int MAX_ESCAPE_LENGTH = 64;
+
     /**
      * Constructs a new instance.
      */
@@ -39,6 +42,30 @@ public UnicodeUnescaper() {
         // empty
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Escapes are unbounded in theory as any number of {@code u} may follow the backslash; when streaming, escapes
+     * longer than this are reported as having less than 4 hex digits.
+     * </p>
+     */
+    @Override
+    protected int getLookahead() {
+        return MAX_ESCAPE_LENGTH;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTranslatable(final int codePoint) {
+        if (isStrictSubclassOf(UnicodeUnescaper.class)) {
+            return true;
+        }
+        return codePoint == '\\';
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -36,6 +36,17 @@ public UnicodeUnpairedSurrogateRemover() {
         // empty
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTranslatable(final int codePoint) {
+        if (isStrictSubclassOf(UnicodeUnpairedSurrogateRemover.class)) {
+            return true;
+        }
+        return codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE;
+    }
+
     /**
      * Implements translate that throws out unpaired surrogates.
      * {@inheritDoc}
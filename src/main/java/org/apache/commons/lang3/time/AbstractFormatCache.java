@@ -23,14 +23,19 @@
 import java.util.Locale;
 import java.util.Objects;
 import java.util.TimeZone;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.LocaleUtils;
+import org.apache.commons.lang3.SystemProperties;
+import org.apache.commons.lang3.Validate;
 
 /**
  * FormatCache is a cache and factory for {@link Format}s.
  *
+ * <p>
+ * The cache holds at most {@link #getMaximumSize()} instances and evicts the least recently used ones beyond that. The
+ * default maximum size is read from the system property {@value #MAXIMUM_SIZE_PROPERTY}.
+ * </p>
+ *
  * @param <F> The Format type.
  *
  * @since 3.0
@@ -90,7 +95,35 @@ public int hashCode() {
      */
     static final int NONE = -1;
 
-    private static final ConcurrentMap<ArrayKey, String> cDateTimeInstanceCache = new ConcurrentHashMap<>(7);
+    /**
+     * The system property holding the default maximum size of the caches.
+     */
+    static final String MAXIMUM_SIZE_PROPERTY = "org.apache.commons.lang3.time.FastDateFormat.cacheSize";
+
+    /**
+     * The default maximum size of the caches, when the system property is not set.
+     */
+    static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    /**
+     * The patterns for date and time styles, shared by all caches. Its size is not changed by {@link #setMaximumSize(int)} and it is not
+     * covered by {@link #getStatistics()}.
+     */
+    private static final BoundedCache<ArrayKey, String> cDateTimeInstanceCache = new BoundedCache<>(getDefaultMaximumSize());
+
+    /**
+     * Gets the default maximum size of the caches from the system property {@value #MAXIMUM_SIZE_PROPERTY}.
+     *
+     * @return the default maximum size, {@value #DEFAULT_MAXIMUM_SIZE} if the property is not set or invalid.
+     */
+    static int getDefaultMaximumSize() {
+        try {
+            final int size = SystemProperties.getInt(MAXIMUM_SIZE_PROPERTY, () -> DEFAULT_MAXIMUM_SIZE);
+            return size >= 0 ? size : DEFAULT_MAXIMUM_SIZE;
+        } catch (final NumberFormatException e) {
+            return DEFAULT_MAXIMUM_SIZE;
+        }
+    }
 
     /**
      * Gets a date/time format for the specified styles and locale.
@@ -105,7 +138,7 @@ public int hashCode() {
     static String getPatternForStyle(final Integer dateStyle, final Integer timeStyle, final Locale locale) {
         final Locale safeLocale = LocaleUtils.toLocale(locale);
         final ArrayKey key = new ArrayKey(dateStyle, timeStyle, safeLocale);
-        return cDateTimeInstanceCache.computeIfAbsent(key, k -> {
+        return cDateTimeInstanceCache.get(key, k -> {
             try {
                 final DateFormat formatter;
                 if (dateStyle == null) {
@@ -122,7 +155,7 @@ static String getPatternForStyle(final Integer dateStyle, final Integer timeStyl
         });
     }
 
-    private final ConcurrentMap<ArrayKey, F> cInstanceCache = new ConcurrentHashMap<>(7);
+    private final BoundedCache<ArrayKey, F> cInstanceCache = new BoundedCache<>(getDefaultMaximumSize());
 
     /**
      * Create a format instance using the specified pattern, time zone
@@ -219,7 +252,26 @@ public F getInstance(final String pattern, final TimeZone timeZone, final Locale
         final TimeZone actualTimeZone = TimeZones.toTimeZone(timeZone);
         final Locale actualLocale = LocaleUtils.toLocale(locale);
         final ArrayKey key = new ArrayKey(pattern, actualTimeZone, actualLocale);
-        return cInstanceCache.computeIfAbsent(key, k -> createInstance(pattern, actualTimeZone, actualLocale));
+        return cInstanceCache.get(key, k -> createInstance(pattern, actualTimeZone, actualLocale));
+    }
+
+    /**
+     * Gets the maximum number of instances this cache holds.
+     *
+     * @return the maximum size.
+     */
+    int getMaximumSize() {
+        return cInstanceCache.getMaximumSize();
+    }
+
+    /**
+     * Gets a snapshot of the statistics of this cache.
+     *
+     * @return the statistics.
+     */
+    FastDateFormat.CacheStatistics getStatistics() {
+        final BoundedCache<ArrayKey, F> map = cInstanceCache;
+        return new FastDateFormat.CacheStatistics(map.getHitCount(), map.getMissCount(), map.getEvictionCount(), map.size(), map.getMaximumSize());
     }
 
     /**
@@ -239,4 +291,15 @@ F getTimeInstance(final int timeStyle, final TimeZone timeZone, final Locale loc
         return getDateTimeInstance(null, Integer.valueOf(timeStyle), timeZone, locale);
     }
 
+    /**
+     * Sets the maximum number of instances this cache holds, evicting the least recently used ones if needed.
+     *
+     * @param maximumSize the maximum size, zero to not cache.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    void setMaximumSize(final int maximumSize) {
+        Validate.isTrue(maximumSize >= 0, "Negative cache size: %d", maximumSize);
+        cInstanceCache.setMaximumSize(maximumSize);
+    }
+
 }
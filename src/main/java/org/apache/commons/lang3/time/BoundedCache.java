@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.mutable.MutableBoolean;
+
+/**
+ * A concurrent map that evicts its least recently used entries when it grows beyond a maximum size.
+ *
+ * <p>
+ * Hits do not lock: they only stamp the entry with the clock of the map, which ticks on each miss. The least recently
+ * used entries are removed in a sweep once the map is too large.
+ * </p>
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+final class BoundedCache<K, V> {
+
+    /**
+     * A value and the time it was last used, on the clock of the map.
+     *
+     * @param <V> The value type.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private volatile long lastAccess;
+
+        Entry(final V value, final long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final ConcurrentMap<K, Entry<V>> map = new ConcurrentHashMap<>(7);
+
+    /** Ticks on each miss, so that entries used between two misses are equally recent. */
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maximumSize;
+
+    BoundedCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Evicts the least recently used entries if the map is too large, down to three quarters of the maximum size so
+     * that evictions are rare. Does nothing if another thread is evicting.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            final int max = maximumSize;
+            if (map.size() <= max) {
+                return;
+            }
+            final long[] lastAccesses = map.values().stream().mapToLong(e -> e.lastAccess).sorted().toArray();
+            final int excess = lastAccesses.length - (max - max / 4);
+            if (excess <= 0) {
+                return;
+            }
+            // entries used since the same miss share a stamp, so remove only as many of those at the threshold as needed
+            final long threshold = lastAccesses[excess - 1];
+            int ties = 0;
+            while (ties < excess && lastAccesses[excess - 1 - ties] == threshold) {
+                ties++;
+            }
+            for (final Map.Entry<K, Entry<V>> e : map.entrySet()) {
+                final long lastAccess = e.getValue().lastAccess;
+                if ((lastAccess < threshold || lastAccess == threshold && ties > 0) && map.remove(e.getKey(), e.getValue())) {
+                    evictions.increment();
+                    if (lastAccess == threshold) {
+                        ties--;
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the value for a key, creating it on a miss.
+     *
+     * @param key the key, stored on a miss.
+     * @param factory creates the value on a miss.
+     * @return the value.
+     */
+    V get(final K key, final Function<? super K, ? extends V> factory) {
+        final V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        final MutableBoolean created = new MutableBoolean();
+        final Entry<V> computed = map.computeIfAbsent(key, k -> {
+            created.setTrue();
+            return new Entry<>(factory.apply(k), clock.incrementAndGet());
+        });
+        if (created.isTrue()) {
+            misses.increment();
+            if (map.size() > maximumSize) {
+                evict();
+            }
+        } else {
+            hits.increment();
+        }
+        return computed.value;
+    }
+
+    long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the value for a key, without creating it on a miss.
+     *
+     * @param key the key.
+     * @return the value, or {@code null} on a miss.
+     */
+    V getIfPresent(final K key) {
+        final Entry<V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        hits.increment();
+        final long now = clock.get();
+        if (entry.lastAccess != now) {
+            entry.lastAccess = now;
+        }
+        return entry.value;
+    }
+
+    int getMaximumSize() {
+        return maximumSize;
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    void setMaximumSize(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        evict();
+    }
+
+    int size() {
+        return map.size();
+    }
+}
@@ -17,9 +17,12 @@
 package org.apache.commons.lang3.time;
 
 import java.text.ParseException;
-import java.text.ParsePosition;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.NoSuchElementException;
@@ -27,8 +30,6 @@
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang3.LocaleUtils;
-
 /**
  * A suite of utilities surrounding the use of the
  * {@link java.util.Calendar} and {@link java.util.Date} object.
@@ -109,6 +110,93 @@ public void remove() {
         }
     }
 
+    /**
+     * The instants between two changes of the offset of a time zone.
+     */
+    private static final class OffsetWindow {
+
+        /**
+         * Gets the window of the instants with the same offset as an instant in a time zone.
+         *
+         * @param timeZone  the time zone, with the rules of its ID
+         * @param millis  the instant
+         * @return the window, or {@code null} if the rules of java.time do not agree with the time zone
+         */
+        static OffsetWindow of(final TimeZone timeZone, final long millis) {
+            final ZoneRules rules;
+            try {
+                rules = timeZone.toZoneId().getRules();
+            } catch (final RuntimeException e) {
+                return null;
+            }
+            final Instant instant = Instant.ofEpochMilli(millis);
+            final ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+            final ZoneOffsetTransition next = rules.nextTransition(instant);
+            final OffsetWindow window = new OffsetWindow(previous == null ? Long.MIN_VALUE : previous.getInstant().toEpochMilli(),
+                next == null ? Long.MAX_VALUE : next.getInstant().toEpochMilli(), timeZone.getOffset(millis));
+            // the rules of java.time and of the time zone must agree
+            if (!window.contains(millis) || rules.getOffset(instant).getTotalSeconds() * MILLIS_PER_SECOND != window.offset
+                || window.start != Long.MIN_VALUE && timeZone.getOffset(window.start) != window.offset
+                || window.end != Long.MAX_VALUE && timeZone.getOffset(window.end - 1) != window.offset) {
+                return null;
+            }
+            return window;
+        }
+
+        /** The first instant, inclusive. */
+        final long start;
+
+        /** The last instant, exclusive. */
+        final long end;
+
+        /** The offset, in milliseconds. */
+        final int offset;
+
+        private OffsetWindow(final long start, final long end, final int offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+
+        /**
+         * Tests whether an instant is in this window.
+         *
+         * @param millis  the instant
+         * @return whether the instant is in this window
+         */
+        boolean contains(final long millis) {
+            return start <= millis && millis < end;
+        }
+
+        /**
+         * Tests whether a local time is in this window, and more than a day from its ends, so that no other offset can
+         * give the same local time.
+         *
+         * @param local  the local time, in milliseconds since the epoch
+         * @return whether the local time only has the offset of this window
+         */
+        boolean containsLocal(final long local) {
+            final long millis = local - offset;
+            return (start == Long.MIN_VALUE || millis - start >= MILLIS_PER_DAY) && (end == Long.MAX_VALUE || end - millis > MILLIS_PER_DAY);
+        }
+    }
+
+    /**
+     * The last offset windows used for a time zone ID.
+     */
+    private static final class ZoneWindows {
+
+        /** The time zone of the ID, whose rules the windows follow. */
+        final TimeZone timeZone;
+
+        /** The last windows used, most recent first. */
+        volatile OffsetWindow[] windows = {};
+
+        ZoneWindows(final TimeZone timeZone) {
+            this.timeZone = timeZone;
+        }
+    }
+
     /**
      * Calendar modification types.
      */
@@ -173,6 +261,32 @@ private enum ModifyType {
             {Calendar.MONTH, SEMI_MONTH},
             {Calendar.YEAR},
             {Calendar.ERA}};
+
+    /**
+     * The maximum number of time zone IDs of which {@link #OFFSET_WINDOWS} keeps windows.
+     */
+    private static final int MAX_OFFSET_WINDOW_ZONES = 256;
+
+    /**
+     * The maximum number of windows that {@link #OFFSET_WINDOWS} keeps for a time zone.
+     */
+    private static final int MAX_OFFSET_WINDOWS = 16;
+
+    /**
+     * The last windows used for each time zone ID, evicting the least recently used IDs.
+     */
+    private static final BoundedCache<String, ZoneWindows> OFFSET_WINDOWS = new BoundedCache<>(MAX_OFFSET_WINDOW_ZONES);
+
+    /**
+     * The first epoch day of the range computed without a Calendar, 1 Jan 1583, after the Gregorian cutover.
+     */
+    private static final long MIN_EPOCH_DAY = -141_349;
+
+    /**
+     * The epoch day after the range computed without a Calendar, 1 Jan 1000000.
+     */
+    private static final long MAX_EPOCH_DAY = 364_522_972;
+
     /**
      * A week range, starting on Sunday.
      */
@@ -394,6 +508,31 @@ public static Date ceiling(final Object date, final int field) {
         throw new ClassCastException("Could not find ceiling of for type: " + date.getClass());
     }
 
+    /**
+     * Gets a date ceiling, leaving the field specified as the most
+     * significant field.
+     *
+     * <p>For example, if you had the date-time of 28 Mar 2002
+     * 13:45:01.231, if you passed with HOUR, it would return 28 Mar
+     * 2002 14:00:00.000.  If this was passed with MONTH, it would
+     * return 1 Apr 2002 0:00:00.000.</p>
+     *
+     * <p>This gives the same result as the method for a {@link GregorianCalendar} in the given time zone. It computes
+     * with plain arithmetic, without allocating a Calendar or a Date, unless the date is before 1583, a day or less from a
+     * change of the offset of the time zone, or the time zone has custom rules.</p>
+     *
+     * @param millis  the date to work with, in milliseconds since the epoch
+     * @param field  the field from {@link Calendar} or {@code SEMI_MONTH}
+     * @param timeZone  the time zone of the fields, not null
+     * @return the different ceil date, in milliseconds since the epoch
+     * @throws NullPointerException if the time zone is {@code null}
+     * @throws ArithmeticException if the year is over 280 million
+     * @since 3.18.0
+     */
+    public static long ceiling(final long millis, final int field, final TimeZone timeZone) {
+        return modify(millis, field, timeZone, ModifyType.CEILING);
+    }
+
     /**
      * Gets a Calendar fragment for any unit.
      *
@@ -1092,6 +1231,242 @@ public static Iterator<?> iterator(final Object calendar, final int rangeStyle)
         throw new ClassCastException("Could not iterate based on " + calendar);
     }
 
+    /**
+     * Gets the window of the instants with the same offset as an instant in a time zone, reusing the last windows of
+     * its ID when the time zone still has the rules of its ID.
+     *
+     * @param timeZone  the time zone
+     * @param millis  the instant
+     * @return the window, or {@code null} if the time zone has custom rules
+     */
+    private static OffsetWindow getOffsetWindow(final TimeZone timeZone, final long millis) {
+        final ZoneWindows zoneWindows = OFFSET_WINDOWS.get(timeZone.getID(), id -> new ZoneWindows(TimeZone.getTimeZone(id)));
+        // the time zone may have been modified, or have custom rules
+        if (!zoneWindows.timeZone.hasSameRules(timeZone)) {
+            return null;
+        }
+        final OffsetWindow[] windows = zoneWindows.windows;
+        for (final OffsetWindow window : windows) {
+            if (window.contains(millis)) {
+                return window;
+            }
+        }
+        final OffsetWindow window = OffsetWindow.of(zoneWindows.timeZone, millis);
+        if (window != null) {
+            final OffsetWindow[] updated = new OffsetWindow[Math.min(windows.length + 1, MAX_OFFSET_WINDOWS)];
+            updated[0] = window;
+            System.arraycopy(windows, 0, updated, 1, updated.length - 1);
+            zoneWindows.windows = updated;
+        }
+        return window;
+    }
+
+    /**
+     * Converts the local times computed by {@link #modifyLocal(TimeZone, OffsetWindow, long, int, ModifyType)} to
+     * milliseconds, when each has only one offset. The local times computed in between are at least the truncated time,
+     * and at most the result or the original time, except for the 1st of the month when rounding up the second half of
+     * a month to {@code SEMI_MONTH}, which is checked separately.
+     *
+     * @param timeZone  the time zone
+     * @param window  the offset window of the original time
+     * @param truncated  the truncated local time
+     * @param result  the result local time
+     * @return the result, in milliseconds since the epoch, or {@code Long.MIN_VALUE} if it needs a Calendar
+     */
+    private static long toMillis(final TimeZone timeZone, final OffsetWindow window, final long truncated, final long result) {
+        return toMillis(timeZone, window, truncated) == Long.MIN_VALUE ? Long.MIN_VALUE : toMillis(timeZone, window, result);
+    }
+
+    /**
+     * Converts a local time to milliseconds, when it has only one offset.
+     *
+     * @param timeZone  the time zone
+     * @param window  the offset window of a time close to the local time
+     * @param local  the local time
+     * @return the local time, in milliseconds since the epoch, or {@code Long.MIN_VALUE} if it needs a Calendar
+     */
+    private static long toMillis(final TimeZone timeZone, final OffsetWindow window, final long local) {
+        if (window.containsLocal(local)) {
+            return local - window.offset;
+        }
+        final OffsetWindow other = getOffsetWindow(timeZone, local - window.offset);
+        return other != null && other.containsLocal(local) ? local - other.offset : Long.MIN_VALUE;
+    }
+
+    /**
+     * Gets the length of a month of the Gregorian calendar.
+     *
+     * @param year  the year
+     * @param month  the month, from 1 to 12
+     * @return the number of days of the month
+     */
+    private static int lengthOfMonth(final long year, final int month) {
+        if (month == 2) {
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Gets the day from the epoch of a date of the proleptic Gregorian calendar.
+     *
+     * @param year  the year
+     * @param month  the month, from 1 to 12
+     * @param dayOfMonth  the day of the month, from 1
+     * @return the number of days since 1 Jan 1970
+     */
+    private static long toEpochDay(final long year, final int month, final int dayOfMonth) {
+        // the years start in March, so that the leap day is the last day of the year
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(y, 400);
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        return era * 146_097 + yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear - 719_468;
+    }
+
+    /**
+     * Internal calculation method, with arithmetic on the local time when the offset of the time zone does not change
+     * around the dates computed, and with a Calendar otherwise.
+     *
+     * @param millis  the date, in milliseconds since the epoch
+     * @param field  the field constant
+     * @param timeZone  the time zone, not null
+     * @param modType  type to truncate, round or ceiling
+     * @return the modified date, in milliseconds since the epoch
+     * @throws ArithmeticException if the year is over 280 million
+     */
+    private static long modify(final long millis, final int field, final TimeZone timeZone, final ModifyType modType) {
+        Objects.requireNonNull(timeZone, "timeZone");
+        if (field == Calendar.MILLISECOND || field == Calendar.SECOND || field == Calendar.MINUTE || field == Calendar.HOUR_OF_DAY
+            || field == Calendar.HOUR || field == Calendar.AM_PM || field == Calendar.DATE || field == Calendar.MONTH || field == SEMI_MONTH
+            || field == Calendar.YEAR) {
+            if (millis >= (MIN_EPOCH_DAY + 1) * MILLIS_PER_DAY && millis < (MAX_EPOCH_DAY - 1) * MILLIS_PER_DAY) {
+                final OffsetWindow window = getOffsetWindow(timeZone, millis);
+                if (window != null && window.containsLocal(millis + window.offset)) {
+                    final long result = modifyLocal(timeZone, window, millis + window.offset, field, modType);
+                    if (result != Long.MIN_VALUE) {
+                        return result;
+                    }
+                }
+            }
+        }
+        final Calendar calendar = new GregorianCalendar(timeZone);
+        calendar.setTimeInMillis(millis);
+        return modify(calendar, field, modType).getTimeInMillis();
+    }
+
+    /**
+     * Computes {@link #modify(Calendar, int, ModifyType)} on the local time, following the same steps.
+     *
+     * @param timeZone  the time zone
+     * @param window  the offset window of the local time
+     * @param local  the local time, in milliseconds since the epoch
+     * @param field  the field constant, from MILLISECOND to YEAR
+     * @param modType  type to truncate, round or ceiling
+     * @return the modified time, in milliseconds since the epoch, or {@code Long.MIN_VALUE} if it needs a Calendar
+     */
+    private static long modifyLocal(final TimeZone timeZone, final OffsetWindow window, final long local, final int field,
+            final ModifyType modType) {
+        long time = local;
+        if (field == Calendar.MILLISECOND) {
+            return time - window.offset;
+        }
+        final boolean truncate = modType == ModifyType.TRUNCATE;
+        final boolean ceiling = modType == ModifyType.CEILING;
+
+        // Fix for LANG-59, see modify(Calendar, int, ModifyType)
+        final int millisecs = (int) Math.floorMod(time, MILLIS_PER_SECOND);
+        final int seconds = (int) (Math.floorMod(time, MILLIS_PER_MINUTE) / MILLIS_PER_SECOND);
+        final int minutes = (int) (Math.floorMod(time, MILLIS_PER_HOUR) / MILLIS_PER_MINUTE);
+        if (truncate || millisecs < 500) {
+            time -= millisecs;
+        }
+        if (field != Calendar.SECOND) {
+            if (truncate || seconds < 30) {
+                time -= seconds * MILLIS_PER_SECOND;
+            }
+            if (field != Calendar.MINUTE && (truncate || minutes < 30)) {
+                time -= minutes * MILLIS_PER_MINUTE;
+            }
+        }
+
+        // the time fields
+        final long millisOfDay = Math.floorMod(time, MILLIS_PER_DAY);
+        time -= millisOfDay % MILLIS_PER_SECOND;
+        boolean roundUp = millisOfDay % MILLIS_PER_SECOND > 499;
+        if (field == Calendar.SECOND) {
+            return toMillis(timeZone, window, time, ceiling || roundUp && !truncate ? time + MILLIS_PER_SECOND : time);
+        }
+        final long second = millisOfDay / MILLIS_PER_SECOND % 60;
+        time -= second * MILLIS_PER_SECOND;
+        roundUp = second > 29;
+        if (field == Calendar.MINUTE) {
+            return toMillis(timeZone, window, time, ceiling || roundUp && !truncate ? time + MILLIS_PER_MINUTE : time);
+        }
+        final long minute = millisOfDay / MILLIS_PER_MINUTE % 60;
+        time -= minute * MILLIS_PER_MINUTE;
+        roundUp = minute > 29;
+        if (field == Calendar.HOUR_OF_DAY || field == Calendar.HOUR) {
+            return toMillis(timeZone, window, time, ceiling || roundUp && !truncate ? time + MILLIS_PER_HOUR : time);
+        }
+        final long hour = millisOfDay / MILLIS_PER_HOUR;
+        final long hourOffset;
+        if (field == Calendar.AM_PM) {
+            hourOffset = hour >= 12 ? hour - 12 : hour;
+            roundUp = hourOffset >= 6;
+        } else {
+            hourOffset = hour;
+            roundUp = hour > 11;
+        }
+        time -= hourOffset * MILLIS_PER_HOUR;
+        if (field == Calendar.AM_PM) {
+            // from midnight to noon, or from noon to the next midnight
+            return toMillis(timeZone, window, time, ceiling || roundUp && !truncate ? time + 12 * MILLIS_PER_HOUR : time);
+        }
+        if (field == Calendar.DATE) {
+            return toMillis(timeZone, window, time, ceiling || roundUp && !truncate ? time + MILLIS_PER_DAY : time);
+        }
+
+        // the date fields, from the civil date of the day
+        final long z = Math.floorDiv(time, MILLIS_PER_DAY) + 719_468;
+        final long era = Math.floorDiv(z, 146_097);
+        final long dayOfEra = z - era * 146_097;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        final int dayOfMonth = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        final int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        final int dayOffset;
+        if (field == SEMI_MONTH) {
+            dayOffset = dayOfMonth - 1 >= 15 ? dayOfMonth - 16 : dayOfMonth - 1;
+            roundUp = dayOffset > 7;
+        } else {
+            dayOffset = dayOfMonth - 1;
+            roundUp = dayOffset > (lengthOfMonth(year, month) - 1) / 2;
+        }
+        time -= dayOffset * MILLIS_PER_DAY;
+        if (field == SEMI_MONTH && dayOfMonth - dayOffset == 1) {
+            // from the 1st to the 16th
+            return toMillis(timeZone, window, time, ceiling || roundUp && !truncate ? time + 15 * MILLIS_PER_DAY : time);
+        }
+        if (field == Calendar.MONTH || field == SEMI_MONTH) {
+            // to the 1st of the next month, which the Calendar reaches from the 16th through the 1st of this month
+            final boolean up = ceiling || roundUp && !truncate;
+            if (field == SEMI_MONTH && up && toMillis(timeZone, window, time - 15 * MILLIS_PER_DAY) == Long.MIN_VALUE) {
+                return Long.MIN_VALUE;
+            }
+            final long nextMonth = time + (lengthOfMonth(year, month) - (dayOfMonth - dayOffset) + 1) * MILLIS_PER_DAY;
+            return toMillis(timeZone, window, time, up ? nextMonth : time);
+        }
+        if (toMillis(timeZone, window, time) == Long.MIN_VALUE) {
+            return Long.MIN_VALUE;
+        }
+        roundUp = month - 1 > 5;
+        time = toEpochDay(year, 1, 1) * MILLIS_PER_DAY;
+        return toMillis(timeZone, window, time, ceiling || roundUp && !truncate ? toEpochDay(year + 1, 1, 1) * MILLIS_PER_DAY : time);
+    }
+
     /**
      * Internal calculation method.
      *
@@ -1343,25 +1718,7 @@ private static Date parseDateWithLeniency(final String dateStr, final Locale loc
         Objects.requireNonNull(dateStr, "str");
         Objects.requireNonNull(parsePatterns, "parsePatterns");
 
-        final TimeZone tz = TimeZone.getDefault();
-        final Locale lcl = LocaleUtils.toLocale(locale);
-        final ParsePosition pos = new ParsePosition(0);
-        final Calendar calendar = Calendar.getInstance(tz, lcl);
-        calendar.setLenient(lenient);
-
-        for (final String parsePattern : parsePatterns) {
-            final FastDateParser fdp = new FastDateParser(parsePattern, tz, lcl);
-            calendar.clear();
-            try {
-                if (fdp.parse(dateStr, pos, calendar) && pos.getIndex() == dateStr.length()) {
-                    return calendar.getTime();
-                }
-            } catch (final IllegalArgumentException ignored) {
-                // leniency is preventing calendar from being set
-            }
-            pos.setIndex(0);
-        }
-        throw new ParseException("Unable to parse the date: " + dateStr, -1);
+        return MultiPatternDateParser.getInstance(TimeZone.getDefault(), locale, lenient, parsePatterns).parse(dateStr);
     }
 
     /**
@@ -1466,6 +1823,32 @@ public static Date round(final Object date, final int field) {
         throw new ClassCastException("Could not round " + date);
     }
 
+    /**
+     * Rounds a date, leaving the field specified as the most
+     * significant field.
+     *
+     * <p>For example, if you had the date-time of 28 Mar 2002
+     * 13:45:01.231, if this was passed with HOUR, it would return
+     * 28 Mar 2002 14:00:00.000. If this was passed with MONTH, it
+     * would return 1 April 2002 0:00:00.000.</p>
+     *
+     * <p>This gives the same result as the method for a {@link GregorianCalendar} in the given time zone. It computes
+     * with plain arithmetic, without allocating a Calendar or a Date, unless the date is before 1583, a day or less from a
+     * change of the offset of the time zone, or the time zone has custom rules.</p>
+     *
+     * @param millis  the date to work with, in milliseconds since the epoch
+     * @param field  the field from {@link Calendar} or {@code SEMI_MONTH}
+     * @param timeZone  the time zone of the fields, not null
+     * @return the different rounded date, in milliseconds since the epoch
+     * @throws NullPointerException if the time zone is {@code null}
+     * @throws ArithmeticException if the year is over 280 million
+     * @see #round(Calendar, int)
+     * @since 3.18.0
+     */
+    public static long round(final long millis, final int field, final TimeZone timeZone) {
+        return modify(millis, field, timeZone, ModifyType.ROUND);
+    }
+
     /**
      * Sets the specified field to a date returning a new object.
      * This does not use a lenient calendar.
@@ -1691,6 +2074,31 @@ public static Date truncate(final Object date, final int field) {
         throw new ClassCastException("Could not truncate " + date);
     }
 
+    /**
+     * Truncates a date, leaving the field specified as the most
+     * significant field.
+     *
+     * <p>For example, if you had the date-time of 28 Mar 2002
+     * 13:45:01.231, if you passed with HOUR, it would return 28 Mar
+     * 2002 13:00:00.000.  If this was passed with MONTH, it would
+     * return 1 Mar 2002 0:00:00.000.</p>
+     *
+     * <p>This gives the same result as the method for a {@link GregorianCalendar} in the given time zone. It computes
+     * with plain arithmetic, without allocating a Calendar or a Date, unless the date is before 1583, a day or less from a
+     * change of the offset of the time zone, or the time zone has custom rules.</p>
+     *
+     * @param millis  the date to work with, in milliseconds since the epoch
+     * @param field  the field from {@link Calendar} or {@code SEMI_MONTH}
+     * @param timeZone  the time zone of the fields, not null
+     * @return the different truncated date, in milliseconds since the epoch
+     * @throws NullPointerException if the time zone is {@code null}
+     * @throws ArithmeticException if the year is over 280 million
+     * @since 3.18.0
+     */
+    public static long truncate(final long millis, final int field, final TimeZone timeZone) {
+        return modify(millis, field, timeZone, ModifyType.TRUNCATE);
+    }
+
     /**
      * Determines how two calendars compare up to no more than the specified
      * most significant field.
@@ -1731,6 +2139,24 @@ public static int truncatedCompareTo(final Date date1, final Date date2, final i
         return truncatedDate1.compareTo(truncatedDate2);
     }
 
+    /**
+     * Determines how two dates compare up to no more than the specified
+     * most significant field.
+     *
+     * @param millis1 the first date, in milliseconds since the epoch
+     * @param millis2 the second date, in milliseconds since the epoch
+     * @param field the field from {@link Calendar}
+     * @param timeZone the time zone of the fields, not null
+     * @return a negative integer, zero, or a positive integer as the first
+     * date is less than, equal to, or greater than the second.
+     * @throws NullPointerException if the time zone is {@code null}
+     * @see #truncate(long, int, TimeZone)
+     * @since 3.18.0
+     */
+    public static int truncatedCompareTo(final long millis1, final long millis2, final int field, final TimeZone timeZone) {
+        return Long.compare(truncate(millis1, field, timeZone), truncate(millis2, field, timeZone));
+    }
+
     /**
      * Determines if two calendars are equal up to no more than the specified
      * most significant field.
@@ -1765,6 +2191,23 @@ public static boolean truncatedEquals(final Date date1, final Date date2, final
         return truncatedCompareTo(date1, date2, field) == 0;
     }
 
+    /**
+     * Determines if two dates are equal up to no more than the specified
+     * most significant field.
+     *
+     * @param millis1 the first date, in milliseconds since the epoch
+     * @param millis2 the second date, in milliseconds since the epoch
+     * @param field the field from {@link Calendar}
+     * @param timeZone the time zone of the fields, not null
+     * @return {@code true} if equal; otherwise {@code false}
+     * @throws NullPointerException if the time zone is {@code null}
+     * @see #truncate(long, int, TimeZone)
+     * @since 3.18.0
+     */
+    public static boolean truncatedEquals(final long millis1, final long millis2, final int field, final TimeZone timeZone) {
+        return truncatedCompareTo(millis1, millis2, field, timeZone) == 0;
+    }
+
     /**
      * @param date Date to validate.
      * @throws NullPointerException if {@code date == null}
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.lang3.time;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -154,6 +156,15 @@ int getCount() {
             return count;
         }
 
+        /**
+         * Gets the index of the optional block of this token.
+         *
+         * @return the index of the optional block, or -1 if this token is not optional
+         */
+        int getOptionalIndex() {
+            return optionalIndex;
+        }
+
         /**
          * Gets the particular value this token represents.
          *
@@ -222,111 +233,6 @@ public String toString() {
 
     static final String S = "S";
 
-    /**
-     * The internal method to do the formatting.
-     *
-     * @param tokens  the tokens
-     * @param years  the number of years
-     * @param months  the number of months
-     * @param days  the number of days
-     * @param hours  the number of hours
-     * @param minutes  the number of minutes
-     * @param seconds  the number of seconds
-     * @param milliseconds  the number of millis
-     * @param padWithZeros  whether to pad
-     * @return the formatted string
-     */
-    static String format(final Token[] tokens, final long years, final long months, final long days, final long hours, final long minutes,
-            final long seconds,
-            final long milliseconds, final boolean padWithZeros) {
-        final StringBuilder buffer = new StringBuilder();
-        boolean lastOutputSeconds = false;
-        boolean lastOutputZero = false;
-        int optionalStart = -1;
-        boolean firstOptionalNonLiteral = false;
-        int optionalIndex = -1;
-        boolean inOptional = false;
-        for (final Token token : tokens) {
-            final Object value = token.getValue();
-            final boolean isLiteral = value instanceof StringBuilder;
-            final int count = token.getCount();
-            if (optionalIndex != token.optionalIndex) {
-              optionalIndex = token.optionalIndex;
-              if (optionalIndex > -1) {
-                //entering new optional block
-                optionalStart = buffer.length();
-                lastOutputZero = false;
-                inOptional = true;
-                firstOptionalNonLiteral = false;
-              } else {
-                //leaving optional block
-                inOptional = false;
-              }
-            }
-            if (isLiteral) {
-                if (!inOptional || !lastOutputZero) {
-                    buffer.append(value.toString());
-                }
-            } else if (value.equals(y)) {
-                lastOutputSeconds = false;
-                lastOutputZero = years == 0;
-                if (!inOptional || !lastOutputZero) {
-                    buffer.append(paddedValue(years, padWithZeros, count));
-                }
-            } else if (value.equals(M)) {
-                lastOutputSeconds = false;
-                lastOutputZero = months == 0;
-                if (!inOptional || !lastOutputZero) {
-                    buffer.append(paddedValue(months, padWithZeros, count));
-                }
-            } else if (value.equals(d)) {
-                lastOutputSeconds = false;
-                lastOutputZero = days == 0;
-                if (!inOptional || !lastOutputZero) {
-                    buffer.append(paddedValue(days, padWithZeros, count));
-                }
-            } else if (value.equals(H)) {
-                lastOutputSeconds = false;
-                lastOutputZero = hours == 0;
-                if (!inOptional || !lastOutputZero) {
-                    buffer.append(paddedValue(hours, padWithZeros, count));
-                }
-            } else if (value.equals(m)) {
-                lastOutputSeconds = false;
-                lastOutputZero = minutes == 0;
-                if (!inOptional || !lastOutputZero) {
-                    buffer.append(paddedValue(minutes, padWithZeros, count));
-                }
-            } else if (value.equals(s)) {
-                lastOutputSeconds = true;
-                lastOutputZero = seconds == 0;
-                if (!inOptional || !lastOutputZero) {
-                    buffer.append(paddedValue(seconds, padWithZeros, count));
-                }
-            } else if (value.equals(S)) {
-                lastOutputZero = milliseconds == 0;
-                if (!inOptional || !lastOutputZero) {
-                    if (lastOutputSeconds) {
-                        // ensure at least 3 digits are displayed even if padding is not selected
-                        final int width = padWithZeros ? Math.max(3, count) : 3;
-                        buffer.append(paddedValue(milliseconds, true, width));
-                    } else {
-                        buffer.append(paddedValue(milliseconds, padWithZeros, count));
-                    }
-                }
-                lastOutputSeconds = false;
-            }
-            //as soon as we hit first nonliteral in optional, check for literal prefix
-            if (inOptional && !isLiteral && !firstOptionalNonLiteral) {
-                firstOptionalNonLiteral = true;
-                if (lastOutputZero) {
-                    buffer.delete(optionalStart, buffer.length());
-                }
-            }
-        }
-        return buffer.toString();
-    }
-
     /**
      * Formats the time gap as a string, using the specified format, and padding with zeros.
      *
@@ -354,36 +260,11 @@ public static String formatDuration(final long durationMillis, final String form
      * @param padWithZeros  whether to pad the left-hand side side of numbers with 0's
      * @return the formatted duration, not null
      * @throws IllegalArgumentException if durationMillis is negative
+     * @see DurationFormatter
      */
     public static String formatDuration(final long durationMillis, final String format, final boolean padWithZeros) {
         Validate.inclusiveBetween(0, Long.MAX_VALUE, durationMillis, "durationMillis must not be negative");
-
-        final Token[] tokens = lexx(format);
-
-        long days = 0;
-        long hours = 0;
-        long minutes = 0;
-        long seconds = 0;
-        long milliseconds = durationMillis;
-
-        if (Token.containsTokenWithValue(tokens, d)) {
-            days = milliseconds / DateUtils.MILLIS_PER_DAY;
-            milliseconds -= days * DateUtils.MILLIS_PER_DAY;
-        }
-        if (Token.containsTokenWithValue(tokens, H)) {
-            hours = milliseconds / DateUtils.MILLIS_PER_HOUR;
-            milliseconds -= hours * DateUtils.MILLIS_PER_HOUR;
-        }
-        if (Token.containsTokenWithValue(tokens, m)) {
-            minutes = milliseconds / DateUtils.MILLIS_PER_MINUTE;
-            milliseconds -= minutes * DateUtils.MILLIS_PER_MINUTE;
-        }
-        if (Token.containsTokenWithValue(tokens, s)) {
-            seconds = milliseconds / DateUtils.MILLIS_PER_SECOND;
-            milliseconds -= seconds * DateUtils.MILLIS_PER_SECOND;
-        }
-
-        return format(tokens, 0, 0, days, hours, minutes, seconds, milliseconds, padWithZeros);
+        return DurationFormatter.getInstance(format, padWithZeros).format(durationMillis);
     }
 
     /**
@@ -396,7 +277,7 @@ public static String formatDuration(final long durationMillis, final String form
      * @throws IllegalArgumentException if durationMillis is negative
      */
     public static String formatDurationHMS(final long durationMillis) {
-        return formatDuration(durationMillis, "HH:mm:ss.SSS");
+        return DurationFormatter.HMS.format(durationMillis);
     }
 
     /**
@@ -412,7 +293,7 @@ public static String formatDurationHMS(final long durationMillis) {
      * @throws IllegalArgumentException if durationMillis is negative
      */
     public static String formatDurationISO(final long durationMillis) {
-        return formatDuration(durationMillis, ISO_EXTENDED_FORMAT_PATTERN, false);
+        return DurationFormatter.ISO.format(durationMillis);
     }
 
     /**
@@ -536,7 +417,7 @@ public static String formatPeriod(final long startMillis, final long endMillis,
         // TODO: Compare performance to see if anything was lost by
         // losing this optimization.
 
-        final Token[] tokens = lexx(format);
+        final DurationFormatter formatter = DurationFormatter.getInstance(format, padWithZeros);
 
         // time zones get funky around 0, so normalizing everything to GMT
         // stops the hours being off
@@ -572,7 +453,7 @@ public static String formatPeriod(final long startMillis, final long endMillis,
             days -= 1;
         }
 
-        if (Token.containsTokenWithValue(tokens, M)) {
+        if (formatter.hasField(M)) {
             while (days < 0) {
                 days += start.getActualMaximum(Calendar.DAY_OF_MONTH);
                 months -= 1;
@@ -584,7 +465,7 @@ public static String formatPeriod(final long startMillis, final long endMillis,
                 years -= 1;
             }
 
-            if (!Token.containsTokenWithValue(tokens, y) && years != 0) {
+            if (!formatter.hasField(y) && years != 0) {
                 while (years != 0) {
                     months += 12 * years;
                     years = 0;
@@ -593,7 +474,7 @@ public static String formatPeriod(final long startMillis, final long endMillis,
         } else {
             // there are no M's in the format string
 
-            if (!Token.containsTokenWithValue(tokens, y)) {
+            if (!formatter.hasField(y)) {
                 int target = end.get(Calendar.YEAR);
                 if (months < 0) {
                     // target is end-year -1
@@ -637,24 +518,31 @@ public static String formatPeriod(final long startMillis, final long endMillis,
         // aren't requested. This allows the user to ask for the
         // number of months and get the real count and not just 0->11.
 
-        if (!Token.containsTokenWithValue(tokens, d)) {
+        if (!formatter.hasField(d)) {
             hours += HOURS_PER_DAY * days;
             days = 0;
         }
-        if (!Token.containsTokenWithValue(tokens, H)) {
+        if (!formatter.hasField(H)) {
             minutes += MINUTES_PER_HOUR * hours;
             hours = 0;
         }
-        if (!Token.containsTokenWithValue(tokens, m)) {
+        if (!formatter.hasField(m)) {
             seconds += SECONDS_PER_MINUTES * minutes;
             minutes = 0;
         }
-        if (!Token.containsTokenWithValue(tokens, s)) {
+        if (!formatter.hasField(s)) {
             milliseconds += DateUtils.MILLIS_PER_SECOND * seconds;
             seconds = 0;
         }
 
-        return format(tokens, years, months, days, hours, minutes, seconds, milliseconds, padWithZeros);
+        final StringBuilder buffer = new StringBuilder();
+        try {
+            formatter.appendTo(buffer, years, months, days, hours, minutes, seconds, milliseconds);
+        } catch (final IOException e) {
+            // cannot happen with a StringBuilder
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toString();
     }
 
     /**
@@ -768,20 +656,6 @@ static Token[] lexx(final String format) {
         return list.toArray(Token.EMPTY_ARRAY);
     }
 
-    /**
-     * Converts a {@code long} to a {@link String} with optional
-     * zero padding.
-     *
-     * @param value the value to convert
-     * @param padWithZeros whether to pad with zeroes
-     * @param count the size to pad to (ignored if {@code padWithZeros} is false)
-     * @return the string result
-     */
-    private static String paddedValue(final long value, final boolean padWithZeros, final int count) {
-        final String longString = Long.toString(value);
-        return padWithZeros ? StringUtils.leftPad(longString, count, '0') : longString;
-    }
-
     /**
      * DurationFormatUtils instances should NOT be constructed in standard programming.
      *
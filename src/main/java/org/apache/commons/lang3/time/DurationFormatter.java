@@ -0,0 +1,520 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.time;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.time.DurationFormatUtils.Token;
+
+/**
+ * Formats durations with a pattern of {@link DurationFormatUtils}, like
+ * {@link DurationFormatUtils#formatDuration(long, String, boolean)}.
+ *
+ * <p>
+ * The pattern is parsed once, so an instance can be reused to format many durations. Formatting appends the fields
+ * with integer arithmetic straight to the output, without intermediate strings. The patterns of
+ * {@link DurationFormatUtils#formatDurationHMS(long)} and {@link DurationFormatUtils#formatDurationISO(long)} have
+ * dedicated implementations.
+ * </p>
+ *
+ * <pre>{@code
+ * private static final DurationFormatter FORMATTER = DurationFormatter.getInstance("H'h' m'm' s's'");
+ * ...
+ * FORMATTER.format(span.getDuration(), out);
+ * }</pre>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ *
+ * @see DurationFormatUtils
+ * @since 3.18.0
+ */
+public final class DurationFormatter {
+
+    /**
+     * Cache key.
+     */
+    private static final class Key {
+
+        private final String format;
+        private final boolean padWithZeros;
+
+        Key(final String format, final boolean padWithZeros) {
+            this.format = format;
+            this.padWithZeros = padWithZeros;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return padWithZeros == other.padWithZeros && format.equals(other.format);
+        }
+
+        @Override
+        public int hashCode() {
+            return format.hashCode() * 31 + Boolean.hashCode(padWithZeros);
+        }
+    }
+
+    /**
+     * The kind of literal tokens; the kinds of the other tokens are the indices of their fields.
+     */
+    private static final int LITERAL = -1;
+    private static final int YEARS = 0;
+    private static final int MONTHS = 1;
+    private static final int DAYS = 2;
+    private static final int HOURS = 3;
+    private static final int MINUTES = 4;
+    private static final int SECONDS = 5;
+    private static final int MILLISECONDS = 6;
+
+    /**
+     * The fields in the order of their kinds.
+     */
+    private static final String[] FIELDS = { DurationFormatUtils.y, DurationFormatUtils.M, DurationFormatUtils.d, DurationFormatUtils.H,
+        DurationFormatUtils.m, DurationFormatUtils.s, DurationFormatUtils.S };
+
+    /**
+     * The pattern of {@link DurationFormatUtils#formatDurationHMS(long)}.
+     */
+    private static final String HMS_PATTERN = "HH:mm:ss.SSS";
+
+    /**
+     * The maximum number of instances cached by {@link #getInstance(String, boolean)}, beyond which the least recently
+     * used ones are evicted.
+     */
+    static final int MAX_CACHED = 64;
+
+    private static final BoundedCache<Key, DurationFormatter> CACHE = new BoundedCache<>(MAX_CACHED);
+
+    /**
+     * The formatter of {@link DurationFormatUtils#formatDurationHMS(long)}.
+     */
+    static final DurationFormatter HMS = new DurationFormatter(HMS_PATTERN, true);
+
+    /**
+     * The formatter of {@link DurationFormatUtils#formatDurationISO(long)}.
+     */
+    static final DurationFormatter ISO = new DurationFormatter(DurationFormatUtils.ISO_EXTENDED_FORMAT_PATTERN, false);
+
+    /**
+     * Appends a value, left-padded with zeros to a width.
+     *
+     * @param appendable the output
+     * @param value the value
+     * @param width the minimum number of chars
+     * @throws IOException if an I/O error occurs
+     */
+    private static void appendPadded(final Appendable appendable, final long value, final int width) throws IOException {
+        if (value < 0) {
+            appendable.append(StringUtils.leftPad(Long.toString(value), width, '0'));
+            return;
+        }
+        int digits = 1;
+        long power = 1;
+        while (digits < 19 && value >= power * 10) {
+            power *= 10;
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            appendable.append('0');
+        }
+        for (; power > 0; power /= 10) {
+            appendable.append((char) ('0' + value / power % 10));
+        }
+    }
+
+    /**
+     * Appends a value of two digits or more.
+     *
+     * @param appendable the output
+     * @param value the value, not negative
+     * @throws IOException if an I/O error occurs
+     */
+    private static void appendTwoDigits(final Appendable appendable, final long value) throws IOException {
+        if (value < 100) {
+            appendable.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+        } else {
+            appendPadded(appendable, value, 2);
+        }
+    }
+
+    /**
+     * Gets a formatter for a pattern, padding the numbers with zeros, reusing a cached instance when possible.
+     *
+     * @param format the pattern of {@link DurationFormatUtils}, not null.
+     * @return a formatter.
+     * @throws NullPointerException if the pattern is null.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public static DurationFormatter getInstance(final String format) {
+        return getInstance(format, true);
+    }
+
+    /**
+     * Gets a formatter for a pattern, reusing a cached instance when possible.
+     *
+     * @param format the pattern of {@link DurationFormatUtils}, not null.
+     * @param padWithZeros whether to pad the left-hand side of numbers with 0's.
+     * @return a formatter.
+     * @throws NullPointerException if the pattern is null.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     */
+    public static DurationFormatter getInstance(final String format, final boolean padWithZeros) {
+        Objects.requireNonNull(format, "format");
+        if (padWithZeros && HMS_PATTERN.equals(format)) {
+            return HMS;
+        }
+        if (!padWithZeros && DurationFormatUtils.ISO_EXTENDED_FORMAT_PATTERN.equals(format)) {
+            return ISO;
+        }
+        return CACHE.get(new Key(format, padWithZeros), k -> new DurationFormatter(format, padWithZeros));
+    }
+
+    private final String format;
+    private final boolean padWithZeros;
+
+    /**
+     * Whether the pattern has a token of each field, by kind.
+     */
+    private final boolean[] hasField = new boolean[FIELDS.length];
+
+    /**
+     * The kind of each token.
+     */
+    private final int[] kinds;
+
+    /**
+     * The number of chars of each token, or the text of each literal token.
+     */
+    private final int[] counts;
+    private final String[] literals;
+
+    /**
+     * The optional block of each token, or -1.
+     */
+    private final int[] optionalIndices;
+
+    /**
+     * For each token, the index of the token that decides if it is printed, or -1 if it is always printed.
+     * <ul>
+     * <li>The literals at the start of an optional block are printed if the first field of the block is not zero.</li>
+     * <li>The other literals of an optional block are printed if the field before them is not zero.</li>
+     * <li>The fields of an optional block are printed if they are not zero.</li>
+     * </ul>
+     */
+    private final int[] guards;
+
+    /**
+     * Whether each milliseconds token follows a seconds token, and so has at least 3 digits.
+     */
+    private final boolean[] afterSeconds;
+
+    private DurationFormatter(final String format, final boolean padWithZeros) {
+        this.format = format;
+        this.padWithZeros = padWithZeros;
+        final Token[] tokens = DurationFormatUtils.lexx(format);
+        kinds = new int[tokens.length];
+        counts = new int[tokens.length];
+        literals = new String[tokens.length];
+        optionalIndices = new int[tokens.length];
+        guards = new int[tokens.length];
+        afterSeconds = new boolean[tokens.length];
+        for (int kind = 0; kind < FIELDS.length; kind++) {
+            hasField[kind] = Token.containsTokenWithValue(tokens, FIELDS[kind]);
+        }
+        boolean lastSeconds = false;
+        int lastField = -1;
+        for (int i = 0; i < tokens.length; i++) {
+            final Token token = tokens[i];
+            final Object value = token.getValue();
+            kinds[i] = LITERAL;
+            for (int kind = 0; kind < FIELDS.length; kind++) {
+                if (value == FIELDS[kind]) {
+                    kinds[i] = kind;
+                }
+            }
+            counts[i] = token.getCount();
+            optionalIndices[i] = token.getOptionalIndex();
+            if (i == 0 || optionalIndices[i] != optionalIndices[i - 1]) {
+                lastField = -1;
+            }
+            if (kinds[i] == LITERAL) {
+                literals[i] = value.toString();
+                guards[i] = lastField;
+                if (optionalIndices[i] > -1 && lastField < 0) {
+                    // a leading literal waits for the first field of its block
+                    for (int j = i + 1; j < tokens.length && tokens[j].getOptionalIndex() == optionalIndices[i]; j++) {
+                        if (!(tokens[j].getValue() instanceof StringBuilder)) {
+                            guards[i] = j;
+                            break;
+                        }
+                    }
+                }
+            } else {
+                guards[i] = i;
+                lastField = i;
+                afterSeconds[i] = kinds[i] == MILLISECONDS && lastSeconds;
+                lastSeconds = kinds[i] == SECONDS;
+            }
+            if (optionalIndices[i] < 0) {
+                guards[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * Appends the HH:mm:ss.SSS format of a duration.
+     *
+     * @param appendable the output
+     * @param durationMillis the duration, not negative
+     * @throws IOException if an I/O error occurs
+     */
+    private void appendHMS(final Appendable appendable, final long durationMillis) throws IOException {
+        final long hours = durationMillis / DateUtils.MILLIS_PER_HOUR;
+        final int millisOfHour = (int) (durationMillis - hours * DateUtils.MILLIS_PER_HOUR);
+        final int minutes = millisOfHour / (int) DateUtils.MILLIS_PER_MINUTE;
+        final int millisOfMinute = millisOfHour - minutes * (int) DateUtils.MILLIS_PER_MINUTE;
+        final int seconds = millisOfMinute / (int) DateUtils.MILLIS_PER_SECOND;
+        final int milliseconds = millisOfMinute - seconds * (int) DateUtils.MILLIS_PER_SECOND;
+        appendTwoDigits(appendable, hours);
+        appendable.append(':');
+        appendTwoDigits(appendable, minutes);
+        appendable.append(':');
+        appendTwoDigits(appendable, seconds);
+        appendable.append('.').append((char) ('0' + milliseconds / 100)).append((char) ('0' + milliseconds / 10 % 10))
+            .append((char) ('0' + milliseconds % 10));
+    }
+
+    /**
+     * Appends the ISO 8601 period format of a duration, with days and lower fields.
+     *
+     * @param appendable the output
+     * @param durationMillis the duration, not negative
+     * @throws IOException if an I/O error occurs
+     */
+    private void appendISO(final Appendable appendable, final long durationMillis) throws IOException {
+        final long days = durationMillis / DateUtils.MILLIS_PER_DAY;
+        final int millisOfDay = (int) (durationMillis - days * DateUtils.MILLIS_PER_DAY);
+        final int hours = millisOfDay / (int) DateUtils.MILLIS_PER_HOUR;
+        final int millisOfHour = millisOfDay - hours * (int) DateUtils.MILLIS_PER_HOUR;
+        final int minutes = millisOfHour / (int) DateUtils.MILLIS_PER_MINUTE;
+        final int millisOfMinute = millisOfHour - minutes * (int) DateUtils.MILLIS_PER_MINUTE;
+        final int seconds = millisOfMinute / (int) DateUtils.MILLIS_PER_SECOND;
+        final int milliseconds = millisOfMinute - seconds * (int) DateUtils.MILLIS_PER_SECOND;
+        appendable.append("P0Y0M");
+        appendPadded(appendable, days, 0);
+        appendable.append("DT");
+        appendPadded(appendable, hours, 0);
+        appendable.append('H');
+        appendPadded(appendable, minutes, 0);
+        appendable.append('M');
+        appendPadded(appendable, seconds, 0);
+        appendable.append('.').append((char) ('0' + milliseconds / 100)).append((char) ('0' + milliseconds / 10 % 10))
+            .append((char) ('0' + milliseconds % 10)).append('S');
+    }
+
+    /**
+     * Formats a duration, using the days and lower fields of the pattern. Months and larger are not used.
+     *
+     * @param duration the duration to format, not null.
+     * @return the formatted duration, not null.
+     * @throws NullPointerException if the duration is null.
+     * @throws IllegalArgumentException if the duration is negative.
+     * @throws ArithmeticException if the duration is too large to fit in a {@code long} of milliseconds.
+     */
+    public String format(final Duration duration) {
+        return format(Objects.requireNonNull(duration, "duration").toMillis());
+    }
+
+    /**
+     * Formats a duration into an {@link Appendable}, using the days and lower fields of the pattern. Months and larger
+     * are not used.
+     *
+     * @param duration the duration to format, not null.
+     * @param appendable the output, not null.
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the output.
+     * @throws NullPointerException if the duration is null.
+     * @throws IllegalArgumentException if the duration is negative.
+     * @throws ArithmeticException if the duration is too large to fit in a {@code long} of milliseconds.
+     */
+    public <B extends Appendable> B format(final Duration duration, final B appendable) {
+        return format(Objects.requireNonNull(duration, "duration").toMillis(), appendable);
+    }
+
+    /**
+     * Formats a duration, using the days and lower fields of the pattern. Months and larger are not used.
+     *
+     * @param durationMillis the duration to format, in milliseconds.
+     * @return the formatted duration, not null.
+     * @throws IllegalArgumentException if the duration is negative.
+     */
+    public String format(final long durationMillis) {
+        return format(durationMillis, new StringBuilder(this == HMS ? 12 : format.length() + 8)).toString();
+    }
+
+    /**
+     * Formats a duration into an {@link Appendable}, using the days and lower fields of the pattern. Months and larger
+     * are not used.
+     *
+     * @param durationMillis the duration to format, in milliseconds.
+     * @param appendable the output, not null.
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the output.
+     * @throws IllegalArgumentException if the duration is negative.
+     */
+    public <B extends Appendable> B format(final long durationMillis, final B appendable) {
+        Validate.inclusiveBetween(0, Long.MAX_VALUE, durationMillis, "durationMillis must not be negative");
+        Objects.requireNonNull(appendable, "appendable");
+        try {
+            if (this == HMS) {
+                appendHMS(appendable, durationMillis);
+            } else if (this == ISO) {
+                appendISO(appendable, durationMillis);
+            } else {
+                long milliseconds = durationMillis;
+                long days = 0;
+                long hours = 0;
+                long minutes = 0;
+                long seconds = 0;
+                if (hasField[DAYS]) {
+                    days = milliseconds / DateUtils.MILLIS_PER_DAY;
+                    milliseconds -= days * DateUtils.MILLIS_PER_DAY;
+                }
+                if (hasField[HOURS]) {
+                    hours = milliseconds / DateUtils.MILLIS_PER_HOUR;
+                    milliseconds -= hours * DateUtils.MILLIS_PER_HOUR;
+                }
+                if (hasField[MINUTES]) {
+                    minutes = milliseconds / DateUtils.MILLIS_PER_MINUTE;
+                    milliseconds -= minutes * DateUtils.MILLIS_PER_MINUTE;
+                }
+                if (hasField[SECONDS]) {
+                    seconds = milliseconds / DateUtils.MILLIS_PER_SECOND;
+                    milliseconds -= seconds * DateUtils.MILLIS_PER_SECOND;
+                }
+                appendTo(appendable, 0, 0, days, hours, minutes, seconds, milliseconds);
+            }
+        } catch (final IOException e) {
+            ExceptionUtils.asRuntimeException(e);
+        }
+        return appendable;
+    }
+
+    /**
+     * Appends the tokens of the pattern for the values of the fields.
+     *
+     * @param appendable the output
+     * @param years the number of years
+     * @param months the number of months
+     * @param days the number of days
+     * @param hours the number of hours
+     * @param minutes the number of minutes
+     * @param seconds the number of seconds
+     * @param milliseconds the number of milliseconds
+     * @throws IOException if an I/O error occurs
+     */
+    void appendTo(final Appendable appendable, final long years, final long months, final long days, final long hours, final long minutes,
+            final long seconds, final long milliseconds) throws IOException {
+        for (int i = 0; i < kinds.length; i++) {
+            final int guard = guards[i];
+            if (guard >= 0 && valueOf(kinds[guard], years, months, days, hours, minutes, seconds, milliseconds) == 0) {
+                continue;
+            }
+            final int kind = kinds[i];
+            if (kind == LITERAL) {
+                appendable.append(literals[i]);
+            } else if (afterSeconds[i]) {
+                // ensure at least 3 digits are displayed even if padding is not selected
+                appendPadded(appendable, milliseconds, padWithZeros ? Math.max(3, counts[i]) : 3);
+            } else {
+                appendPadded(appendable, valueOf(kind, years, months, days, hours, minutes, seconds, milliseconds), padWithZeros ? counts[i] : 0);
+            }
+        }
+    }
+
+    /**
+     * Gets the pattern of this formatter.
+     *
+     * @return the pattern.
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Tests whether the pattern has a token of a field.
+     *
+     * @param field one of the fields of {@link DurationFormatUtils}, like {@link DurationFormatUtils#d}
+     * @return whether the pattern has the field
+     */
+    boolean hasField(final String field) {
+        for (int kind = 0; kind < FIELDS.length; kind++) {
+            if (FIELDS[kind] == field) {
+                return hasField[kind];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tests whether this formatter pads the numbers with zeros.
+     *
+     * @return whether this formatter pads the numbers with zeros.
+     */
+    public boolean isPadWithZeros() {
+        return padWithZeros;
+    }
+
+    @Override
+    public String toString() {
+        return "DurationFormatter[" + format + ", padWithZeros=" + padWithZeros + "]";
+    }
+
+    private static long valueOf(final int kind, final long years, final long months, final long days, final long hours, final long minutes,
+            final long seconds, final long milliseconds) {
+        switch (kind) {
+        case YEARS:
+            return years;
+        case MONTHS:
+            return months;
+        case DAYS:
+            return days;
+        case HOURS:
+            return hours;
+        case MINUTES:
+            return minutes;
+        case SECONDS:
+            return seconds;
+        default:
+            return milliseconds;
+        }
+    }
+}
@@ -22,6 +22,8 @@
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -69,10 +71,92 @@
  * 'YYY' will be formatted as '2003', while it was '03' in former Java
  * versions. FastDateFormat implements the behavior of Java 7.</p>
  *
+ * <p>The static factory methods cache the instances they create. The cache holds
+ * at most 1024 instances by default, evicting the least recently used ones beyond
+ * that; the system property {@code org.apache.commons.lang3.time.FastDateFormat.cacheSize}
+ * and {@link #setCacheMaximumSize(int)} change this size, and
+ * {@link #getCacheStatistics()} tells how well it fits. The patterns looked up for
+ * date and time styles are kept in a separate cache, whose size is only set by the
+ * system property and which neither of these methods covers.</p>
+ *
  * @since 2.0
  */
 public class FastDateFormat extends Format implements DateParser, DatePrinter {
 
+    /**
+     * A snapshot of the statistics of the cache behind the static factory methods.
+     *
+     * @see FastDateFormat#getCacheStatistics()
+     * @since 3.18.0
+     */
+    public static final class CacheStatistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+        private final int maximumSize;
+
+        CacheStatistics(final long hitCount, final long missCount, final long evictionCount, final int size, final int maximumSize) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.maximumSize = maximumSize;
+        }
+
+        /**
+         * Gets the number of instances evicted from the cache.
+         *
+         * @return the eviction count.
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * Gets the number of requests answered from the cache.
+         *
+         * @return the hit count.
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Gets the maximum number of instances in the cache.
+         *
+         * @return the maximum size.
+         */
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        /**
+         * Gets the number of requests that created an instance.
+         *
+         * @return the miss count.
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Gets the number of instances in the cache.
+         *
+         * @return the size.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStatistics[hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ", size=" + size
+                + ", maximumSize=" + maximumSize + "]";
+        }
+    }
+
     /**
      * Required for serialization support.
      *
@@ -108,6 +192,17 @@ protected FastDateFormat createInstance(final String pattern, final TimeZone tim
         }
     };
 
+    /**
+     * Gets a snapshot of the statistics of the cache behind the static factory methods.
+     * This covers the cached instances, not the patterns cached for date and time styles.
+     *
+     * @return the statistics.
+     * @since 3.18.0
+     */
+    public static CacheStatistics getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
     /**
      * Gets a date formatter instance using the specified style in the
      * default time zone and locale.
@@ -304,6 +399,19 @@ public static FastDateFormat getInstance(final String pattern, final TimeZone ti
         return cache.getInstance(pattern, timeZone, locale);
     }
 
+    /**
+     * Sets the maximum number of instances cached by the static factory methods,
+     * evicting the least recently used ones if needed. This does not change the size
+     * of the cache of patterns for date and time styles.
+     *
+     * @param maximumSize  the maximum size, zero to not cache
+     * @throws IllegalArgumentException if the size is negative
+     * @since 3.18.0
+     */
+    public static void setCacheMaximumSize(final int maximumSize) {
+        cache.setMaximumSize(maximumSize);
+    }
+
     /**
      * Gets a time formatter instance using the specified style in the
      * default time zone and locale.
@@ -398,6 +506,17 @@ protected FastDateFormat(final String pattern, final TimeZone timeZone, final Lo
         parser = new FastDateParser(pattern, timeZone, locale, centuryStart);
     }
 
+    /**
+     * Constructs a new FastDateFormat from a printer and a parser.
+     *
+     * @param printer  the printer to format with
+     * @param parser  the parser to parse with
+     */
+    private FastDateFormat(final FastDatePrinter printer, final FastDateParser parser) {
+        this.printer = printer;
+        this.parser = parser;
+    }
+
     /**
      * Performs the formatting by applying the rules to the
      * specified calendar.
@@ -535,6 +654,33 @@ public <B extends Appendable> B format(final long millis, final B buf) {
         return printer.format(millis, buf);
     }
 
+    /**
+     * Formats a {@link TemporalAccessor} object.
+     *
+     * @param temporal  the temporal to format
+     * @return the formatted string
+     * @see FastDatePrinter#format(TemporalAccessor, Appendable)
+     * @since 3.18.0
+     */
+    public String format(final TemporalAccessor temporal) {
+        return printer.format(temporal);
+    }
+
+    /**
+     * Formats a {@link TemporalAccessor} object into the
+     * supplied {@link Appendable}.
+     *
+     * @param temporal  the temporal to format
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified string buffer
+     * @see FastDatePrinter#format(TemporalAccessor, Appendable)
+     * @since 3.18.0
+     */
+    public <B extends Appendable> B format(final TemporalAccessor temporal, final B buf) {
+        return printer.format(temporal, buf);
+    }
+
     // Parsing
 
     /**
@@ -555,8 +701,8 @@ public StringBuffer format(final long millis, final StringBuffer buf) {
 
     // Format methods
     /**
-     * Formats a {@link Date}, {@link Calendar} or
-     * {@link Long} (milliseconds) object.
+     * Formats a {@link Date}, {@link Calendar},
+     * {@link Long} (milliseconds) or {@link TemporalAccessor} object.
      * This method is an implementation of {@link Format#format(Object, StringBuffer, FieldPosition)}
      *
      * @param obj  the object to format
@@ -650,6 +796,32 @@ public boolean parse(final String source, final ParsePosition pos, final Calenda
         return parser.parse(source, pos, calendar);
     }
 
+    /**
+     * Parses text from a string to produce an {@link Instant}.
+     *
+     * @param source  the text to parse
+     * @return the parsed instant
+     * @throws ParseException if the beginning of the specified string cannot be parsed
+     * @see FastDateParser#parseInstant(String)
+     * @since 3.18.0
+     */
+    public Instant parseInstant(final String source) throws ParseException {
+        return parser.parseInstant(source);
+    }
+
+    /**
+     * Parses text from a string to produce an {@link Instant}.
+     *
+     * @param source  the text to parse
+     * @param pos  the parse position, updated with the index or error index
+     * @return the parsed instant, or {@code null} in case of an error
+     * @see FastDateParser#parseInstant(String, ParsePosition)
+     * @since 3.18.0
+     */
+    public Instant parseInstant(final String source, final ParsePosition pos) {
+        return parser.parseInstant(source, pos);
+    }
+
     /* (non-Javadoc)
      * @see java.text.Format#parseObject(String, java.text.ParsePosition)
      */
@@ -658,6 +830,18 @@ public Object parseObject(final String source, final ParsePosition pos) {
         return parser.parseObject(source, pos);
     }
 
+    /**
+     * Gets a format like this one that caches the text of the last second it formatted.
+     *
+     * @return a format that caches the last second.
+     * @see FastDatePrinter#withSecondCache()
+     * @since 3.18.0
+     */
+    public FastDateFormat withSecondCache() {
+        final FastDatePrinter cached = printer.withSecondCache();
+        return cached == printer ? this : new FastDateFormat(cached, parser);
+    }
+
     /**
      * Gets a debugging string version of this formatter.
      *
@@ -23,25 +23,28 @@
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Comparator;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.TimeZone;
-import java.util.TreeSet;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.LocaleUtils;
+import org.apache.commons.lang3.Strings;
 
 /**
  * FastDateParser is a fast and thread-safe version of {@link java.text.SimpleDateFormat}.
@@ -84,11 +87,11 @@ public class FastDateParser implements DateParser, Serializable {
     /**
      * A strategy that handles a text field in the parsing pattern
      */
-    private static final class CaseInsensitiveTextStrategy extends PatternStrategy {
+    private static final class CaseInsensitiveTextStrategy extends Strategy {
 
         private final int field;
         private final Locale locale;
-        private final Map<String, Integer> lKeyValues;
+        private final NameIndex<Integer> names;
 
         /**
          * Constructs a Strategy that parses a Text field
@@ -100,30 +103,28 @@ private static final class CaseInsensitiveTextStrategy extends PatternStrategy {
         CaseInsensitiveTextStrategy(final int field, final Calendar definingCalendar, final Locale locale) {
             this.field = field;
             this.locale = LocaleUtils.toLocale(locale);
-
-            final StringBuilder regex = new StringBuilder();
-            regex.append("((?iu)");
-            lKeyValues = appendDisplayNames(definingCalendar, locale, field, regex);
-            regex.setLength(regex.length() - 1);
-            regex.append(")");
-            createPattern(regex);
+            final Map<String, Integer> displayNames = Objects.requireNonNull(definingCalendar, "definingCalendar").getDisplayNames(field,
+                    Calendar.ALL_STYLES, this.locale);
+            final Map<String, Integer> lowerCaseNames = new LinkedHashMap<>();
+            displayNames.forEach((k, v) -> lowerCaseNames.putIfAbsent(k.toLowerCase(this.locale), v));
+            // trailing '.' is optional
+            displayNames.forEach((k, v) -> lowerCaseNames.putIfAbsent(Strings.CS.removeEnd(k.toLowerCase(this.locale), "."), v));
+            this.names = new NameIndex<>(lowerCaseNames);
         }
 
-        /**
-         * {@inheritDoc}
-         */
         @Override
-        void setCalendar(final FastDateParser parser, final Calendar calendar, final String value) {
-            final String lowerCase = value.toLowerCase(locale);
-            Integer iVal = lKeyValues.get(lowerCase);
-            if (iVal == null) {
-                // match missing the optional trailing period
-                iVal = lKeyValues.get(lowerCase + '.');
+        boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
+            final Integer match = names.match(source, pos);
+            if (match == null) {
+                pos.setErrorIndex(pos.getIndex());
+                return false;
             }
+            final int iVal = match.intValue();
             // LANG-1669: Mimic fix done in OpenJDK 17 to resolve issue with parsing newly supported day periods added in OpenJDK 16
             if (Calendar.AM_PM != this.field || iVal <= 1) {
-                calendar.set(field, iVal.intValue());
+                calendar.set(field, iVal);
             }
+            return true;
         }
 
         /**
@@ -133,7 +134,7 @@ void setCalendar(final FastDateParser parser, final Calendar calendar, final Str
          */
         @Override
         public String toString() {
-            return "CaseInsensitiveTextStrategy [field=" + field + ", locale=" + locale + ", lKeyValues=" + lKeyValues + ", pattern=" + pattern + "]";
+            return "CaseInsensitiveTextStrategy [field=" + field + ", locale=" + locale + ", names=" + names + "]";
         }
     }
 
@@ -234,11 +235,127 @@ void setCalendar(final FastDateParser parser, final Calendar calendar, final Str
         }
     }
 
+    /**
+     * Finds the longest of a set of names at a position of a source, ignoring case like a regular expression with the
+     * {@code (?iu)} flags. The names are kept sorted, and searched like a trie by narrowing the range of the names that
+     * start with the code points read so far.
+     *
+     * @param <V> the type of the values of the names
+     */
+    private static final class NameIndex<V> {
+
+        private static int fold(final int codePoint) {
+            return Character.toLowerCase(Character.toUpperCase(codePoint));
+        }
+
+        private static String fold(final String name) {
+            final StringBuilder builder = new StringBuilder(name.length());
+            name.codePoints().forEach(codePoint -> builder.appendCodePoint(fold(codePoint)));
+            final String folded = builder.toString();
+            return folded.equals(name) ? name : folded;
+        }
+
+        /** The folded names, in order. */
+        private final String[] names;
+
+        /** The values of the names. */
+        private final V[] values;
+
+        /**
+         * Constructs an index of names.
+         *
+         * @param map the names and their values, of which the first of the names equal ignoring case is kept
+         */
+        @SuppressWarnings("unchecked") // OK because the array only holds values of the map
+        NameIndex(final Map<String, V> map) {
+            final TreeMap<String, V> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.putIfAbsent(fold(k), v));
+            names = sorted.keySet().toArray(ArrayUtils.EMPTY_STRING_ARRAY);
+            values = (V[]) sorted.values().toArray();
+        }
+
+        /**
+         * Finds the longest name at the index of a position, and moves the position to its end.
+         *
+         * @param source the source
+         * @param pos the position of the name in the source
+         * @return the value of the longest name, or null if no name matches
+         */
+        V match(final String source, final ParsePosition pos) {
+            int lo = 0;
+            int hi = names.length;
+            int depth = 0;
+            int longest = -1;
+            int end = 0;
+            for (int i = pos.getIndex();; ) {
+                // a name that ends here is the first of the range
+                if (lo < hi && names[lo].length() == depth) {
+                    longest = lo++;
+                    end = i;
+                }
+                if (lo == hi || i == source.length()) {
+                    break;
+                }
+                final int codePoint = source.codePointAt(i);
+                final int folded = fold(codePoint);
+                i += Character.charCount(codePoint);
+                if (Character.isBmpCodePoint(folded)) {
+                    lo = search(lo, hi, depth, (char) folded, false);
+                    hi = search(lo, hi, depth++, (char) folded, true);
+                } else {
+                    lo = search(lo, hi, depth, Character.highSurrogate(folded), false);
+                    hi = search(lo, hi, depth++, Character.highSurrogate(folded), true);
+                    lo = search(lo, hi, depth, Character.lowSurrogate(folded), false);
+                    hi = search(lo, hi, depth++, Character.lowSurrogate(folded), true);
+                }
+            }
+            if (longest < 0) {
+                return null;
+            }
+            pos.setIndex(end);
+            return values[longest];
+        }
+
+        /**
+         * Searches the names of a range, longer than a depth, by their char at the depth.
+         *
+         * @param lo the start of the range, inclusive
+         * @param hi the end of the range, exclusive
+         * @param depth the index of the char
+         * @param c the char
+         * @param after whether to find the first name after the ones with the char, rather than the first name with it
+         * @return the index of the name found
+         */
+        private int search(int lo, int hi, final int depth, final char c, final boolean after) {
+            while (lo < hi) {
+                final int mid = lo + hi >>> 1;
+                final char midChar = names[mid].charAt(depth);
+                if (midChar < c || after && midChar == c) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Converts this instance to a handy debug string.
+         */
+        @Override
+        public String toString() {
+            return "NameIndex [size=" + names.length + "]";
+        }
+    }
+
     /**
      * A strategy that handles a number field in the parsing pattern
      */
     private static class NumberStrategy extends Strategy {
 
+        /** The number of digits that always fit in an int. */
+        private static final int MAX_INT_DIGITS = 9;
+
         private final int field;
 
         /**
@@ -290,19 +407,25 @@ boolean parse(final FastDateParser parser, final Calendar calendar, final String
                 }
             }
 
+            // accumulate the digits as they are scanned instead of parsing a substring
+            int value = 0;
             for (; idx < last; ++idx) {
-                final char c = source.charAt(idx);
-                if (!Character.isDigit(c)) {
+                final int digit = Character.digit(source.charAt(idx), 10);
+                if (digit < 0) {
                     break;
                 }
+                value = value * 10 + digit;
             }
 
-            if (pos.getIndex() == idx) {
+            final int start = pos.getIndex();
+            if (start == idx) {
                 pos.setErrorIndex(idx);
                 return false;
             }
-
-            final int value = Integer.parseInt(source.substring(pos.getIndex(), idx));
+            if (idx - start > MAX_INT_DIGITS) {
+                // may overflow, let Integer report it
+                value = Integer.parseInt(source.substring(start, idx));
+            }
             pos.setIndex(idx);
 
             calendar.set(field, modify(parser, value));
@@ -347,12 +470,13 @@ boolean isNumber() {
 
         @Override
         boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
-            final Matcher matcher = pattern.matcher(source.substring(pos.getIndex()));
+            // the opaque region bounds see the rest of the source like a substring of it would, without copying it
+            final Matcher matcher = pattern.matcher(source).region(pos.getIndex(), source.length());
             if (!matcher.lookingAt()) {
                 pos.setErrorIndex(pos.getIndex());
                 return false;
             }
-            pos.setIndex(pos.getIndex() + matcher.end(1));
+            pos.setIndex(matcher.end(1));
             setCalendar(parser, calendar, matcher.group(1));
             return true;
         }
@@ -476,7 +600,7 @@ private StrategyAndWidth literal() {
     /**
      * A strategy that handles a time zone field in the parsing pattern
      */
-    static class TimeZoneStrategy extends PatternStrategy {
+    static class TimeZoneStrategy extends Strategy {
         private static final class TzInfo {
             final TimeZone zone;
             final int dstOffset;
@@ -491,9 +615,6 @@ public String toString() {
                 return "TzInfo [zone=" + zone + ", dstOffset=" + dstOffset + "]";
             }
         }
-        private static final String RFC_822_TIME_ZONE = "[+-]\\d{4}";
-
-        private static final String GMT_OPTION = TimeZones.GMT_ID + "[+-]\\d{1,2}:\\d{2}";
         /**
          * Index of zone id
          */
@@ -501,7 +622,7 @@ public String toString() {
 
         private final Locale locale;
 
-        private final Map<String, TzInfo> tzNames = new HashMap<>();
+        private final NameIndex<TzInfo> tzNames;
 
         /**
          * Constructs a Strategy that parses a TimeZone
@@ -511,10 +632,7 @@ public String toString() {
         TimeZoneStrategy(final Locale locale) {
             this.locale = LocaleUtils.toLocale(locale);
 
-            final StringBuilder sb = new StringBuilder();
-            sb.append("((?iu)" + RFC_822_TIME_ZONE + "|" + GMT_OPTION);
-
-            final Set<String> sorted = new TreeSet<>(LONGER_FIRST_LOWERCASE);
+            final Map<String, TzInfo> names = new LinkedHashMap<>();
 
             // Order is undefined.
             // TODO Use of getZoneStrings() is discouraged per its Javadoc.
@@ -547,9 +665,7 @@ public String toString() {
                         final String key = zoneName.toLowerCase(locale);
                         // ignore the data associated with duplicates supplied in
                         // the additional names
-                        if (sorted.add(key)) {
-                            tzNames.put(key, tzInfo);
-                        }
+                        names.putIfAbsent(key, tzInfo);
                     }
                 }
             }
@@ -561,37 +677,86 @@ public String toString() {
                 }
                 final TimeZone tz = TimeZone.getTimeZone(tzId);
                 final String zoneName = tz.getDisplayName(locale);
-                final String key = zoneName.toLowerCase(locale);
-                if (sorted.add(key)) {
-                    tzNames.put(key, new TzInfo(tz, tz.observesDaylightTime()));
+                names.computeIfAbsent(zoneName.toLowerCase(locale), k -> new TzInfo(tz, tz.observesDaylightTime()));
+            }
+
+            // trailing '.' is optional
+            new ArrayList<>(names.entrySet()).forEach(e -> names.putIfAbsent(Strings.CS.removeEnd(e.getKey(), "."), e.getValue()));
+            tzNames = new NameIndex<>(names);
+        }
+
+        /**
+         * Gets the end of a RFC 822 time zone, like {@code -0800}, or of a GMT time zone, like {@code GMT-8:00}.
+         *
+         * @param source the source
+         * @param start the position of the time zone in the source
+         * @return the end of the time zone, or -1 if there is none at the position
+         */
+        private static int getOffsetEnd(final String source, final int start) {
+            final int length = source.length();
+            if (start + 5 <= length && isSign(source.charAt(start)) && isAsciiNumeric(source, start + 1, start + 5)) {
+                return start + 5;
+            }
+            int index = start + 3;
+            if (index < length && source.regionMatches(true, start, TimeZones.GMT_ID, 0, 3) && isSign(source.charAt(index))) {
+                final int hours = ++index;
+                while (index < length && index - hours < 2 && CharUtils.isAsciiNumeric(source.charAt(index))) {
+                    index++;
+                }
+                if (index > hours && index + 3 <= length && source.charAt(index) == ':' && isAsciiNumeric(source, index + 1, index + 3)) {
+                    return index + 3;
                 }
             }
+            return -1;
+        }
 
-            // order the regex alternatives with longer strings first, greedy
-            // match will ensure the longest string will be consumed
-            sorted.forEach(zoneName -> simpleQuote(sb.append('|'), zoneName));
-            sb.append(")");
-            createPattern(sb);
+        private static boolean isAsciiNumeric(final String source, final int start, final int end) {
+            for (int i = start; i < end; i++) {
+                if (!CharUtils.isAsciiNumeric(source.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         /**
-         * {@inheritDoc}
+         * Tests whether a time zone starting with a char may be read by {@link FastTimeZone#getGmtTimeZone(String)}.
+         *
+         * @param c the first char of the time zone
+         * @return whether the time zone may be a GMT time zone
          */
+        private static boolean isGmtStart(final char c) {
+            return isSign(c) || CharUtils.isAsciiNumeric(c) || c == ':' || c == 'G' || c == 'g' || c == 'U' || c == 'Z';
+        }
+
+        private static boolean isSign(final char c) {
+            return c == '+' || c == '-';
+        }
+
         @Override
-        void setCalendar(final FastDateParser parser, final Calendar calendar, final String timeZone) {
-            final TimeZone tz = FastTimeZone.getGmtTimeZone(timeZone);
+        boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
+            final int start = pos.getIndex();
+            final int offsetEnd = getOffsetEnd(source, start);
+            final TzInfo match;
+            if (offsetEnd < 0) {
+                match = tzNames.match(source, pos);
+                if (match == null) {
+                    pos.setErrorIndex(start);
+                    return false;
+                }
+            } else {
+                match = null;
+                pos.setIndex(offsetEnd);
+            }
+            final int end = pos.getIndex();
+            final TimeZone tz = end == start || isGmtStart(source.charAt(start)) ? FastTimeZone.getGmtTimeZone(source.substring(start, end)) : null;
             if (tz != null) {
                 calendar.setTimeZone(tz);
             } else {
-                final String lowerCase = timeZone.toLowerCase(locale);
-                TzInfo tzInfo = tzNames.get(lowerCase);
-                if (tzInfo == null) {
-                    // match missing the optional trailing period
-                    tzInfo = tzNames.get(lowerCase + '.');
-                }
-                calendar.set(Calendar.DST_OFFSET, tzInfo.dstOffset);
-                calendar.set(Calendar.ZONE_OFFSET, tzInfo.zone.getRawOffset());
+                calendar.set(Calendar.DST_OFFSET, match.dstOffset);
+                calendar.set(Calendar.ZONE_OFFSET, match.zone.getRawOffset());
             }
+            return true;
         }
 
         /**
@@ -601,7 +766,7 @@ void setCalendar(final FastDateParser parser, final Calendar calendar, final Str
          */
         @Override
         public String toString() {
-            return "TimeZoneStrategy [locale=" + locale + ", tzNames=" + tzNames + ", pattern=" + pattern + "]";
+            return "TimeZoneStrategy [locale=" + locale + ", tzNames=" + tzNames + "]";
         }
 
     }
@@ -615,17 +780,18 @@ public String toString() {
 
     static final Locale JAPANESE_IMPERIAL = new Locale("ja", "JP", "JP");
 
-    /**
-     * comparator used to sort regex alternatives. Alternatives should be ordered longer first, and shorter last. ('february' before 'feb'). All entries must be
-     * lower-case by locale.
-     */
-    private static final Comparator<String> LONGER_FIRST_LOWERCASE = Comparator.reverseOrder();
-
     // helper classes to parse the format string
 
+    /**
+     * The caches of Strategies for each Calendar field, created upfront so that looking one up needs no lock.
+     */
     @SuppressWarnings("unchecked") // OK because we are creating an array with no entries
     private static final ConcurrentMap<Locale, Strategy>[] caches = new ConcurrentMap[Calendar.FIELD_COUNT];
 
+    static {
+        Arrays.setAll(caches, field -> new ConcurrentHashMap<>(3));
+    }
+
     private static final Strategy ABBREVIATED_YEAR_STRATEGY = new NumberStrategy(Calendar.YEAR) {
         /**
          * {@inheritDoc}
@@ -686,31 +852,6 @@ int modify(final FastDateParser parser, final int iValue) {
 
     private static final Strategy MILLISECOND_STRATEGY = new NumberStrategy(Calendar.MILLISECOND);
 
-    /**
-     * Gets the short and long values displayed for a field
-     *
-     * @param calendar The calendar to obtain the short and long values
-     * @param locale   The locale of display names
-     * @param field    The field of interest
-     * @param regex    The regular expression to build
-     * @return The map of string display names to field values
-     */
-    private static Map<String, Integer> appendDisplayNames(final Calendar calendar, final Locale locale, final int field, final StringBuilder regex) {
-        Objects.requireNonNull(calendar, "calendar");
-        final Map<String, Integer> values = new HashMap<>();
-        final Locale actualLocale = LocaleUtils.toLocale(locale);
-        final Map<String, Integer> displayNames = calendar.getDisplayNames(field, Calendar.ALL_STYLES, actualLocale);
-        final TreeSet<String> sorted = new TreeSet<>(LONGER_FIRST_LOWERCASE);
-        displayNames.forEach((k, v) -> {
-            final String keyLc = k.toLowerCase(actualLocale);
-            if (sorted.add(keyLc)) {
-                values.put(keyLc, v);
-            }
-        });
-        sorted.forEach(symbol -> simpleQuote(regex, symbol).append('|'));
-        return values;
-    }
-
     /**
      * Gets a cache of Strategies for a particular field
      *
@@ -718,46 +859,13 @@ private static Map<String, Integer> appendDisplayNames(final Calendar calendar,
      * @return a cache of Locale to Strategy
      */
     private static ConcurrentMap<Locale, Strategy> getCache(final int field) {
-        synchronized (caches) {
-            if (caches[field] == null) {
-                caches[field] = new ConcurrentHashMap<>(3);
-            }
-            return caches[field];
-        }
+        return caches[field];
     }
 
     private static boolean isFormatLetter(final char c) {
         return c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
     }
 
-    private static StringBuilder simpleQuote(final StringBuilder sb, final String value) {
-        for (int i = 0; i < value.length(); ++i) {
-            final char c = value.charAt(i);
-            switch (c) {
-            case '\\':
-            case '^':
-            case '$':
-            case '.':
-            case '|':
-            case '?':
-            case '*':
-            case '+':
-            case '(':
-            case ')':
-            case '[':
-            case '{':
-                sb.append('\\');
-            default:
-                sb.append(c);
-            }
-        }
-        if (sb.charAt(sb.length() - 1) == '.') {
-            // trailing '.' is optional
-            sb.append('?');
-        }
-        return sb;
-    }
-
     /** Input pattern. */
     private final String pattern;
 
@@ -780,6 +888,18 @@ private static StringBuilder simpleQuote(final StringBuilder sb, final String va
     /** Initialized from Calendar. */
     private transient List<StrategyAndWidth> patterns;
 
+    /** The strategies of {@link #patterns}, in order. */
+    private transient Strategy[] strategies;
+
+    /** The maximum width passed to each of {@link #strategies}, 0 for no limit. */
+    private transient int[] maxWidths;
+
+    /** The literal parts of the pattern, in order. */
+    private transient String[] literals;
+
+    /** The minimum length of a source this parser can parse in full. */
+    private transient int minLength;
+
     /**
      * Constructs a new FastDateParser.
      *
@@ -869,6 +989,11 @@ public Locale getLocale() {
      */
     private Strategy getLocaleSpecificStrategy(final int field, final Calendar definingCalendar) {
         final ConcurrentMap<Locale, Strategy> cache = getCache(field);
+        // get first: computeIfAbsent locks the bin even when the Strategy is there
+        final Strategy strategy = cache.get(locale);
+        if (strategy != null) {
+            return strategy;
+        }
         return cache.computeIfAbsent(locale,
                 k -> field == Calendar.ZONE_OFFSET ? new TimeZoneStrategy(locale) : new CaseInsensitiveTextStrategy(field, definingCalendar, locale));
     }
@@ -969,6 +1094,8 @@ public int hashCode() {
     private void init(final Calendar definingCalendar) {
         patterns = new ArrayList<>();
 
+        final List<String> literalList = new ArrayList<>();
+        int length = 0;
         final StrategyParser strategyParser = new StrategyParser(definingCalendar);
         for (;;) {
             final StrategyAndWidth field = strategyParser.getNextStrategy();
@@ -976,7 +1103,49 @@ private void init(final Calendar definingCalendar) {
                 break;
             }
             patterns.add(field);
+            if (field.strategy instanceof CopyQuotedStrategy) {
+                final String formatField = ((CopyQuotedStrategy) field.strategy).formatField;
+                literalList.add(formatField);
+                length += formatField.length();
+            } else if (field.strategy.isNumber()) {
+                // at least one digit
+                length++;
+            }
+        }
+        literals = literalList.toArray(ArrayUtils.EMPTY_STRING_ARRAY);
+        minLength = length;
+        // resolve the widths once rather than on each parse
+        strategies = new Strategy[patterns.size()];
+        maxWidths = new int[patterns.size()];
+        final ListIterator<StrategyAndWidth> lt = patterns.listIterator();
+        while (lt.hasNext()) {
+            final int i = lt.nextIndex();
+            final StrategyAndWidth strategyAndWidth = lt.next();
+            strategies[i] = strategyAndWidth.strategy;
+            maxWidths[i] = strategyAndWidth.getMaxWidth(lt);
+        }
+    }
+
+    /**
+     * Tests cheaply whether this parser may parse the whole source: the source must be long enough and contain the literal parts of the pattern in order.
+     * Returns false only if {@link #parse(String, ParsePosition, Calendar)} cannot consume the whole source.
+     *
+     * @param source The text to parse.
+     * @return false if this parser cannot parse the whole source.
+     */
+    boolean mayParse(final String source) {
+        if (source.length() < minLength) {
+            return false;
+        }
+        int from = 0;
+        for (final String literal : literals) {
+            final int index = source.indexOf(literal, from);
+            if (index < 0) {
+                return false;
+            }
+            from = index + literal.length();
         }
+        return true;
     }
 
     /*
@@ -1014,6 +1183,34 @@ public Date parse(final String source, final ParsePosition pos) {
         cal.clear();
         return parse(source, pos, cal) ? cal.getTime() : null;
     }
+
+    /**
+     * Parses text from a string to produce an {@link Instant}.
+     *
+     * @param source A {@code String} whose beginning should be parsed.
+     * @return the parsed instant.
+     * @throws ParseException if the beginning of the specified string cannot be parsed.
+     * @see #parse(String)
+     * @since 3.18.0
+     */
+    public Instant parseInstant(final String source) throws ParseException {
+        return parse(source).toInstant();
+    }
+
+    /**
+     * Parses text from a string to produce an {@link Instant}, like {@link #parse(String, ParsePosition)}.
+     *
+     * @param source A {@code String}, part of which should be parsed.
+     * @param pos A {@link ParsePosition} object with index and error index information.
+     * @return the parsed instant, or {@code null} in case of an error.
+     * @see #parse(String, ParsePosition)
+     * @since 3.18.0
+     */
+    public Instant parseInstant(final String source, final ParsePosition pos) {
+        final Calendar cal = Calendar.getInstance(timeZone, locale);
+        cal.clear();
+        return parse(source, pos, cal) ? Instant.ofEpochMilli(cal.getTimeInMillis()) : null;
+    }
     /**
      * Parses a formatted date string according to the format. Updates the Calendar with parsed fields. Upon success, the ParsePosition index is updated to
      * indicate how much of the source text was consumed. Not all source text needs to be consumed. Upon parse failure, ParsePosition error index is updated to
@@ -1027,11 +1224,8 @@ public Date parse(final String source, final ParsePosition pos) {
      */
     @Override
     public boolean parse(final String source, final ParsePosition pos, final Calendar calendar) {
-        final ListIterator<StrategyAndWidth> lt = patterns.listIterator();
-        while (lt.hasNext()) {
-            final StrategyAndWidth strategyAndWidth = lt.next();
-            final int maxWidth = strategyAndWidth.getMaxWidth(lt);
-            if (!strategyAndWidth.strategy.parse(this, calendar, source, pos, maxWidth)) {
+        for (int i = 0; i < strategies.length; i++) {
+            if (!strategies[i].parse(this, calendar, source, pos, maxWidths[i])) {
                 return false;
             }
         }
@@ -23,9 +23,19 @@
 import java.text.DateFormatSymbols;
 import java.text.FieldPosition;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.time.temporal.WeekFields;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -117,6 +127,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             buffer.append(value);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            buffer.append(value);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -142,6 +160,12 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             rule.appendTo(buffer, value == Calendar.SUNDAY ? 7 : value - 1);
         }
 
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            final int value = fields[Calendar.DAY_OF_WEEK];
+            rule.appendTo(buffer, value == Calendar.SUNDAY ? 7 : value - 1);
+        }
+
         @Override
         public void appendTo(final Appendable buffer, final int value) throws IOException {
             rule.appendTo(buffer, value);
@@ -153,6 +177,25 @@ public int estimateLength() {
         }
     }
 
+    /**
+     * Inner class holding whether daylight saving time is in effect during one hour.
+     */
+    private static final class DaylightHour {
+        private final long hour;
+        private final boolean daylight;
+
+        /**
+         * Constructs an instance of {@link DaylightHour}.
+         *
+         * @param hour the hour, counted from the epoch
+         * @param daylight whether daylight saving time is in effect
+         */
+        DaylightHour(final long hour, final boolean daylight) {
+            this.hour = hour;
+            this.daylight = daylight;
+        }
+    }
+
     /**
      * Inner class to output a time zone as a number {@code +/-HHMM}
      * or {@code +/-HH:MM}.
@@ -202,7 +245,18 @@ static Iso8601_Rule getRule(final int tokenLen) {
          */
         @Override
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
-            int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+            appendOffset(buffer, calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            appendOffset(buffer, fields[Calendar.ZONE_OFFSET] + fields[Calendar.DST_OFFSET]);
+        }
+
+        private void appendOffset(final Appendable buffer, int offset) throws IOException {
             if (offset == 0) {
                 buffer.append("Z");
                 return;
@@ -282,6 +336,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(field));
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            appendTo(buffer, fields[field]);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -313,6 +375,16 @@ private interface Rule {
          */
         void appendTo(Appendable buf, Calendar calendar) throws IOException;
 
+        /**
+         * Appends the value of the specified fields to the output buffer based on the rule implementation.
+         *
+         * @param buf the output buffer
+         * @param fields the field values, indexed by the {@link Calendar} field numbers, {@link FastDatePrinter#WEEK_YEAR}
+         *        and {@link FastDatePrinter#DAYLIGHT}
+         * @throws IOException if an I/O error occurs.
+         */
+        void appendTo(Appendable buf, int[] fields) throws IOException;
+
         /**
          * Returns the estimated length of the result.
          *
@@ -321,6 +393,25 @@ private interface Rule {
         int estimateLength();
     }
 
+    /**
+     * Inner class holding the text of one second, cut where the milliseconds go.
+     */
+    private static final class SecondText {
+        private final long second;
+        private final String[] texts;
+
+        /**
+         * Constructs an instance of {@link SecondText}.
+         *
+         * @param second the second, counted from the epoch
+         * @param texts the text before, between and after the milliseconds
+         */
+        SecondText(final long second, final String[] texts) {
+            this.second = second;
+            this.texts = texts;
+        }
+    }
+
     /**
      * Inner class to output a constant string.
      */
@@ -345,6 +436,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             buffer.append(value);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            buffer.append(value);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -380,6 +479,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             buffer.append(values[calendar.get(field)]);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            buffer.append(values[fields[field]]);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -481,6 +588,15 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             buffer.append(getTimeZoneDisplay(zone, daylight, style, locale));
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            // the fields are in the time zone given to the constructor
+            buffer.append(fields[DAYLIGHT] != 0 ? daylight : standard);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -516,9 +632,18 @@ private static class TimeZoneNumberRule implements Rule {
          */
         @Override
         public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
+            appendOffset(buffer, calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET));
+        }
 
-            int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            appendOffset(buffer, fields[Calendar.ZONE_OFFSET] + fields[Calendar.DST_OFFSET]);
+        }
 
+        private void appendOffset(final Appendable buffer, int offset) throws IOException {
             if (offset < 0) {
                 buffer.append('-');
                 offset = -offset;
@@ -574,6 +699,15 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             rule.appendTo(buffer, value);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            final int value = fields[Calendar.HOUR];
+            rule.appendTo(buffer, value == 0 ? 12 : value);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -619,6 +753,15 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             rule.appendTo(buffer, value);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            final int value = fields[Calendar.HOUR_OF_DAY];
+            rule.appendTo(buffer, value == 0 ? 24 : value);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -656,6 +799,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(Calendar.MONTH) + 1);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            appendTo(buffer, fields[Calendar.MONTH] + 1);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -696,6 +847,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(field));
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            appendTo(buffer, fields[field]);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -737,6 +896,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(Calendar.YEAR) % 100);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            appendTo(buffer, fields[Calendar.YEAR] % 100);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -774,6 +941,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(Calendar.MONTH) + 1);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            appendTo(buffer, fields[Calendar.MONTH] + 1);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -818,6 +993,14 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             appendTo(buffer, calendar.get(field));
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            appendTo(buffer, fields[field]);
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -856,6 +1039,11 @@ public void appendTo(final Appendable buffer, final Calendar calendar) throws IO
             rule.appendTo(buffer, calendar.getWeekYear());
         }
 
+        @Override
+        public void appendTo(final Appendable buffer, final int[] fields) throws IOException {
+            rule.appendTo(buffer, fields[WEEK_YEAR]);
+        }
+
         @Override
         public void appendTo(final Appendable buffer, final int value) throws IOException {
             rule.appendTo(buffer, value);
@@ -899,6 +1087,32 @@ public int estimateLength() {
 
     private static final int MAX_DIGITS = 10; // log10(Integer.MAX_VALUE) ~= 9.3
 
+    /**
+     * Index of the week year in the field values given to {@link Rule#appendTo(Appendable, int[])}, after the
+     * {@link Calendar} fields.
+     */
+    private static final int WEEK_YEAR = Calendar.FIELD_COUNT;
+
+    /**
+     * Index of the daylight saving time flag, 1 or 0, in the field values given to
+     * {@link Rule#appendTo(Appendable, int[])}.
+     */
+    private static final int DAYLIGHT = WEEK_YEAR + 1;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    /** The number of milliseconds in an hour. */
+    private static final long MILLIS_PER_HOUR = 60L * 60 * 1000;
+
+    /** First day formatted without a Calendar, from when a GregorianCalendar follows the Gregorian rules. */
+    private static final long MIN_EPOCH_DAY = LocalDate.of(1583, 1, 1).toEpochDay();
+
+    /** Day after the last day formatted without a Calendar. */
+    private static final long MAX_EPOCH_DAY = LocalDate.of(1_000_000, 1, 1).toEpochDay();
+
+    /** Days before the first of each month in a common year. */
+    private static final int[] DAYS_BEFORE_MONTH = { 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334 };
+
     private static final ConcurrentMap<TimeZoneDisplayKey, String> cTimeZoneDisplayCache =
         new ConcurrentHashMap<>(7);
 
@@ -988,6 +1202,25 @@ private static void appendFullDigits(final Appendable buffer, int value, int min
         }
     }
 
+    /**
+     * Gets the field printed by a number rule.
+     *
+     * @param rule the rule.
+     * @return the Calendar field printed by the rule, or -1 if the rule is not a plain number rule.
+     */
+    private static int fieldOf(final Rule rule) {
+        if (rule instanceof PaddedNumberField) {
+            return ((PaddedNumberField) rule).field;
+        }
+        if (rule instanceof TwoDigitNumberField) {
+            return ((TwoDigitNumberField) rule).field;
+        }
+        if (rule instanceof UnpaddedNumberField) {
+            return ((UnpaddedNumberField) rule).field;
+        }
+        return -1;
+    }
+
     /**
      * Gets the time zone display name, using a cache for performance.
      *
@@ -1028,6 +1261,41 @@ static String getTimeZoneDisplay(final TimeZone tz, final boolean daylight, fina
      */
     private transient int maxLengthEstimate;
 
+    /**
+     * Whether the rules can be applied to fields computed by {@link #toFields(long)} instead of a Calendar.
+     */
+    private transient boolean calendarFree;
+
+    /**
+     * The week definition of the Calendar of this printer, or {@code null} if no rule reads a week based field.
+     */
+    private transient WeekFields weekFields;
+
+    /**
+     * Whether a rule reads the daylight saving time flag.
+     */
+    private transient boolean daylightNamed;
+
+    /**
+     * Whether this printer caches the text of the last second it formatted, see {@link #withSecondCache()}.
+     */
+    private final boolean secondCache;
+
+    /**
+     * The rules that print the milliseconds, in order, or {@code null} if this printer does not cache seconds.
+     */
+    private transient NumberRule[] millisecondRules;
+
+    /**
+     * The text of the last second formatted, or {@code null}.
+     */
+    private transient volatile SecondText lastSecond;
+
+    /**
+     * Whether daylight saving time is in effect during the last hour whose time zone name was formatted, or {@code null}.
+     */
+    private transient volatile DaylightHour lastDaylightHour;
+
     // Constructor
     /**
      * Constructs a new FastDatePrinter.
@@ -1040,9 +1308,22 @@ static String getTimeZoneDisplay(final TimeZone tz, final boolean daylight, fina
      * @throws NullPointerException if pattern, timeZone, or locale is null.
      */
     protected FastDatePrinter(final String pattern, final TimeZone timeZone, final Locale locale) {
+        this(pattern, timeZone, locale, false);
+    }
+
+    /**
+     * Constructs a new FastDatePrinter.
+     *
+     * @param pattern  {@link java.text.SimpleDateFormat} compatible pattern
+     * @param timeZone  non-null time zone to use
+     * @param locale  non-null locale to use
+     * @param secondCache  whether to cache the text of the last second formatted
+     */
+    private FastDatePrinter(final String pattern, final TimeZone timeZone, final Locale locale, final boolean secondCache) {
         this.pattern = pattern;
         this.timeZone = timeZone;
         this.locale = LocaleUtils.toLocale(locale);
+        this.secondCache = secondCache;
         init();
     }
 
@@ -1066,6 +1347,74 @@ private <B extends Appendable> B applyRules(final Calendar calendar, final B buf
         return buf;
     }
 
+    /**
+     * Performs the formatting by applying the rules to the
+     * specified instant, without a Calendar when possible.
+     *
+     * @param millis  the instant to format, in milliseconds since the epoch
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified string buffer
+     */
+    private <B extends Appendable> B applyRules(final long millis, final B buf) {
+        if (millisecondRules != null) {
+            final SecondText text = getSecondText(Math.floorDiv(millis, 1000));
+            if (text != null) {
+                return applyRules(text, (int) Math.floorMod(millis, 1000), buf);
+            }
+        }
+        final int[] fields = calendarFree ? toFields(millis) : null;
+        if (fields == null) {
+            final Calendar c = newCalendar();
+            c.setTimeInMillis(millis);
+            return applyRules(c, buf);
+        }
+        return applyRules(fields, buf);
+    }
+
+    /**
+     * Performs the formatting by applying the millisecond rules to the
+     * specified text of a second.
+     *
+     * @param text  the text of the second
+     * @param millisOfSecond  the milliseconds to format
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified string buffer
+     */
+    private <B extends Appendable> B applyRules(final SecondText text, final int millisOfSecond, final B buf) {
+        try {
+            buf.append(text.texts[0]);
+            for (int i = 0; i < millisecondRules.length; i++) {
+                millisecondRules[i].appendTo(buf, millisOfSecond);
+                buf.append(text.texts[i + 1]);
+            }
+        } catch (final IOException ioe) {
+            ExceptionUtils.asRuntimeException(ioe);
+        }
+        return buf;
+    }
+
+    /**
+     * Performs the formatting by applying the rules to the
+     * specified field values.
+     *
+     * @param fields  the field values to format
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified string buffer
+     */
+    private <B extends Appendable> B applyRules(final int[] fields, final B buf) {
+        try {
+            for (final Rule rule : rules) {
+                rule.appendTo(buf, fields);
+            }
+        } catch (final IOException ioe) {
+            ExceptionUtils.asRuntimeException(ioe);
+        }
+        return buf;
+    }
+
     /**
      * Performs the formatting by applying the rules to the
      * specified calendar.
@@ -1081,15 +1430,6 @@ protected StringBuffer applyRules(final Calendar calendar, final StringBuffer bu
         return (StringBuffer) applyRules(calendar, (Appendable) buf);
     }
 
-    /**
-     * Creates a String representation of the given Calendar by applying the rules of this printer to it.
-     * @param c the Calendar to apply the rules to.
-     * @return a String representation of the given Calendar.
-     */
-    private String applyRulesToString(final Calendar c) {
-        return applyRules(c, new StringBuilder(maxLengthEstimate)).toString();
-    }
-
     // Basics
     /**
      * Compares two objects for equality.
@@ -1143,9 +1483,7 @@ public StringBuffer format(final Calendar calendar, final StringBuffer buf) {
      */
     @Override
     public String format(final Date date) {
-        final Calendar c = newCalendar();
-        c.setTime(date);
-        return applyRulesToString(c);
+        return applyRules(date.getTime(), new StringBuilder(maxLengthEstimate)).toString();
     }
 
     /* (non-Javadoc)
@@ -1153,9 +1491,7 @@ public String format(final Date date) {
      */
     @Override
     public <B extends Appendable> B format(final Date date, final B buf) {
-        final Calendar c = newCalendar();
-        c.setTime(date);
-        return applyRules(c, buf);
+        return applyRules(date.getTime(), buf);
     }
 
     /* (non-Javadoc)
@@ -1163,9 +1499,7 @@ public <B extends Appendable> B format(final Date date, final B buf) {
      */
     @Override
     public StringBuffer format(final Date date, final StringBuffer buf) {
-        final Calendar c = newCalendar();
-        c.setTime(date);
-        return (StringBuffer) applyRules(c, (Appendable) buf);
+        return applyRules(date.getTime(), buf);
     }
 
     /* (non-Javadoc)
@@ -1173,9 +1507,7 @@ public StringBuffer format(final Date date, final StringBuffer buf) {
      */
     @Override
     public String format(final long millis) {
-        final Calendar c = newCalendar();
-        c.setTimeInMillis(millis);
-        return applyRulesToString(c);
+        return applyRules(millis, new StringBuilder(maxLengthEstimate)).toString();
     }
 
     /* (non-Javadoc)
@@ -1183,9 +1515,7 @@ public String format(final long millis) {
      */
     @Override
     public <B extends Appendable> B format(final long millis, final B buf) {
-        final Calendar c = newCalendar();
-        c.setTimeInMillis(millis);
-        return applyRules(c, buf);
+        return applyRules(millis, buf);
     }
 
     /* (non-Javadoc)
@@ -1193,14 +1523,80 @@ public <B extends Appendable> B format(final long millis, final B buf) {
      */
     @Override
     public StringBuffer format(final long millis, final StringBuffer buf) {
-        final Calendar c = newCalendar();
-        c.setTimeInMillis(millis);
-        return (StringBuffer) applyRules(c, (Appendable) buf);
+        return applyRules(millis, buf);
     }
 
     /**
-     * Formats a {@link Date}, {@link Calendar} or
-     * {@link Long} (milliseconds) object.
+     * Formats a {@link TemporalAccessor} object.
+     *
+     * @param temporal  the temporal to format
+     * @return the formatted string
+     * @see #format(TemporalAccessor, Appendable)
+     * @since 3.18.0
+     */
+    public String format(final TemporalAccessor temporal) {
+        return format(temporal, new StringBuilder(maxLengthEstimate)).toString();
+    }
+
+    /**
+     * Formats a {@link TemporalAccessor} object into the supplied {@link Appendable}.
+     *
+     * <p>
+     * An {@link Instant}, or a temporal that denotes one such as a {@link java.time.ZonedDateTime}, is formatted in the time
+     * zone of this printer, like the {@link Date} of the same instant; the precision is one millisecond. The fields of any
+     * other temporal, such as a {@link java.time.LocalDateTime}, are read directly as a date and time of the proleptic
+     * Gregorian calendar in the time zone of this printer. A missing date stands for 1970-01-01 and a missing time for
+     * midnight.
+     * </p>
+     * <p>
+     * If the calendar of the locale is not a {@link GregorianCalendar}, such as the Buddhist calendar of {@code th_TH} or the
+     * Japanese imperial calendar, a temporal without an instant is resolved to an instant in the time zone of this printer
+     * instead, and formatted in that calendar like the {@link Date} of the same local time.
+     * </p>
+     *
+     * @param temporal  the temporal to format
+     * @param buf  the buffer to format into
+     * @param <B> the Appendable class type, usually StringBuilder or StringBuffer.
+     * @return the specified string buffer
+     * @throws java.time.DateTimeException if the instant of the temporal, or its date in a calendar other than the
+     *         Gregorian one, does not fit in a {@code long} of milliseconds
+     * @since 3.18.0
+     */
+    public <B extends Appendable> B format(final TemporalAccessor temporal, final B buf) {
+        if (temporal.isSupported(ChronoField.INSTANT_SECONDS)) {
+            try {
+                return applyRules(Instant.from(temporal).toEpochMilli(), buf);
+            } catch (final ArithmeticException e) {
+                throw new DateTimeException("Instant exceeds the range of milliseconds: " + temporal, e);
+            }
+        }
+        final LocalDate date = temporal.query(TemporalQueries.localDate());
+        final LocalTime time = temporal.query(TemporalQueries.localTime());
+        final long epochDay = date != null ? date.toEpochDay() : 0;
+        final int millisOfDay = time != null ? (int) (time.toNanoOfDay() / 1_000_000) : 0;
+        final boolean inRange = Math.abs(epochDay) < Long.MAX_VALUE / MILLIS_PER_DAY - 1;
+        if (!calendarFree) {
+            // the fields of the locale's calendar differ from the ISO ones, format the local time like a Date
+            if (!inRange) {
+                throw new DateTimeException("Date exceeds the range of milliseconds: " + temporal);
+            }
+            final long local = epochDay * MILLIS_PER_DAY + millisOfDay;
+            return applyRules(local - timeZone.getOffset(local - timeZone.getOffset(local)), buf);
+        }
+        int offset = timeZone.getRawOffset();
+        boolean daylight = false;
+        if (inRange) {
+            // the offset in effect at that local time, like a Calendar resolves it
+            final long local = epochDay * MILLIS_PER_DAY + millisOfDay;
+            offset = timeZone.getOffset(local - timeZone.getOffset(local));
+            daylight = daylightNamed && inDaylightTime(local - offset, offset);
+        }
+        return applyRules(toFields(epochDay, millisOfDay, offset, daylight), buf);
+    }
+
+    /**
+     * Formats a {@link Date}, {@link Calendar},
+     * {@link Long} (milliseconds) or {@link TemporalAccessor} object.
      * @since 3.5
      * @param obj  the object to format
      * @return The formatted value.
@@ -1215,6 +1611,9 @@ String format(final Object obj) {
         if (obj instanceof Long) {
             return format(((Long) obj).longValue());
         }
+        if (obj instanceof TemporalAccessor) {
+            return format((TemporalAccessor) obj);
+        }
         throw new IllegalArgumentException("Unknown class: " + ClassUtils.getName(obj, "<null>"));
     }
 
@@ -1240,6 +1639,9 @@ public StringBuffer format(final Object obj, final StringBuffer toAppendTo, fina
         if (obj instanceof Long) {
             return format(((Long) obj).longValue(), toAppendTo);
         }
+        if (obj instanceof TemporalAccessor) {
+            return format((TemporalAccessor) obj, toAppendTo);
+        }
         throw new IllegalArgumentException("Unknown class: " + ClassUtils.getName(obj, "<null>"));
     }
 
@@ -1251,6 +1653,56 @@ public Locale getLocale() {
         return locale;
     }
 
+    /**
+     * Gets the text of a second, from the cache or by formatting it.
+     *
+     * @param second  the second, counted from the epoch
+     * @return the text of the second, or {@code null} if it cannot be cut from the milliseconds
+     */
+    private SecondText getSecondText(final long second) {
+        final SecondText last = lastSecond;
+        if (last != null && last.second == second) {
+            return last;
+        }
+        final long millis = second * 1000;
+        final int[] fields = calendarFree ? toFields(millis) : null;
+        final Calendar calendar;
+        final int offset;
+        if (fields != null) {
+            calendar = null;
+            offset = fields[Calendar.ZONE_OFFSET];
+        } else {
+            calendar = newCalendar();
+            calendar.setTimeInMillis(millis);
+            offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+        }
+        if (offset % 1000 != 0) {
+            // the local second does not start with the second of the epoch
+            return null;
+        }
+        final String[] texts = new String[millisecondRules.length + 1];
+        final StringBuilder buf = new StringBuilder(maxLengthEstimate);
+        int count = 0;
+        try {
+            for (final Rule rule : rules) {
+                if (fieldOf(rule) == Calendar.MILLISECOND) {
+                    texts[count++] = buf.toString();
+                    buf.setLength(0);
+                } else if (fields != null) {
+                    rule.appendTo(buf, fields);
+                } else {
+                    rule.appendTo(buf, calendar);
+                }
+            }
+        } catch (final IOException ioe) {
+            ExceptionUtils.asRuntimeException(ioe);
+        }
+        texts[count] = buf.toString();
+        final SecondText text = new SecondText(second, texts);
+        lastSecond = text;
+        return text;
+    }
+
     /**
      * Gets an estimate for the maximum string length that the
      * formatter will produce.
@@ -1291,6 +1743,30 @@ public int hashCode() {
         return pattern.hashCode() + 13 * (timeZone.hashCode() + 13 * locale.hashCode());
     }
 
+    /**
+     * Tests whether daylight saving time is in effect at an instant, without allocating if it is in the same hour as the
+     * previous call. The flag of an hour is only kept if the offset and the flag are the same at its start and its end.
+     *
+     * @param millis the instant, in milliseconds since the epoch.
+     * @param offset the time zone offset at the instant, in milliseconds.
+     * @return whether daylight saving time is in effect.
+     */
+    private boolean inDaylightTime(final long millis, final int offset) {
+        final long hour = Math.floorDiv(millis, MILLIS_PER_HOUR);
+        final DaylightHour last = lastDaylightHour;
+        if (last != null && last.hour == hour) {
+            return last.daylight;
+        }
+        final boolean daylight = timeZone.inDaylightTime(new Date(millis));
+        final long start = hour * MILLIS_PER_HOUR;
+        final long end = start + MILLIS_PER_HOUR - 1;
+        if (timeZone.getOffset(start) == offset && timeZone.getOffset(end) == offset && timeZone.inDaylightTime(new Date(start)) == daylight
+                && timeZone.inDaylightTime(new Date(end)) == daylight) {
+            lastDaylightHour = new DaylightHour(hour, daylight);
+        }
+        return daylight;
+    }
+
     /**
      * Initializes the instance for first use.
      */
@@ -1299,11 +1775,34 @@ private void init() {
         rules = rulesList.toArray(EMPTY_RULE_ARRAY);
 
         int len = 0;
+        boolean weekBased = false;
+        boolean named = false;
         for (int i = rules.length; --i >= 0;) {
             len += rules[i].estimateLength();
+            final int field = fieldOf(rules[i]);
+            weekBased |= rules[i] instanceof WeekYear || field == Calendar.WEEK_OF_YEAR || field == Calendar.WEEK_OF_MONTH;
+            if (rules[i] instanceof TimeZoneNameRule) {
+                final TimeZoneNameRule rule = (TimeZoneNameRule) rules[i];
+                named |= !rule.standard.equals(rule.daylight);
+            }
         }
 
         maxLengthEstimate = len;
+        final Calendar calendar = newCalendar();
+        calendarFree = calendar.getClass() == GregorianCalendar.class;
+        // Calendar numbers the days of the week from Sunday, DayOfWeek from Monday
+        weekFields = weekBased ? WeekFields.of(DayOfWeek.of((calendar.getFirstDayOfWeek() + 5) % 7 + 1), calendar.getMinimalDaysInFirstWeek()) : null;
+        daylightNamed = named;
+        // the offsets of the JDK time zones change on whole seconds
+        if (secondCache && TimeZone.getTimeZone(timeZone.getID()).hasSameRules(timeZone)) {
+            final List<NumberRule> list = new ArrayList<>();
+            for (final Rule rule : rules) {
+                if (fieldOf(rule) == Calendar.MILLISECOND) {
+                    list.add((NumberRule) rule);
+                }
+            }
+            millisecondRules = list.toArray(new NumberRule[0]);
+        }
     }
 
     /**
@@ -1557,6 +2056,93 @@ protected NumberRule selectNumberRule(final int field, final int padding) {
         }
     }
 
+    /**
+     * Computes the field values of an instant in this printer's time zone the way a {@link GregorianCalendar} does,
+     * with integer arithmetic.
+     *
+     * @param millis the instant, in milliseconds since the epoch.
+     * @return the field values, or {@code null} if the instant is outside the supported range.
+     */
+    private int[] toFields(final long millis) {
+        if (millis < MIN_EPOCH_DAY * MILLIS_PER_DAY || millis >= MAX_EPOCH_DAY * MILLIS_PER_DAY) {
+            return null;
+        }
+        final int offset = timeZone.getOffset(millis);
+        final long local = millis + offset;
+        final long epochDay = Math.floorDiv(local, MILLIS_PER_DAY);
+        if (epochDay < MIN_EPOCH_DAY || epochDay >= MAX_EPOCH_DAY) {
+            return null;
+        }
+        return toFields(epochDay, (int) (local - epochDay * MILLIS_PER_DAY), offset, daylightNamed && inDaylightTime(millis, offset));
+    }
+
+    /**
+     * Computes the field values of a date and time in the proleptic Gregorian calendar, with integer arithmetic. The
+     * whole offset is in {@link Calendar#ZONE_OFFSET}.
+     *
+     * @param epochDay the day, counted from 1970-01-01.
+     * @param millisOfDay the time of day, in milliseconds.
+     * @param offset the time zone offset, in milliseconds.
+     * @param daylight whether daylight saving time is in effect.
+     * @return the field values.
+     */
+    private int[] toFields(final long epochDay, final int millisOfDay, final int offset, final boolean daylight) {
+        // Civil date of a day count, in years starting on March 1st, so that the leap day comes last
+        final long days = epochDay + 719_468; // days from 0000-03-01
+        final long cycle = Math.floorDiv(days, 146_097); // 400 year cycles
+        final int dayOfCycle = (int) (days - cycle * 146_097);
+        final int yearOfCycle = (dayOfCycle - dayOfCycle / 1460 + dayOfCycle / 36_524 - dayOfCycle / 146_096) / 365;
+        final int dayOfMarchYear = dayOfCycle - (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100);
+        final int marchMonth = (5 * dayOfMarchYear + 2) / 153;
+        final int dayOfMonth = dayOfMarchYear - (153 * marchMonth + 2) / 5 + 1;
+        final int month = marchMonth < 10 ? marchMonth + 2 : marchMonth - 10;
+        final int year = (int) (cycle * 400) + yearOfCycle + (month < Calendar.MARCH ? 1 : 0);
+        final boolean leap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+        final int hourOfDay = millisOfDay / (60 * 60 * 1000);
+
+        final int[] fields = new int[DAYLIGHT + 1];
+        fields[Calendar.ERA] = year > 0 ? GregorianCalendar.AD : GregorianCalendar.BC;
+        fields[Calendar.YEAR] = year > 0 ? year : 1 - year;
+        fields[Calendar.MONTH] = month;
+        fields[Calendar.DAY_OF_MONTH] = dayOfMonth;
+        fields[Calendar.DAY_OF_YEAR] = DAYS_BEFORE_MONTH[month] + dayOfMonth + (leap && month > Calendar.FEBRUARY ? 1 : 0);
+        // 1970-01-01 was a Thursday
+        fields[Calendar.DAY_OF_WEEK] = (int) Math.floorMod(epochDay + Calendar.THURSDAY - 1, 7) + Calendar.SUNDAY;
+        fields[Calendar.DAY_OF_WEEK_IN_MONTH] = (dayOfMonth - 1) / 7 + 1;
+        fields[Calendar.AM_PM] = hourOfDay / 12;
+        fields[Calendar.HOUR] = hourOfDay % 12;
+        fields[Calendar.HOUR_OF_DAY] = hourOfDay;
+        fields[Calendar.MINUTE] = millisOfDay / (60 * 1000) % 60;
+        fields[Calendar.SECOND] = millisOfDay / 1000 % 60;
+        fields[Calendar.MILLISECOND] = millisOfDay % 1000;
+        fields[Calendar.ZONE_OFFSET] = offset;
+        fields[DAYLIGHT] = daylight ? 1 : 0;
+        if (weekFields != null) {
+            final LocalDate date = LocalDate.ofEpochDay(epochDay);
+            fields[Calendar.WEEK_OF_YEAR] = date.get(weekFields.weekOfWeekBasedYear());
+            fields[Calendar.WEEK_OF_MONTH] = date.get(weekFields.weekOfMonth());
+            fields[WEEK_YEAR] = date.get(weekFields.weekBasedYear());
+        }
+        return fields;
+    }
+
+    /**
+     * Gets a printer like this one that caches the text of the last second it formatted.
+     *
+     * <p>
+     * Formatting an instant in the same second as the previous one, through {@link #format(long)}, {@link #format(Date)},
+     * {@link #format(TemporalAccessor)} of an instant, or their variants, then only prints the milliseconds and copies the
+     * rest. This suits timestamps that mostly come in order, such as the ones of log lines, from one or many threads. When
+     * the instants jump around, the cache costs a little time instead. The output is the same as without the cache.
+     * </p>
+     *
+     * @return a printer that caches the last second, this printer if it already does.
+     * @since 3.18.0
+     */
+    public FastDatePrinter withSecondCache() {
+        return secondCache ? this : new FastDatePrinter(pattern, timeZone, locale, true);
+    }
+
     /**
      * Gets a debugging string version of this formatter.
      *
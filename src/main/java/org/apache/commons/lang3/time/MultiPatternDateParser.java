@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.time;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.LocaleUtils;
+
+/**
+ * Parses a date with the first of several patterns that parses the whole input, like
+ * {@link DateUtils#parseDate(String, Locale, String...)}.
+ *
+ * <p>
+ * The patterns are compiled once into {@link FastDateParser}s, so an instance can be reused to parse many dates. Before
+ * trying a pattern, the parser checks cheaply that the input is long enough for it and contains its literal parts, such
+ * as separators, in order; patterns that cannot match are skipped without running their strategies.
+ * </p>
+ *
+ * <pre>{@code
+ * private static final MultiPatternDateParser PARSER = MultiPatternDateParser.getInstance(TimeZone.getDefault(), Locale.US, false,
+ *     "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd", "dd/MM/yyyy");
+ * ...
+ * PARSER.parse("2024-02-29");
+ * }</pre>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ *
+ * @see DateUtils#parseDate(String, Locale, String...)
+ * @see DateUtils#parseDateStrictly(String, Locale, String...)
+ * @since 3.18.0
+ */
+public final class MultiPatternDateParser {
+
+    /**
+     * Cache key.
+     */
+    private static final class Key {
+
+        private final String[] patterns;
+        private final TimeZone timeZone;
+        private final Locale locale;
+        private final boolean lenient;
+        private final int hashCode;
+
+        Key(final String[] patterns, final TimeZone timeZone, final Locale locale, final boolean lenient) {
+            this.patterns = patterns;
+            this.timeZone = timeZone;
+            this.locale = locale;
+            this.lenient = lenient;
+            this.hashCode = Objects.hash(Arrays.hashCode(patterns), timeZone, locale, lenient);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return lenient == other.lenient && Arrays.equals(patterns, other.patterns) && timeZone.equals(other.timeZone)
+                && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The maximum number of instances cached by {@link #getInstance(TimeZone, Locale, boolean, String...)}, beyond
+     * which the least recently used ones are evicted.
+     */
+    static final int MAX_CACHED = 64;
+
+    private static final BoundedCache<Key, MultiPatternDateParser> CACHE = new BoundedCache<>(MAX_CACHED);
+
+    /**
+     * Gets a parser for the given patterns, time zone and locale, reusing a cached instance when possible.
+     *
+     * @param timeZone the time zone to parse with, not null.
+     * @param locale the locale to parse with, null means the default locale.
+     * @param lenient whether the parsing is lenient, see {@link Calendar#setLenient(boolean)}.
+     * @param patterns the date format patterns to use, see {@link java.text.SimpleDateFormat}, not null.
+     * @return a parser.
+     * @throws NullPointerException if the time zone or the pattern array is null.
+     */
+    public static MultiPatternDateParser getInstance(final TimeZone timeZone, final Locale locale, final boolean lenient, final String... patterns) {
+        Objects.requireNonNull(timeZone, "timeZone");
+        Objects.requireNonNull(patterns, "patterns");
+        final Locale actualLocale = LocaleUtils.toLocale(locale);
+        final MultiPatternDateParser parser = CACHE.getIfPresent(new Key(patterns, timeZone, actualLocale, lenient));
+        if (parser != null) {
+            return parser;
+        }
+        // the caller may change its array and time zone later
+        final String[] copy = patterns.clone();
+        final TimeZone zone = (TimeZone) timeZone.clone();
+        return CACHE.get(new Key(copy, zone, actualLocale, lenient), k -> new MultiPatternDateParser(copy, zone, actualLocale, lenient));
+    }
+
+    private final String[] patterns;
+    private final TimeZone timeZone;
+    private final Locale locale;
+    private final boolean lenient;
+
+    /**
+     * The compiled parser of each pattern, or {@code null} if the pattern is invalid: such a pattern is compiled again
+     * when it is reached, so that it fails like it would in {@link DateUtils#parseDate(String, Locale, String...)}.
+     */
+    private final FastDateParser[] parsers;
+
+    private MultiPatternDateParser(final String[] patterns, final TimeZone timeZone, final Locale locale, final boolean lenient) {
+        this.patterns = patterns;
+        this.timeZone = timeZone;
+        this.locale = locale;
+        this.lenient = lenient;
+        this.parsers = new FastDateParser[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            try {
+                parsers[i] = new FastDateParser(patterns[i], timeZone, locale);
+            } catch (final RuntimeException e) {
+                parsers[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Gets the locale used by this parser.
+     *
+     * @return the locale.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Gets a copy of the patterns used by this parser.
+     *
+     * @return the patterns.
+     */
+    public String[] getPatterns() {
+        return patterns.clone();
+    }
+
+    /**
+     * Gets the time zone used by this parser.
+     *
+     * @return the time zone.
+     */
+    public TimeZone getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * Tests whether this parser is lenient.
+     *
+     * @return whether this parser is lenient.
+     */
+    public boolean isLenient() {
+        return lenient;
+    }
+
+    /**
+     * Parses a string representing a date by trying the patterns in turn. The parse will try each pattern until one
+     * parses the whole string.
+     *
+     * @param source the date to parse, not null.
+     * @return the parsed date.
+     * @throws NullPointerException if the source is null.
+     * @throws ParseException if none of the patterns were suitable.
+     */
+    public Date parse(final String source) throws ParseException {
+        Objects.requireNonNull(source, "source");
+        final ParsePosition pos = new ParsePosition(0);
+        Calendar calendar = null;
+        for (int i = 0; i < parsers.length; i++) {
+            FastDateParser parser = parsers[i];
+            if (parser == null) {
+                // Throws like the first time.
+                parser = new FastDateParser(patterns[i], timeZone, locale);
+            }
+            if (!parser.mayParse(source)) {
+                continue;
+            }
+            if (calendar == null) {
+                calendar = Calendar.getInstance(timeZone, locale);
+                calendar.setLenient(lenient);
+            }
+            calendar.clear();
+            try {
+                if (parser.parse(source, pos, calendar) && pos.getIndex() == source.length()) {
+                    return calendar.getTime();
+                }
+            } catch (final IllegalArgumentException ignored) {
+                // leniency is preventing calendar from being set
+            }
+            pos.setIndex(0);
+        }
+        throw new ParseException("Unable to parse the date: " + source, -1);
+    }
+
+    @Override
+    public String toString() {
+        return "MultiPatternDateParser[" + Arrays.toString(patterns) + ", " + locale + ", " + timeZone.getID() + ", lenient=" + lenient + "]";
+    }
+}
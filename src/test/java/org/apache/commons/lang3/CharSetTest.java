@@ -360,6 +360,37 @@ public void testContains_Char() {
         assertEquals(1, array.length);
     }
 
+    @Test
+    public void testContains_CharAllRepresentations() {
+        // dense, sparse, negated, wide and full sets, compared against the ranges themselves
+        final String[][] sets = { {}, { "a" }, { "a-z" }, { "^a" }, { "^a-z" }, { "a\uffff" }, { "\u0000\uffff" }, { "^\u0000" }, { "^\uffff" },
+            { "a-z", "^0-9" }, { "^a-z", "^b-y" }, { "\u0100-\uff00" }, { "^\u0100-\uff00" }, { "aceg\u1000\u2000\u3000\u4000\u5000" },
+            { "\u0000-\u7fff", "\u8000-\uffff" }, { "a\u1000b\u2000c\u3000d\u4000e\u5000f\u6000g\u7000h\u8000i\u9000j\ua000" } };
+        for (final String[] strs : sets) {
+            final CharSet set = CharSet.getInstance(strs);
+            final CharRange[] ranges = set.getCharRanges();
+            for (int i = Character.MIN_VALUE; i <= Character.MAX_VALUE; i++) {
+                final char ch = (char) i;
+                boolean expected = false;
+                for (final CharRange range : ranges) {
+                    expected |= range.contains(ch);
+                }
+                assertEquals(expected, set.contains(ch), () -> set + " " + (int) ch);
+            }
+        }
+    }
+
+    @Test
+    public void testContains_CharAfterAdd() {
+        final CharSet set = new CharSet("a") {
+            private static final long serialVersionUID = 1L;
+        };
+        assertTrue(set.contains('a'));
+        assertFalse(set.contains('b'));
+        set.add("b");
+        assertTrue(set.contains('b'));
+    }
+
     @Test
     public void testEquals_Object() {
         final CharSet abc = CharSet.getInstance("abc");
@@ -442,6 +473,7 @@ public void testSerialization() {
         assertEquals(set, SerializationUtils.clone(set));
         set = CharSet.getInstance("be-f^a-z");
         assertEquals(set, SerializationUtils.clone(set));
+        assertTrue(SerializationUtils.clone(set).contains('b'));
     }
 
     @Test
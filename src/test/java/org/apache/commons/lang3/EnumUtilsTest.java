@@ -417,6 +417,36 @@ public void test_getEnumSystemProperty() {
         }
     }
 
+    @Test
+    public void test_getFirstEnumIgnoreCase_capturingFunction() {
+        // Each capturing function gives its own keys, none are cached.
+        for (int i = 0; i < 100; i++) {
+            final String suffix = "-" + i;
+            final Function<Traffic2, String> f = e -> e.name() + suffix;
+            assertEquals(Traffic2.AMBER, EnumUtils.getFirstEnumIgnoreCase(Traffic2.class, "amber" + suffix, f, null));
+            assertNull(EnumUtils.getFirstEnumIgnoreCase(Traffic2.class, "amber", f, null));
+        }
+    }
+
+    @Test
+    public void test_getFirstEnumIgnoreCase_changingFunction() {
+        final StringBuilder prefix = new StringBuilder("a-");
+        final Function<Traffic2, String> f = e -> prefix + e.name();
+        assertEquals(Traffic2.AMBER, EnumUtils.getFirstEnumIgnoreCase(Traffic2.class, "a-amber", f, null));
+        prefix.setLength(0);
+        prefix.append("b-");
+        assertEquals(Traffic2.AMBER, EnumUtils.getFirstEnumIgnoreCase(Traffic2.class, "b-amber", f, null));
+        assertNull(EnumUtils.getFirstEnumIgnoreCase(Traffic2.class, "a-amber", f, null));
+    }
+
+    @Test
+    public void test_getFirstEnumIgnoreCase_duplicateKeys() {
+        final Function<Traffic2, String> f = e -> e == Traffic2.RED ? null : "go";
+        assertEquals(Traffic2.AMBER, EnumUtils.getFirstEnumIgnoreCase(Traffic2.class, "GO", f, null));
+        assertEquals(Traffic2.AMBER, EnumUtils.getFirstEnumIgnoreCase(Traffic2.class, "go", f, null));
+        assertNull(EnumUtils.getFirstEnumIgnoreCase(Traffic2.class, "stop", f, null));
+    }
+
     @Test
     public void test_getFirstEnumIgnoreCase_defaultEnum() {
         final Function<Traffic2, String> f = Traffic2::getLabel;
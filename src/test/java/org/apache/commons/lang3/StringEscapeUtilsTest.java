@@ -20,16 +20,23 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Random;
 
 import org.apache.commons.lang3.text.translate.CharSequenceTranslator;
 import org.apache.commons.lang3.text.translate.NumericEntityEscaper;
@@ -57,6 +64,47 @@ public class StringEscapeUtilsTest extends AbstractLangTest {
         {"8-bit ascii shouldn't number-escape", "\u0080\u009F", "\u0080\u009F"},
     };
 
+    private static final CharSequenceTranslator[] TRANSLATORS = { StringEscapeUtils.ESCAPE_JAVA, StringEscapeUtils.ESCAPE_ECMASCRIPT,
+        StringEscapeUtils.ESCAPE_JSON, StringEscapeUtils.ESCAPE_XML10, StringEscapeUtils.ESCAPE_XML11, StringEscapeUtils.ESCAPE_HTML3,
+        StringEscapeUtils.ESCAPE_HTML4, StringEscapeUtils.UNESCAPE_JAVA, StringEscapeUtils.UNESCAPE_ECMASCRIPT, StringEscapeUtils.UNESCAPE_JSON,
+        StringEscapeUtils.UNESCAPE_HTML3, StringEscapeUtils.UNESCAPE_HTML4, StringEscapeUtils.UNESCAPE_XML };
+
+    private static final CharSequenceTranslator[] STREAMING_TRANSLATORS = ArrayUtils.addAll(TRANSLATORS, StringEscapeUtils.ESCAPE_CSV,
+        StringEscapeUtils.UNESCAPE_CSV);
+
+    private static final String[] TRANSLATE_INPUT_PARTS = { "a", "Z", " ", "&", "#", "x", ";", "\\", "0", "4", "1", "<", "'", "\"", "/", ",",
+        "\n", "\u00e9", "\u0085", "\u0008", "\ud83d\ude00", "\ud83d", "\ude00", "\ufffe", "&amp;", "&#233;", "&#x1F600;", "&thetasym;",
+        "\\u00e9", "\\n", "\\101" };
+
+    /**
+     * Tests whether the input is a lone quote, which the CSV unescaper fails on.
+     */
+    private static boolean isFailingCsvInput(final CharSequenceTranslator translator, final String input) {
+        return translator == StringEscapeUtils.UNESCAPE_CSV && input.equals("\"");
+    }
+
+    private static String randomTranslateInput(final Random random) {
+        final StringBuilder input = new StringBuilder();
+        final int length = random.nextInt(12);
+        for (int j = 0; j < length; j++) {
+            input.append(TRANSLATE_INPUT_PARTS[random.nextInt(TRANSLATE_INPUT_PARTS.length)]);
+        }
+        return input.toString();
+    }
+
+    /**
+     * Translates a Reader, returning the output or the class of the exception thrown.
+     */
+    private static String translateStream(final CharSequenceTranslator translator, final Reader reader) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try {
+            translator.translateStream(reader, writer);
+        } catch (final IllegalArgumentException e) {
+            return e.getClass().getName();
+        }
+        return writer.toString();
+    }
+
     private void assertEscapeJava(final String escaped, final String original) throws IOException {
         assertEscapeJava(null, escaped, original);
     }
@@ -411,6 +459,117 @@ public void testStandaloneAmphersand() {
         assertEquals("test & <", StringEscapeUtils.unescapeXml("test & &lt;"));
     }
 
+    @Test
+    public void testTranslateCharBuffer() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final String input = randomTranslateInput(random);
+            for (final CharSequenceTranslator translator : STREAMING_TRANSLATORS) {
+                if (isFailingCsvInput(translator, input)) {
+                    continue;
+                }
+                // feed the input a few chars at a time into small buffers
+                CharBuffer in = CharBuffer.allocate(1 + random.nextInt(8));
+                CharBuffer out = CharBuffer.allocate(1 + random.nextInt(8));
+                final StringBuilder actual = new StringBuilder();
+                int read = 0;
+                while (true) {
+                    while (in.hasRemaining() && read < input.length()) {
+                        in.put(input.charAt(read++));
+                    }
+                    final boolean endOfInput = read == input.length();
+                    in.flip();
+                    final int before = in.remaining();
+                    final CoderResult result = translator.translate(in, out, endOfInput);
+                    final boolean progress = in.remaining() < before || out.position() > 0;
+                    in.compact();
+                    out.flip();
+                    actual.append(out);
+                    out.clear();
+                    if (endOfInput && result.isUnderflow()) {
+                        break;
+                    }
+                    if (!progress) {
+                        if (result.isOverflow()) {
+                            out = CharBuffer.allocate(out.capacity() * 2);
+                        } else {
+                            in.flip();
+                            in = CharBuffer.allocate(in.capacity() * 2).put(in);
+                        }
+                    }
+                }
+                assertEquals(translator.translate(input), actual.toString(), input);
+            }
+        }
+    }
+
+    @Test
+    public void testTranslateStream() throws IOException {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final String input = randomTranslateInput(random);
+            for (final CharSequenceTranslator translator : STREAMING_TRANSLATORS) {
+                if (isFailingCsvInput(translator, input)) {
+                    continue;
+                }
+                // a Reader returning a few chars at a time
+                final Reader reader = new StringReader(input) {
+                    @Override
+                    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+                        return super.read(cbuf, off, Math.min(len, 1 + random.nextInt(5)));
+                    }
+                };
+                final StringWriter writer = new StringWriter();
+                translator.translateStream(reader, writer);
+                assertEquals(translator.translate(input), writer.toString(), input);
+            }
+        }
+        final StringWriter writer = new StringWriter();
+        StringEscapeUtils.ESCAPE_XML10.translateStream(new StringReader(StringUtils.repeat("a<\ud83d\ude00", 10_000)), writer);
+        assertEquals(StringUtils.repeat("a&lt;\ud83d\ude00", 10_000), writer.toString());
+    }
+
+    @Test
+    public void testTranslateStreamBeyondLookahead() throws IOException {
+        final String[] inputs = { "&#" + StringUtils.repeat('0', 100) + "65;", "\\" + StringUtils.repeat('u', 100) + "0041" };
+        for (final String input : inputs) {
+            for (final CharSequenceTranslator translator : STREAMING_TRANSLATORS) {
+                // a Reader returning one char at a time
+                final Reader reader = new StringReader(input) {
+                    @Override
+                    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+                        return super.read(cbuf, off, Math.min(len, 1));
+                    }
+                };
+                assertEquals(translateStream(translator, new StringReader(input)), translateStream(translator, reader), input);
+            }
+        }
+    }
+
+    @Test
+    public void testTranslateSkipsUntranslatedRuns() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final String input = randomTranslateInput(random);
+            for (final CharSequenceTranslator translator : TRANSLATORS) {
+                // a translator that does not override isTranslatable is called at every index
+                final CharSequenceTranslator everyIndex = new CharSequenceTranslator() {
+                    @Override
+                    public int translate(final CharSequence in, final int index, final Writer out) throws IOException {
+                        return translator.translate(in, index, out);
+                    }
+                };
+                assertEquals(everyIndex.translate(input), translator.translate(new StringBuilder(input)), input);
+                assertEquals(everyIndex.translate(input), translator.translate(input), input);
+            }
+        }
+        final String clean = "Nothing to escape here";
+        assertSame(clean, StringEscapeUtils.escapeJson(clean));
+        assertSame(clean, StringEscapeUtils.escapeHtml4(clean));
+        assertSame(clean, StringEscapeUtils.unescapeHtml4(clean));
+        assertSame(clean, StringEscapeUtils.unescapeJava(clean));
+    }
+
     @Test
     public void testUnescapeCsvIllegalStateException() {
         final StringWriter writer = new StringWriter();
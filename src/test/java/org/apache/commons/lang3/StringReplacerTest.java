@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link StringReplacer}.
+ */
+public class StringReplacerTest extends AbstractLangTest {
+
+    private static String randomString(final Random random, final int maxLength) {
+        final char[] chars = new char[random.nextInt(maxLength + 1)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Pads the arrays with ignored entries so that {@link StringUtils} uses the automaton.
+     */
+    private static String[] pad(final String[] array) {
+        return Arrays.copyOf(array, Math.max(array.length, StringReplacer.THRESHOLD));
+    }
+
+    @Test
+    public void testMatchesStringUtils() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            final String[] searchList = new String[1 + random.nextInt(6)];
+            final String[] replacementList = new String[searchList.length];
+            for (int j = 0; j < searchList.length; j++) {
+                searchList[j] = random.nextInt(10) == 0 ? null : randomString(random, 4);
+                replacementList[j] = random.nextInt(10) == 0 ? null : randomString(random, 3).toUpperCase();
+            }
+            final String text = randomString(random, 30);
+            final String expected = StringUtils.replaceEach(text, searchList, replacementList);
+            assertEquals(expected, StringReplacer.of(searchList, replacementList).replace(text),
+                () -> text + " " + Arrays.toString(searchList) + " " + Arrays.toString(replacementList));
+            assertEquals(expected, StringUtils.replaceEach(text, pad(searchList), pad(replacementList)));
+        }
+    }
+
+    @Test
+    public void testMatchesStringUtilsRepeatedly() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            final String[] searchList = new String[1 + random.nextInt(6)];
+            final String[] replacementList = new String[searchList.length];
+            for (int j = 0; j < searchList.length; j++) {
+                searchList[j] = randomString(random, 4);
+                replacementList[j] = randomString(random, 3);
+            }
+            final String text = randomString(random, 30);
+            String expected;
+            try {
+                expected = StringUtils.replaceEachRepeatedly(text, searchList, replacementList);
+            } catch (final IllegalStateException e) {
+                assertThrows(IllegalStateException.class, () -> StringReplacer.of(searchList, replacementList).replaceRepeatedly(text));
+                continue;
+            }
+            assertEquals(expected, StringReplacer.of(searchList, replacementList).replaceRepeatedly(text),
+                () -> text + " " + Arrays.toString(searchList) + " " + Arrays.toString(replacementList));
+        }
+    }
+
+    @Test
+    public void testReplace() {
+        assertNull(StringReplacer.of(new String[] { "a" }, new String[] { "b" }).replace(null));
+        assertEquals("", StringReplacer.of(new String[] { "a" }, new String[] { "b" }).replace(""));
+        assertEquals("aba", StringReplacer.of(null, null).replace("aba"));
+        assertEquals("aba", StringReplacer.of(new String[0], null).replace("aba"));
+        assertEquals("aba", StringReplacer.of(new String[] { "a" }, null).replace("aba"));
+        assertEquals("b", StringReplacer.of(new String[] { "a" }, new String[] { "" }).replace("aba"));
+        assertEquals("aba", StringReplacer.of(new String[] { null }, new String[] { "a" }).replace("aba"));
+        assertEquals("wcte", StringReplacer.of(new String[] { "ab", "d" }, new String[] { "w", "t" }).replace("abcde"));
+        assertEquals("dcte", StringReplacer.of(new String[] { "ab", "d" }, new String[] { "d", "t" }).replace("abcde"));
+        // the first search string wins on ties, not the longest
+        assertEquals("1bc", StringReplacer.of(new String[] { "a", "ab" }, new String[] { "1", "2" }).replace("abc"));
+        assertEquals("2c", StringReplacer.of(new String[] { "ab", "a" }, new String[] { "2", "1" }).replace("abc"));
+        // the earliest match wins, even if it ends later
+        assertEquals("1c", StringReplacer.of(new String[] { "b", "ab" }, new String[] { "2", "1" }).replace("abc"));
+        final String text = "no match";
+        assertSame(text, StringReplacer.of(new String[] { "x" }, new String[] { "y" }).replace(text));
+        assertThrows(IllegalArgumentException.class, () -> StringReplacer.of(new String[] { "a" }, new String[] { "b", "c" }));
+    }
+
+    @Test
+    public void testReplaceRepeatedly() {
+        assertEquals("tcte", StringReplacer.of(new String[] { "ab", "d" }, new String[] { "d", "t" }).replaceRepeatedly("abcde"));
+        assertThrows(IllegalStateException.class,
+            () -> StringReplacer.of(new String[] { "ab", "d" }, new String[] { "d", "ab" }).replaceRepeatedly("abcde"));
+    }
+}
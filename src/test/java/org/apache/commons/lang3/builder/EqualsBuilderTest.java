@@ -198,6 +198,18 @@ static class TestObjectWithMultipleFields {
         }
     }
 
+    static class TestObjectWithPrimitiveFields {
+        boolean a = true;
+        byte b = 2;
+        char c = 'c';
+        double d = 4.5d;
+        float f = 6.5f;
+        int i = 7;
+        long l = 8L << 40;
+        short s = 9;
+        String z = "z";
+    }
+
     static class TestRecursiveCycleObject {
         private TestRecursiveCycleObject cycle;
         private final int n;
@@ -1275,6 +1287,30 @@ public void testReflectionEqualsExcludeFields() {
 
     }
 
+    @Test
+    public void testReflectionEqualsPrimitiveFields() {
+        final TestObjectWithPrimitiveFields x = new TestObjectWithPrimitiveFields();
+        final TestObjectWithPrimitiveFields y = new TestObjectWithPrimitiveFields();
+        assertTrue(EqualsBuilder.reflectionEquals(x, y));
+        y.l = 1;
+        assertFalse(EqualsBuilder.reflectionEquals(x, y));
+        assertTrue(EqualsBuilder.reflectionEquals(x, y, "l"));
+        y.l = x.l;
+        // same semantics as the wrapper equals() methods
+        x.d = Double.NaN;
+        y.d = Double.NaN;
+        assertTrue(EqualsBuilder.reflectionEquals(x, y));
+        x.f = 0.0f;
+        y.f = -0.0f;
+        assertFalse(EqualsBuilder.reflectionEquals(x, y));
+        y.f = 0.0f;
+        y.a = false;
+        assertFalse(EqualsBuilder.reflectionEquals(x, y));
+        y.a = true;
+        y.z = "y";
+        assertFalse(EqualsBuilder.reflectionEquals(x, y));
+    }
+
     @Test
     public void testReflectionHierarchyEquals() {
         testReflectionHierarchyEquals(false);
@@ -126,6 +126,18 @@ public int getB() {
         }
     }
 
+    static class TestObjectWithPrimitiveFields {
+        boolean a = true;
+        byte b = 2;
+        char c = 'c';
+        double d = 4.5d;
+        float f = 6.5f;
+        int i = 7;
+        long l = 8L << 40;
+        short s = 9;
+        String z = "z";
+    }
+
     static class TestObjectWithMultipleFields {
         @SuppressWarnings("unused")
         private final int one;
@@ -515,6 +527,21 @@ public void testReflectionHashCodeExcludeFields() {
         assertEquals(17, HashCodeBuilder.reflectionHashCode(x, "one", "two", "three", "xxx"));
     }
 
+    @Test
+    public void testReflectionHashCodePrimitiveFields() {
+        final TestObjectWithPrimitiveFields x = new TestObjectWithPrimitiveFields();
+        final int expected = new HashCodeBuilder().append((Object) Boolean.valueOf(x.a)).append((Object) Byte.valueOf(x.b))
+            .append((Object) Character.valueOf(x.c)).append((Object) Double.valueOf(x.d)).append((Object) Float.valueOf(x.f))
+            .append((Object) Integer.valueOf(x.i)).append((Object) Long.valueOf(x.l)).append((Object) Short.valueOf(x.s))
+            .append(x.z).toHashCode();
+        assertEquals(expected, HashCodeBuilder.reflectionHashCode(x));
+        // cached plan
+        assertEquals(expected, HashCodeBuilder.reflectionHashCode(x));
+        x.a = false;
+        x.l = -1;
+        assertNotEquals(expected, HashCodeBuilder.reflectionHashCode(x));
+    }
+
     @Test
     public void testReflectionHierarchyHashCode() {
         assertEquals(17 * 37 * 37, HashCodeBuilder.reflectionHashCode(new TestSubObject(0, 0, 0)));
@@ -17,7 +17,9 @@
 package org.apache.commons.lang3.builder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.apache.commons.lang3.AbstractLangTest;
 import org.junit.jupiter.api.Test;
@@ -94,6 +96,47 @@ public void test_difference_in_inherited_field() {
         assertEquals(1, list.getNumberOfDiffs());
     }
 
+    @Test
+    public void test_isDifferent() {
+        final TypeTestClass firstObject = new TypeTestClass();
+        final TypeTestClass secondObject = new TypeTestClass();
+        assertFalse(isDifferent(firstObject, secondObject));
+        firstObject.excludedField = "b";
+        firstObject.annotatedField = "b";
+        assertFalse(isDifferent(firstObject, secondObject));
+        firstObject.intField = 99;
+        assertTrue(isDifferent(firstObject, secondObject));
+        firstObject.intField = secondObject.intField;
+        firstObject.charArrayField = new char[] { 'c' };
+        assertTrue(isDifferent(firstObject, secondObject));
+        firstObject.charArrayField = new char[] { 'a' };
+        assertFalse(isDifferent(firstObject, secondObject));
+        final TypeTestChildClass firstChild = new TypeTestChildClass();
+        final TypeTestChildClass secondChild = new TypeTestChildClass();
+        assertFalse(isDifferent(firstChild, secondChild));
+        firstChild.field = "b";
+        assertTrue(isDifferent(firstChild, secondChild));
+        // a difference appended to the DiffBuilder before
+        final TypeTestClass left = new TypeTestClass();
+        final TypeTestClass right = new TypeTestClass();
+        final ReflectionDiffBuilder<TypeTestClass> builder = ReflectionDiffBuilder.<TypeTestClass>builder()
+                .setDiffBuilder(DiffBuilder.<TypeTestClass>builder().setLeft(left).setRight(right).setTestObjectsEquals(false).build()
+                        .append("extra", 1, 2))
+                .build();
+        assertTrue(builder.isDifferent());
+        assertEquals(1, builder.build().getNumberOfDiffs());
+    }
+
+    private static boolean isDifferent(final TypeTestClass left, final TypeTestClass right) {
+        final ReflectionDiffBuilder<TypeTestClass> builder = ReflectionDiffBuilder.<TypeTestClass>builder()
+                .setDiffBuilder(DiffBuilder.<TypeTestClass>builder().setLeft(left).setRight(right).build())
+                .setExcludeFieldNames("excludedField")
+                .build();
+        final boolean different = builder.isDifferent();
+        assertEquals(different, builder.build().getNumberOfDiffs() > 0);
+        return different;
+    }
+
     @Test
     public void test_no_differences() {
         final TypeTestClass firstObject = new TypeTestClass();
@@ -17,6 +17,10 @@
 package org.apache.commons.lang3.builder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.commons.lang3.AbstractLangTest;
 import org.junit.jupiter.api.Test;
@@ -26,9 +30,39 @@
  */
 public class ReflectionToStringBuilderTest extends AbstractLangTest {
 
+    static class TestFixture {
+        private final int count = 3;
+        private final String name = "a";
+        private final int[] values = { 1, 2 };
+        @ToStringSummary
+        private final List<String> summary = Arrays.asList("x", "y");
+        private final Object ref = Integer.valueOf(4);
+    }
+
+    private static String toString(final Object object, final ToStringStyle style, final boolean registerLeafValues) {
+        final ReflectionToStringBuilder builder = new ReflectionToStringBuilder(object, style);
+        builder.setRegisterLeafValues(registerLeafValues);
+        return builder.toString();
+    }
+
     @Test
     public void testConstructorWithNullObject() {
         assertEquals("<null>", new ReflectionToStringBuilder(null, ToStringStyle.DEFAULT_STYLE, new StringBuffer()).toString());
     }
 
+    @Test
+    public void testRegisterLeafValues() {
+        final TestFixture fixture = new TestFixture();
+        assertTrue(new ReflectionToStringBuilder(fixture).isRegisterLeafValues());
+        assertEquals("ReflectionToStringBuilderTest.TestFixture[count=3,name=a,ref=4,summary=<size=2>,values={1,2}]",
+            toString(fixture, ToStringStyle.SHORT_PREFIX_STYLE, false));
+        for (final ToStringStyle style : Arrays.asList(ToStringStyle.DEFAULT_STYLE, ToStringStyle.MULTI_LINE_STYLE, ToStringStyle.NO_CLASS_NAME_STYLE,
+            ToStringStyle.NO_FIELD_NAMES_STYLE, ToStringStyle.SHORT_PREFIX_STYLE, ToStringStyle.SIMPLE_STYLE, new StandardToStringStyle())) {
+            assertEquals(toString(fixture, style, true), toString(fixture, style, false));
+            // cached layout
+            assertEquals(toString(fixture, style, true), toString(fixture, style, false));
+        }
+        assertTrue(ToStringStyle.getRegistry().isEmpty());
+    }
+
 }
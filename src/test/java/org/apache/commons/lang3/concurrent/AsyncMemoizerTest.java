@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.AbstractLangTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link AsyncMemoizer}.
+ */
+public class AsyncMemoizerTest extends AbstractLangTest {
+
+    /**
+     * An executor queueing its tasks until they are run explicitly.
+     */
+    private static final class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+
+        int runAll() {
+            int count = 0;
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private final ManualExecutor executor = new ManualExecutor();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Function<Integer, Integer> doubler = i -> {
+        calls.incrementAndGet();
+        return i * 2;
+    };
+
+    @Test
+    public void testBlockingCompute() throws InterruptedException {
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(doubler, Runnable::run);
+        assertEquals(4, memoizer.compute(2));
+        assertEquals(4, memoizer.compute(2));
+        assertEquals(1, calls.get());
+        final AsyncMemoizer<Integer, Integer> failing = new AsyncMemoizer<>(i -> {
+            throw new IllegalArgumentException();
+        }, Runnable::run);
+        assertThrows(IllegalArgumentException.class, () -> failing.compute(1));
+        assertThrows(NullPointerException.class, () -> new AsyncMemoizer<>(doubler, null));
+        assertThrows(NullPointerException.class, () -> new AsyncMemoizer<Integer, Integer>(null, executor));
+    }
+
+    @Test
+    public void testComputeAllBatchesMisses() {
+        final List<Set<Integer>> batches = new ArrayList<>();
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(doubler, keys -> {
+            batches.add(keys);
+            final Map<Integer, Integer> results = new HashMap<>();
+            keys.forEach(key -> results.put(key, key * 10));
+            return results;
+        }, executor, false);
+        final CompletableFuture<Integer> single = memoizer.computeAsync(1);
+        final CompletableFuture<Map<Integer, Integer>> all = memoizer.computeAll(Arrays.asList(3, 1, 2, 3));
+        assertFalse(all.isDone());
+        assertEquals(2, executor.runAll());
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(Arrays.asList(3, 1, 2), new ArrayList<>(all.join().keySet()));
+        assertEquals(Arrays.asList(30, 2, 20), new ArrayList<>(all.join().values()));
+        assertSame(single.join(), all.join().get(1));
+        // everything is cached now
+        assertTrue(memoizer.computeAll(Arrays.asList(1, 2, 3)).isDone());
+        assertEquals(0, executor.runAll());
+    }
+
+    @Test
+    public void testComputeAllMissingResult() {
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(doubler, keys -> new HashMap<>(), executor, true);
+        final CompletableFuture<Map<Integer, Integer>> all = memoizer.computeAll(Arrays.asList(1, 2));
+        executor.runAll();
+        final CompletionException e = assertThrows(CompletionException.class, all::join);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        // the failed results are calculated again
+        memoizer.computeAll(Arrays.asList(1, 2));
+        assertEquals(1, executor.runAll());
+    }
+
+    @Test
+    public void testComputeAllNullArgument() {
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(doubler, executor);
+        assertThrows(NullPointerException.class, () -> memoizer.computeAll(Arrays.asList(1, null)));
+        // the argument claimed before the failure is calculated by later calls
+        final CompletableFuture<Integer> future = memoizer.computeAsync(1);
+        assertEquals(1, executor.runAll());
+        assertEquals(2, future.join());
+    }
+
+    @Test
+    public void testComputeAllWithoutBulkFunction() {
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(doubler, executor);
+        final CompletableFuture<Map<Integer, Integer>> all = memoizer.computeAll(Arrays.asList(1, 2, 3));
+        assertEquals(1, executor.runAll());
+        assertEquals(3, calls.get());
+        assertEquals(4, all.join().get(2));
+    }
+
+    @Test
+    public void testComputeAsyncDoesNotBlock() {
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(doubler, executor);
+        final CompletableFuture<Integer> first = memoizer.computeAsync(21);
+        final CompletableFuture<Integer> second = memoizer.computeAsync(21);
+        assertSame(first, second);
+        assertFalse(first.isDone());
+        assertEquals(0, calls.get());
+        assertEquals(1, executor.runAll());
+        assertEquals(42, first.join());
+        assertSame(first, memoizer.computeAsync(21));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFailureIsCached() {
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(i -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        }, executor);
+        final CompletableFuture<Integer> first = memoizer.computeAsync(1);
+        executor.runAll();
+        assertTrue(first.isCompletedExceptionally());
+        assertSame(first, memoizer.computeAsync(1));
+        assertEquals(0, executor.runAll());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFailureIsRecalculated() {
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(i -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return i;
+        }, executor, true);
+        final CompletableFuture<Integer> first = memoizer.computeAsync(1);
+        executor.runAll();
+        assertTrue(first.isCompletedExceptionally());
+        final CompletableFuture<Integer> second = memoizer.computeAsync(1);
+        executor.runAll();
+        assertEquals(1, second.join());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testRejectedExecution() {
+        final AsyncMemoizer<Integer, Integer> memoizer = new AsyncMemoizer<>(doubler, command -> {
+            throw new RejectedExecutionException();
+        });
+        final CompletableFuture<Integer> rejected = memoizer.computeAsync(1);
+        final CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertFalse(rejected == memoizer.computeAsync(1));
+        assertEquals(0, calls.get());
+    }
+}
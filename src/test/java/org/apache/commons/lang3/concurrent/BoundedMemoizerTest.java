@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.AbstractLangTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BoundedMemoizer}.
+ */
+public class BoundedMemoizerTest extends AbstractLangTest {
+
+    /**
+     * A test implementation of {@link BoundedMemoizer} with a manual clock.
+     */
+    private static final class BoundedMemoizerTestImpl extends BoundedMemoizer<Integer, String> {
+
+        /** The current time in nanoseconds. */
+        private volatile long currentTime;
+
+        BoundedMemoizerTestImpl(final Builder<Integer, String> builder) {
+            super(builder);
+        }
+
+        /**
+         * Sets the current time to be used by this test object for the next operation.
+         *
+         * @param time the time to set
+         * @return a reference to this object
+         */
+        BoundedMemoizerTestImpl at(final long time) {
+            currentTime = time;
+            return this;
+        }
+
+        @Override
+        long nanoTime() {
+            return currentTime;
+        }
+    }
+
+    /** Counts the computations. */
+    private final AtomicInteger computations = new AtomicInteger();
+
+    /** A function that counts its calls and fails for negative arguments. */
+    private final Function<Integer, String> function = i -> {
+        final int count = computations.incrementAndGet();
+        if (i < 0) {
+            throw new IllegalArgumentException(String.valueOf(count));
+        }
+        return i + "#" + count;
+    };
+
+    private BoundedMemoizer.Builder<Integer, String> builder() {
+        return BoundedMemoizer.<Integer, String>builder().setFunction(function);
+    }
+
+    @Test
+    public void testBuilder() throws InterruptedException {
+        assertThrows(NullPointerException.class, () -> BoundedMemoizer.builder().build());
+        assertThrows(NullPointerException.class, () -> BoundedMemoizer.builder().setFunction(null));
+        assertThrows(NullPointerException.class, () -> BoundedMemoizer.builder().setComputable(null));
+        assertThrows(IllegalArgumentException.class, () -> builder().setMaximumSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder().setExpireAfterWrite(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder().setRefreshAfterWrite(Duration.ofSeconds(-1)));
+        final BoundedMemoizer<Integer, Integer> memoizer = BoundedMemoizer.<Integer, Integer>builder().setComputable(i -> i * 2)
+                .setExpireAfterWrite(null).setRefreshAfterWrite(null).build();
+        assertEquals(4, memoizer.compute(2));
+    }
+
+    @Test
+    public void testCachesExceptions() {
+        final BoundedMemoizer<Integer, String> memoizer = builder().build();
+        assertEquals("1", assertThrows(IllegalArgumentException.class, () -> memoizer.compute(-1)).getMessage());
+        assertEquals("1", assertThrows(IllegalArgumentException.class, () -> memoizer.compute(-1)).getMessage());
+        assertEquals(1, memoizer.getLoadFailureCount());
+        assertEquals(0, memoizer.getLoadSuccessCount());
+        final BoundedMemoizer<Integer, String> recalculating = builder().setRecalculate(true).build();
+        assertEquals("2", assertThrows(IllegalArgumentException.class, () -> recalculating.compute(-1)).getMessage());
+        assertEquals("3", assertThrows(IllegalArgumentException.class, () -> recalculating.compute(-1)).getMessage());
+        assertEquals(0, recalculating.size());
+    }
+
+    @Test
+    public void testExpireAfterWrite() throws InterruptedException {
+        final BoundedMemoizerTestImpl memoizer = new BoundedMemoizerTestImpl(builder().setExpireAfterWrite(Duration.ofNanos(100)));
+        assertEquals("1#1", memoizer.at(0).compute(1));
+        assertEquals("1#1", memoizer.at(99).compute(1));
+        assertEquals("1#2", memoizer.at(100).compute(1));
+        assertEquals("1#2", memoizer.at(199).compute(1));
+        assertEquals(1, memoizer.getEvictionCount());
+        assertEquals(2, memoizer.getMissCount());
+        assertEquals(2, memoizer.getHitCount());
+    }
+
+    @Test
+    public void testInvalidate() throws InterruptedException {
+        final BoundedMemoizer<Integer, String> memoizer = builder().build();
+        memoizer.compute(1);
+        memoizer.compute(2);
+        memoizer.invalidate(1);
+        assertEquals(1, memoizer.size());
+        assertEquals("1#3", memoizer.compute(1));
+        memoizer.invalidateAll();
+        assertEquals(0, memoizer.size());
+        assertEquals(0, memoizer.getEvictionCount());
+    }
+
+    @Test
+    public void testMaximumSizeEvictsLeastRecentlyUsed() throws InterruptedException {
+        final BoundedMemoizer<Integer, String> memoizer = builder().setMaximumSize(3).build();
+        memoizer.compute(1);
+        memoizer.compute(2);
+        memoizer.compute(3);
+        // used after 2 was computed
+        memoizer.compute(1);
+        memoizer.compute(4);
+        assertEquals(3, memoizer.size());
+        assertEquals(1, memoizer.getEvictionCount());
+        assertEquals("1#1", memoizer.compute(1));
+        assertEquals("2#5", memoizer.compute(2));
+        assertEquals(2, memoizer.getEvictionCount());
+        // 3 was evicted
+        assertEquals("4#4", memoizer.compute(4));
+        assertEquals("1#1", memoizer.compute(1));
+        assertEquals(5, memoizer.getMissCount());
+        assertEquals(4, memoizer.getHitCount());
+    }
+
+    @Test
+    public void testMaximumSizeEvictsToThreeQuarters() throws InterruptedException {
+        final BoundedMemoizer<Integer, String> memoizer = builder().setMaximumSize(8).build();
+        for (int i = 0; i < 8; i++) {
+            memoizer.compute(i);
+        }
+        memoizer.compute(0);
+        memoizer.compute(8);
+        assertEquals(6, memoizer.size());
+        assertEquals(3, memoizer.getEvictionCount());
+        // the result used again is kept
+        assertEquals("0#1", memoizer.compute(0));
+        assertEquals(9, memoizer.getMissCount());
+    }
+
+    @Test
+    public void testRefreshAfterWrite() throws InterruptedException {
+        final BoundedMemoizerTestImpl memoizer = new BoundedMemoizerTestImpl(builder().setRefreshAfterWrite(Duration.ofNanos(100)));
+        assertEquals("1#1", memoizer.at(0).compute(1));
+        assertEquals("1#1", memoizer.at(99).compute(1));
+        assertEquals("1#2", memoizer.at(100).compute(1));
+        assertEquals("1#2", memoizer.at(150).compute(1));
+        assertEquals(2, memoizer.getLoadSuccessCount());
+        assertEquals(1, memoizer.getMissCount());
+        assertEquals(3, memoizer.getHitCount());
+    }
+
+    @Test
+    public void testRefreshFailureKeepsResult() throws InterruptedException {
+        final AtomicInteger calls = new AtomicInteger();
+        final BoundedMemoizerTestImpl memoizer = new BoundedMemoizerTestImpl(BoundedMemoizer.<Integer, String>builder().setFunction(i -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException();
+            }
+            return "v" + calls.get();
+        }).setRefreshAfterWrite(Duration.ofNanos(100)));
+        assertEquals("v1", memoizer.at(0).compute(1));
+        assertEquals("v1", memoizer.at(100).compute(1));
+        // the failed refresh is retried only after another refresh interval
+        assertEquals("v1", memoizer.at(199).compute(1));
+        assertEquals("v3", memoizer.at(200).compute(1));
+        assertEquals(1, memoizer.getLoadFailureCount());
+        assertEquals(2, memoizer.getLoadSuccessCount());
+    }
+
+    @Test
+    public void testSingleFlight() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BoundedMemoizer<Integer, String> memoizer = BoundedMemoizer.<Integer, String>builder().setComputable(i -> {
+            if (i == 7) {
+                started.countDown();
+                release.await();
+            }
+            return function.apply(i);
+        }).setMaximumSize(10).build();
+        final String[] results = new String[4];
+        final Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    results[index] = memoizer.compute(7);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[i].start();
+        }
+        started.await();
+        // other keys are not blocked by a running computation
+        assertEquals("8#1", memoizer.compute(8));
+        release.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        for (final String result : results) {
+            assertSame(results[0], result);
+        }
+        assertEquals("7#2", results[0]);
+        assertEquals(2, computations.get());
+        assertEquals(2, memoizer.getMissCount());
+        assertEquals(3, memoizer.getHitCount());
+        assertTrue(memoizer.getTotalLoadTime().toNanos() > 0);
+    }
+}
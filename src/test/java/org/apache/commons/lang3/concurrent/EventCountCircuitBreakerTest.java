@@ -20,6 +20,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.beans.PropertyChangeEvent;
@@ -94,6 +95,13 @@ private static final class EventCountCircuitBreakerTestImpl extends EventCountCi
                     closingInterval, closingUnit);
         }
 
+        EventCountCircuitBreakerTestImpl(final int openingThreshold, final long openingInterval,
+                                                final TimeUnit openingUnit, final int closingThreshold, final long closingInterval,
+                                                final TimeUnit closingUnit, final int maxCountError) {
+            super(openingThreshold, openingInterval, openingUnit, closingThreshold,
+                    closingInterval, closingUnit, maxCountError);
+        }
+
         /**
          * Sets the current time to be used by this test object for the next operation.
          *
@@ -124,6 +132,100 @@ long nanoTime() {
     /** Constant for the factor for converting nanoseconds. */
     private static final long NANO_FACTOR = 1000L * 1000L * 1000L;
 
+    /**
+     * Tests that an approximately counting circuit breaker closes if the count of a
+     * finished check interval is below the closing threshold, and that this count includes
+     * events not yet published.
+     */
+    @Test
+    public void testApproximateClosing() {
+        final EventCountCircuitBreakerTestImpl breaker = new EventCountCircuitBreakerTestImpl(OPENING_THRESHOLD, 1,
+                TimeUnit.SECONDS, CLOSING_THRESHOLD, 1, TimeUnit.SECONDS, 100);
+        final ChangeListener listener = new ChangeListener(breaker);
+        breaker.addChangeListener(listener);
+        breaker.at(0).open();
+        for (int i = 0; i < CLOSING_THRESHOLD; i++) {
+            assertFalse(breaker.at(i).incrementAndCheckState());
+        }
+        assertFalse(breaker.at(NANO_FACTOR + 1).checkState(), "Closed with too many events");
+        for (int i = 1; i < CLOSING_THRESHOLD; i++) {
+            assertFalse(breaker.at(NANO_FACTOR + 1 + i).incrementAndCheckState());
+        }
+        assertTrue(breaker.at(2 * NANO_FACTOR + 2).checkState(), "Not closed");
+        listener.verify(Boolean.TRUE, Boolean.FALSE);
+    }
+
+    /**
+     * Tests the creation of an approximately counting circuit breaker.
+     */
+    @Test
+    public void testApproximateInit() {
+        assertEquals(0, new EventCountCircuitBreaker(OPENING_THRESHOLD, 1, TimeUnit.SECONDS).getMaxCountError());
+        final EventCountCircuitBreaker breaker = new EventCountCircuitBreaker(OPENING_THRESHOLD, 1, TimeUnit.SECONDS,
+                CLOSING_THRESHOLD, 2, TimeUnit.SECONDS, 16);
+        assertEquals(16, breaker.getMaxCountError());
+        assertEquals(OPENING_THRESHOLD, breaker.getOpeningThreshold());
+        assertEquals(2 * NANO_FACTOR, breaker.getClosingInterval());
+        assertTrue(breaker.checkState());
+        assertThrows(IllegalArgumentException.class, () -> new EventCountCircuitBreaker(OPENING_THRESHOLD, 1, TimeUnit.SECONDS,
+                CLOSING_THRESHOLD, 1, TimeUnit.SECONDS, -1));
+    }
+
+    /**
+     * Tests that events reported by many threads open an approximately counting circuit
+     * breaker.
+     */
+    @Test
+    public void testApproximateMultipleThreads() throws InterruptedException {
+        final EventCountCircuitBreaker breaker = new EventCountCircuitBreaker(1000, 1, TimeUnit.MINUTES,
+                1000, 1, TimeUnit.MINUTES, 64);
+        final ChangeListener listener = new ChangeListener(breaker);
+        breaker.addChangeListener(listener);
+        final int threadCount = 8;
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    latch.await();
+                } catch (final InterruptedException iex) {
+                    // ignore
+                }
+                for (int j = 0; j < 200; j++) {
+                    breaker.incrementAndCheckState();
+                }
+            });
+            threads[i].start();
+        }
+        latch.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(breaker.isOpen(), "Not open");
+        listener.verify(Boolean.TRUE);
+    }
+
+    /**
+     * Tests that an approximately counting circuit breaker opens no later than the
+     * maximum count error allows.
+     */
+    @Test
+    public void testApproximateOpening() {
+        final int maxCountError = 4;
+        final EventCountCircuitBreakerTestImpl breaker = new EventCountCircuitBreakerTestImpl(OPENING_THRESHOLD, 1,
+                TimeUnit.SECONDS, CLOSING_THRESHOLD, 1, TimeUnit.SECONDS, maxCountError);
+        int events = 0;
+        do {
+            events++;
+            assertTrue(events <= OPENING_THRESHOLD + 1 + maxCountError, "Not opened in time");
+        } while (breaker.at(NANO_FACTOR + events).incrementAndCheckState());
+        assertTrue(events > OPENING_THRESHOLD, "Opened too early");
+        assertTrue(breaker.isOpen(), "Not open");
+        // unpublished events are not carried over into the new check interval
+        assertFalse(breaker.at(NANO_FACTOR + 2 * OPENING_THRESHOLD).incrementAndCheckState(CLOSING_THRESHOLD - 1));
+        assertTrue(breaker.at(3 * NANO_FACTOR).checkState(), "Not closed");
+    }
+
     /**
      * Tests whether a new check interval is started if the circuit breaker has a
      * transition to open state.
@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.AbstractLangTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SlidingWindowCircuitBreaker}.
+ */
+public class SlidingWindowCircuitBreakerTest extends AbstractLangTest {
+
+    /**
+     * A test implementation of {@link SlidingWindowCircuitBreaker} with a manual clock.
+     */
+    private static final class SlidingWindowCircuitBreakerTestImpl extends SlidingWindowCircuitBreaker {
+
+        /** The current time in nanoseconds. */
+        private long currentTime;
+
+        SlidingWindowCircuitBreakerTestImpl(final Builder builder) {
+            super(builder);
+        }
+
+        /**
+         * Sets the current time to be used by this test object for the next operation.
+         *
+         * @param time the time to set
+         * @return a reference to this object
+         */
+        SlidingWindowCircuitBreakerTestImpl at(final long time) {
+            currentTime = time;
+            return this;
+        }
+
+        @Override
+        long nanoTime() {
+            return currentTime;
+        }
+    }
+
+    /** Constant for the factor for converting nanoseconds. */
+    private static final long NANO_FACTOR = 1000L * 1000L * 1000L;
+
+    /** A builder for a window of 10 seconds in 10 buckets, evaluated from 10 calls on. */
+    private static SlidingWindowCircuitBreaker.Builder builder() {
+        return SlidingWindowCircuitBreaker.builder().setWindow(Duration.ofSeconds(10), 10).setMinimumCalls(10).setFailureRateThreshold(50)
+                .setSlowCallDuration(Duration.ofSeconds(1)).setSlowCallRateThreshold(80).setOpenDuration(Duration.ofSeconds(30));
+    }
+
+    /**
+     * Records change events.
+     */
+    private static List<Boolean> listen(final SlidingWindowCircuitBreaker breaker) {
+        final List<Boolean> events = new ArrayList<>();
+        breaker.addChangeListener(evt -> events.add((Boolean) evt.getNewValue()));
+        return events;
+    }
+
+    @Test
+    public void testBuilder() {
+        final SlidingWindowCircuitBreaker defaults = SlidingWindowCircuitBreaker.builder().build();
+        assertEquals(Duration.ofSeconds(10), defaults.getWindowSize());
+        assertEquals(10, defaults.getBucketCount());
+        assertEquals(100, defaults.getMinimumCalls());
+        assertEquals(50, defaults.getFailureRateThreshold());
+        assertEquals(100, defaults.getSlowCallRateThreshold());
+        assertEquals(Duration.ofSeconds(60), defaults.getSlowCallDuration());
+        assertEquals(Duration.ofSeconds(60), defaults.getOpenDuration());
+        assertTrue(defaults.isClosed());
+        final SlidingWindowCircuitBreaker breaker = builder().build();
+        assertEquals(10, breaker.getMinimumCalls());
+        assertEquals(80, breaker.getSlowCallRateThreshold());
+        final SlidingWindowCircuitBreaker.Builder builder = SlidingWindowCircuitBreaker.builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.setWindow(Duration.ofNanos(9), 10));
+        assertThrows(IllegalArgumentException.class, () -> builder.setWindow(Duration.ofSeconds(1), 0));
+        assertThrows(NullPointerException.class, () -> builder.setWindow(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.setMinimumCalls(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.setFailureRateThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.setSlowCallRateThreshold(100.5));
+        assertThrows(IllegalArgumentException.class, () -> builder.setOpenDuration(Duration.ofSeconds(-1)));
+        assertThrows(NullPointerException.class, () -> builder.setSlowCallDuration(null));
+    }
+
+    @Test
+    public void testBurstAcrossBuckets() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(builder());
+        // half of the failures at the end of one bucket, the other half at the start of the next
+        for (int i = 0; i < 5; i++) {
+            assertTrue(breaker.at(NANO_FACTOR - 1).recordFailure(0, TimeUnit.SECONDS));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.at(NANO_FACTOR).recordFailure(0, TimeUnit.SECONDS));
+        }
+        assertEquals(9, breaker.getFailureCount());
+        assertFalse(breaker.at(NANO_FACTOR).recordFailure(0, TimeUnit.SECONDS));
+        assertTrue(breaker.isOpen());
+    }
+
+    @Test
+    public void testCloseAfterOpenDuration() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(builder());
+        final List<Boolean> events = listen(breaker);
+        for (int i = 0; i < 10; i++) {
+            breaker.at(0).incrementAndCheckState(1);
+        }
+        assertTrue(breaker.isOpen());
+        // outcomes reported while open are ignored
+        assertFalse(breaker.at(NANO_FACTOR).recordSuccess(0, TimeUnit.SECONDS));
+        assertEquals(10, breaker.getCallCount());
+        assertFalse(breaker.at(30 * NANO_FACTOR - 1).checkState());
+        assertTrue(breaker.at(30 * NANO_FACTOR).checkState());
+        assertEquals(0, breaker.getCallCount());
+        assertEquals(0, breaker.getFailureCount());
+        assertEquals(Boolean.TRUE, events.get(0));
+        assertEquals(Boolean.FALSE, events.get(1));
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    public void testLongIdleBucket() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(builder().setWindow(Duration.ofNanos(10), 10));
+        for (int i = 0; i < 5; i++) {
+            breaker.at(3).recordFailure(0, TimeUnit.NANOSECONDS);
+        }
+        // other buckets are used in between
+        for (long k = 1; k < 16; k++) {
+            assertTrue(breaker.at(k << 28 | 5).recordSuccess(0, TimeUnit.NANOSECONDS));
+        }
+        // the bucket period differs from the one of the failures only above the lower 32 bits
+        for (int i = 0; i < 5; i++) {
+            assertTrue(breaker.at((1L << 32) + 3).recordSuccess(0, TimeUnit.NANOSECONDS));
+        }
+        assertEquals(5, breaker.getCallCount());
+        assertEquals(0, breaker.getFailureCount());
+        // no call at all for longer
+        for (int i = 0; i < 5; i++) {
+            breaker.at((1L << 33) + 3).recordFailure(0, TimeUnit.NANOSECONDS);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertTrue(breaker.at((3L << 32) + 3).recordSuccess(0, TimeUnit.NANOSECONDS));
+        }
+        assertEquals(5, breaker.getCallCount());
+        assertEquals(0, breaker.getFailureCount());
+    }
+
+    @Test
+    public void testManualTransitions() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(builder());
+        final List<Boolean> events = listen(breaker);
+        breaker.at(0).incrementAndCheckState(9);
+        breaker.at(5 * NANO_FACTOR).open();
+        assertFalse(breaker.at(34 * NANO_FACTOR).checkState());
+        breaker.close();
+        assertEquals(0, breaker.getFailureCount());
+        assertTrue(breaker.incrementAndCheckState(9));
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    public void testMinimumCalls() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(builder());
+        assertTrue(breaker.at(0).incrementAndCheckState(9));
+        assertEquals(9, breaker.getCallCount());
+        assertTrue(breaker.checkState());
+        assertFalse(breaker.incrementAndCheckState(1));
+    }
+
+    @Test
+    public void testMultipleThreads() throws InterruptedException {
+        final SlidingWindowCircuitBreaker breaker = SlidingWindowCircuitBreaker.builder().setWindow(Duration.ofMinutes(10), 4)
+                .setMinimumCalls(Integer.MAX_VALUE).build();
+        final int threadCount = 8;
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    latch.await();
+                } catch (final InterruptedException iex) {
+                    // ignore
+                }
+                for (int j = 0; j < 1000; j++) {
+                    breaker.recordSuccess(j, TimeUnit.MILLISECONDS);
+                    breaker.recordFailure(0, TimeUnit.MILLISECONDS);
+                }
+            });
+            threads[i].start();
+        }
+        latch.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(threadCount * 2000, breaker.getCallCount());
+        assertEquals(threadCount * 1000, breaker.getFailureCount());
+        assertEquals(0, breaker.getSlowCallCount());
+        assertTrue(breaker.isClosed());
+    }
+
+    @Test
+    public void testOpenOnFailureRate() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(builder());
+        final List<Boolean> events = listen(breaker);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(breaker.at(i * NANO_FACTOR).recordSuccess(1, TimeUnit.MILLISECONDS));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.at(8 * NANO_FACTOR).recordFailure(1, TimeUnit.MILLISECONDS));
+        }
+        assertFalse(breaker.at(9 * NANO_FACTOR).recordFailure(1, TimeUnit.MILLISECONDS));
+        assertEquals(10, breaker.getCallCount());
+        assertEquals(5, breaker.getFailureCount());
+        assertTrue(breaker.isOpen());
+        assertEquals(1, events.size());
+        assertEquals(Boolean.TRUE, events.get(0));
+    }
+
+    @Test
+    public void testOpenOnSlowCallRate() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(builder());
+        for (int i = 0; i < 2; i++) {
+            assertTrue(breaker.at(0).recordSuccess(999, TimeUnit.MILLISECONDS));
+        }
+        for (int i = 0; i < 7; i++) {
+            assertTrue(breaker.recordSuccess(1, TimeUnit.SECONDS));
+        }
+        assertEquals(7, breaker.getSlowCallCount());
+        assertFalse(breaker.recordSuccess(2, TimeUnit.SECONDS));
+        assertEquals(0, breaker.getFailureCount());
+    }
+
+    @Test
+    public void testWindowSlides() {
+        final SlidingWindowCircuitBreakerTestImpl breaker = new SlidingWindowCircuitBreakerTestImpl(builder());
+        assertTrue(breaker.at(-NANO_FACTOR).incrementAndCheckState(5));
+        assertTrue(breaker.at(3 * NANO_FACTOR).incrementAndCheckState(4));
+        assertEquals(9, breaker.getFailureCount());
+        // the first bucket has left the window
+        assertEquals(4, breaker.at(9 * NANO_FACTOR).getFailureCount());
+        assertTrue(breaker.incrementAndCheckState(5));
+        assertEquals(0, breaker.at(100 * NANO_FACTOR).getCallCount());
+        // a bucket reused in a later period starts from zero
+        assertTrue(breaker.at(103 * NANO_FACTOR).incrementAndCheckState(1));
+        assertEquals(1, breaker.getCallCount());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.AbstractLangTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link TimedRateLimiter}.
+ */
+public class TimedRateLimiterTest extends AbstractLangTest {
+
+    /** The period used by tests with a manual clock. */
+    private static final long PERIOD = 1000;
+
+    /** The manual clock, in nanoseconds. */
+    private final AtomicLong clock = new AtomicLong(Long.MAX_VALUE - PERIOD * 3 / 2);
+
+    private TimedRateLimiter limiter(final int limit) {
+        return new TimedRateLimiter(PERIOD, TimeUnit.NANOSECONDS, limit, clock::get);
+    }
+
+    @Test
+    public void testAcquireBlocksUntilNextPeriod() throws InterruptedException {
+        final TimedRateLimiter limiter = new TimedRateLimiter(100, TimeUnit.MILLISECONDS, 1);
+        final long start = System.nanoTime();
+        limiter.acquire();
+        limiter.acquire();
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, limiter.getAcquireCount());
+    }
+
+    @Test
+    public void testAcquireInterrupted() throws InterruptedException {
+        final TimedRateLimiter limiter = new TimedRateLimiter(1, TimeUnit.DAYS, 1);
+        limiter.acquire();
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final Thread thread = new Thread(() -> {
+            try {
+                limiter.acquire();
+            } catch (final InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        thread.start();
+        thread.interrupt();
+        thread.join();
+        assertTrue(interrupted.get());
+        assertEquals(1, limiter.getAcquireCount());
+    }
+
+    @Test
+    public void testAcquireMultipleThreads() throws InterruptedException {
+        final TimedRateLimiter limiter = limiter(100);
+        final int threadCount = 8;
+        final AtomicInteger acquired = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < 50; j++) {
+                    if (limiter.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100, acquired.get());
+        assertEquals(100, limiter.getAcquireCount());
+        assertEquals(0, limiter.getAvailablePermits());
+    }
+
+    @Test
+    public void testInit() {
+        final TimedRateLimiter limiter = new TimedRateLimiter(3, TimeUnit.SECONDS, 10);
+        assertEquals(3, limiter.getPeriod());
+        assertEquals(TimeUnit.SECONDS, limiter.getUnit());
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getAcquireCount());
+        assertEquals(10, limiter.getAvailablePermits());
+        assertFalse(limiter.isShutdown());
+        assertThrows(IllegalArgumentException.class, () -> new TimedRateLimiter(0, TimeUnit.SECONDS, 10));
+        assertThrows(NullPointerException.class, () -> new TimedRateLimiter(1, null, 10));
+    }
+
+    @Test
+    public void testLongIdleTime() {
+        final TimedRateLimiter limiter = new TimedRateLimiter(1, TimeUnit.NANOSECONDS, 1, clock::get);
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        // the period index differs only above the lower 32 bits
+        clock.addAndGet(1L << 32);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(0, limiter.getLastAcquiresPerPeriod());
+        clock.addAndGet((1L << 31) + 1);
+        assertEquals(0, limiter.getAcquireCount());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testNoLimit() {
+        final TimedRateLimiter limiter = limiter(TimedRateLimiter.NO_LIMIT);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertEquals(1000, limiter.getAcquireCount());
+        limiter.setLimit(1000);
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void testShutdown() throws InterruptedException {
+        final TimedRateLimiter limiter = limiter(1);
+        limiter.shutdown();
+        limiter.shutdown();
+        assertTrue(limiter.isShutdown());
+        assertThrows(IllegalStateException.class, limiter::tryAcquire);
+        assertThrows(IllegalStateException.class, limiter::acquire);
+    }
+
+    @Test
+    public void testShutdownWakesBlockedThread() throws InterruptedException {
+        final TimedRateLimiter limiter = new TimedRateLimiter(50, TimeUnit.MILLISECONDS, 1);
+        limiter.acquire();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final Thread thread = new Thread(() -> {
+            try {
+                for (;;) {
+                    limiter.acquire();
+                }
+            } catch (final IllegalStateException e) {
+                failed.set(true);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        limiter.shutdown();
+        thread.join();
+        assertTrue(failed.get());
+    }
+
+    @Test
+    public void testStatistics() {
+        final TimedRateLimiter limiter = limiter(5);
+        assertEquals(0, limiter.getAverageCallsPerPeriod());
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i < 5, limiter.tryAcquire());
+        }
+        assertEquals(5, limiter.getAcquireCount());
+        assertEquals(0, limiter.getAvailablePermits());
+        assertEquals(0, limiter.getLastAcquiresPerPeriod());
+        clock.addAndGet(PERIOD);
+        assertEquals(0, limiter.getAcquireCount());
+        assertEquals(5, limiter.getLastAcquiresPerPeriod());
+        assertEquals(5, limiter.getAverageCallsPerPeriod());
+        assertTrue(limiter.tryAcquire());
+        // the clock overflows in the third period
+        clock.addAndGet(PERIOD);
+        assertEquals(1, limiter.getLastAcquiresPerPeriod());
+        assertEquals(3, limiter.getAverageCallsPerPeriod());
+        // periods without a caller count as empty periods
+        clock.addAndGet(PERIOD * 4);
+        assertEquals(0, limiter.getLastAcquiresPerPeriod());
+        assertEquals(1, limiter.getAverageCallsPerPeriod());
+        assertEquals(5, limiter.getAvailablePermits());
+    }
+
+    @Test
+    public void testTryAcquireTimeout() throws InterruptedException {
+        final TimedRateLimiter limiter = new TimedRateLimiter(1, TimeUnit.DAYS, 1);
+        assertTrue(limiter.tryAcquire(0, TimeUnit.SECONDS));
+        assertFalse(limiter.tryAcquire(10, TimeUnit.MILLISECONDS));
+        final TimedRateLimiter shortPeriod = new TimedRateLimiter(10, TimeUnit.MILLISECONDS, 1);
+        assertTrue(shortPeriod.tryAcquire(0, TimeUnit.SECONDS));
+        assertTrue(shortPeriod.tryAcquire(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTryAcquireTimeoutOnClock() throws InterruptedException {
+        // every reading advances the clock by 240 microseconds
+        final TimedRateLimiter limiter = new TimedRateLimiter(1, TimeUnit.MILLISECONDS, 1, () -> clock.addAndGet(240_000));
+        assertTrue(limiter.tryAcquire());
+        // the timeout has passed on the clock before the period ends
+        assertFalse(limiter.tryAcquire(400, TimeUnit.MICROSECONDS));
+        assertTrue(limiter.tryAcquire());
+        // the period ends before the timeout
+        assertTrue(limiter.tryAcquire(1, TimeUnit.MILLISECONDS));
+        assertEquals(1, limiter.getAcquireCount());
+    }
+}
@@ -21,6 +21,7 @@
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 
 import org.apache.commons.lang3.AbstractLangTest;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,36 @@ public void testBasicLookup() throws IOException {
         assertEquals("two", out.toString(), "Incorrect value");
     }
 
+    @Test
+    public void testGreedyLookup() throws IOException {
+        final LookupTranslator lt = new LookupTranslator(new CharSequence[][] { { "o", "1" }, { "one", "2" }, { "onex", "3" }, { "on", "4" },
+            { "one", "5" } });
+        assertEquals("5n", lt.translate("onen"));
+        assertEquals("3", lt.translate("onex"));
+        assertEquals("414", lt.translate("onoon"));
+        assertEquals("4ly", lt.translate("only"));
+        assertEquals("x", new LookupTranslator(new CharSequence[][] { { "\u0100", "x" } }).translate("\u0100"));
+        final StringWriter out = new StringWriter();
+        assertEquals(0, lt.translate("xo", 0, out));
+        assertEquals(0, lt.translate("\u20ac", 0, out));
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    public void testSubclassTranslatingMore() {
+        final LookupTranslator lt = new LookupTranslator(new CharSequence[][] { { "q", "Q" } }) {
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer out) throws IOException {
+                if (input.charAt(index) == 'z') {
+                    out.write('Z');
+                    return 1;
+                }
+                return super.translate(input, index, out);
+            }
+        };
+        assertEquals("ZQ", lt.translate("zq"));
+    }
+
     // Tests: https://issues.apache.org/jira/browse/LANG-882
     @Test
     public void testLang882() throws IOException {
@@ -18,12 +18,18 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.Locale;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
 
 import org.apache.commons.lang3.AbstractLangTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -219,6 +225,73 @@ public void setUp() throws Exception {
         januaryOneCalendar.setTime(januaryOneDate);
     }
 
+    private static void assertMillisMatchCalendar(final TimeZone timeZone, final long millis, final int calendarField) {
+        final Calendar calendar = new GregorianCalendar(timeZone);
+        calendar.setTimeInMillis(millis);
+        final String message = timeZone.getID() + " " + millis + " " + calendarField;
+        assertEquals(DateUtils.truncate(calendar, calendarField).getTimeInMillis(), DateUtils.truncate(millis, calendarField, timeZone), message);
+        assertEquals(DateUtils.round(calendar, calendarField).getTimeInMillis(), DateUtils.round(millis, calendarField, timeZone), message);
+        assertEquals(DateUtils.ceiling(calendar, calendarField).getTimeInMillis(), DateUtils.ceiling(millis, calendarField, timeZone), message);
+    }
+
+    /**
+     * Tests that the methods for milliseconds give the same results as the methods for a Calendar, including around
+     * changes of the offset of the time zone and before the Gregorian cutover.
+     */
+    @Test
+    public void testMillisMatchCalendar() {
+        final int[] calendarFields = { Calendar.MILLISECOND, Calendar.SECOND, Calendar.MINUTE, Calendar.HOUR_OF_DAY, Calendar.HOUR,
+            Calendar.AM_PM, Calendar.DATE, Calendar.MONTH, DateUtils.SEMI_MONTH, Calendar.YEAR, Calendar.ERA };
+        final String[] timeZones = { "UTC", "GMT+05:30", "GMT-11:00", "America/New_York", "America/Sao_Paulo", "Australia/Lord_Howe",
+            "Europe/London", "Pacific/Apia" };
+        final Random random = new Random(42);
+        for (final String id : timeZones) {
+            final TimeZone timeZone = TimeZone.getTimeZone(id);
+            for (int i = 0; i < 500; i++) {
+                final long millis;
+                if (i % 4 == 0) {
+                    // anywhere from 1000 BC to 3000 AD
+                    millis = -93_000_000_000_000L + (long) (random.nextDouble() * 188_000_000_000_000L);
+                } else {
+                    // close to a whole hour of the last 60 years
+                    millis = (random.nextInt(60 * 366 * 24) - 30 * 366 * 24) * 3_600_000L + random.nextInt(1_200_000) - 600_000
+                        + 946_684_800_000L;
+                }
+                for (final int calendarField : calendarFields) {
+                    assertMillisMatchCalendar(timeZone, millis, calendarField);
+                }
+            }
+        }
+        // the Calendar rounds up the second half of a month through its 1st, which starts in a gap here
+        assertMillisMatchCalendar(TimeZone.getTimeZone("Europe/Moscow"), 387_780_158_658L, DateUtils.SEMI_MONTH);
+        assertMillisMatchCalendar(TimeZone.getTimeZone("Africa/Casablanca"), 1_214_741_792_232L, DateUtils.SEMI_MONTH);
+        assertMillisMatchCalendar(TimeZone.getTimeZone("America/Sao_Paulo"), -537_309_838_621L, DateUtils.SEMI_MONTH);
+        final TimeZone utc = TimeZone.getTimeZone("UTC");
+        assertEquals(0, DateUtils.truncatedCompareTo(86_399_999L, 0L, Calendar.DATE, utc));
+        assertEquals(-1, DateUtils.truncatedCompareTo(86_399_999L, 86_400_000L, Calendar.DATE, utc));
+        assertEquals(1, DateUtils.truncatedCompareTo(86_400_000L, 0L, Calendar.DATE, TimeZone.getTimeZone("GMT+01:00")));
+        assertTrue(DateUtils.truncatedEquals(0L, 3_599_999L, Calendar.HOUR, utc));
+        assertThrows(IllegalArgumentException.class, () -> DateUtils.truncate(0L, Calendar.DAY_OF_WEEK, utc));
+        assertThrows(NullPointerException.class, () -> DateUtils.round(0L, Calendar.DATE, null));
+    }
+
+    /**
+     * Tests that the methods for milliseconds follow the rules of a time zone modified after it was used, or with custom
+     * rules under the ID of another.
+     */
+    @Test
+    public void testMillisMatchCalendarOfModifiedTimeZone() {
+        final long millis = 1_710_052_200_000L; // 2024-03-10 06:30 UTC
+        final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        assertMillisMatchCalendar(timeZone, millis, Calendar.DATE);
+        timeZone.setRawOffset(-3 * 3_600_000);
+        assertMillisMatchCalendar(timeZone, millis, Calendar.DATE);
+        assertMillisMatchCalendar(timeZone, millis, Calendar.HOUR_OF_DAY);
+        final TimeZone custom = new SimpleTimeZone(3_600_000, "America/New_York");
+        assertMillisMatchCalendar(custom, millis, Calendar.DATE);
+        assertMillisMatchCalendar(TimeZone.getTimeZone("America/New_York"), millis, Calendar.DATE);
+    }
+
     /**
      * Tests DateUtils.round()-method with Calendar.AM_PM
      * Includes rounding the extremes of both AM and PM of one day
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.time;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+
+import org.apache.commons.lang3.AbstractLangTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DurationFormatter}.
+ */
+public class DurationFormatterTest extends AbstractLangTest {
+
+    private static final String[] PATTERNS = { "HH:mm:ss.SSS", DurationFormatUtils.ISO_EXTENDED_FORMAT_PATTERN, "d'd'H'h'm'm's's'",
+        "d'd'[H'h'm'm']s's'", "[d'd'H'h'm'm']s's'", "[d'd'H'h'm'm's's']", "['{'d'}']HH':'mm", "['{'dd'}']['<'HH'>']['('mm')']", "[dHms]",
+        "yyyy-MM d", "S", "SSSSS", "s.S", "ss.SS", "m's'", "H'' x [m]", "'[' d ']'", "" };
+
+    private static final long[] DURATIONS = { 0, 1, 999, 1000, 59_999, 60_000, 3_599_999, 3_600_000, 86_399_999, 86_400_000, 90_061_001,
+        1_234_567_890_123L, Long.MAX_VALUE };
+
+    @Test
+    public void testFormatAppendable() {
+        final DurationFormatter formatter = DurationFormatter.getInstance("H:mm");
+        final StringBuilder builder = new StringBuilder("took ");
+        assertSame(builder, formatter.format(5_400_000, builder));
+        assertSame(builder, formatter.format(Duration.ofMinutes(5), builder.append(", then ")));
+        assertEquals("took 1:30, then 0:05", builder.toString());
+        assertEquals("1:30", formatter.format(Duration.ofMinutes(90)));
+    }
+
+    @Test
+    public void testFormatIOException() {
+        final Writer writer = new Writer() {
+            @Override
+            public void close() {
+                // empty
+            }
+
+            @Override
+            public void flush() {
+                // empty
+            }
+
+            @Override
+            public void write(final char[] cbuf, final int off, final int len) throws IOException {
+                throw new IOException("closed");
+            }
+        };
+        assertThrows(IOException.class, () -> DurationFormatter.getInstance("H:mm").format(0, writer));
+        assertThrows(IOException.class, () -> DurationFormatter.HMS.format(0, writer));
+    }
+
+    @Test
+    public void testFormatInvalid() {
+        final DurationFormatter formatter = DurationFormatter.getInstance("H:mm");
+        assertThrows(IllegalArgumentException.class, () -> formatter.format(-1));
+        assertThrows(IllegalArgumentException.class, () -> formatter.format(Duration.ofMillis(-1), new StringBuilder()));
+        assertThrows(ArithmeticException.class, () -> formatter.format(Duration.ofSeconds(Long.MAX_VALUE)));
+        assertThrows(NullPointerException.class, () -> formatter.format((Duration) null));
+        assertThrows(NullPointerException.class, () -> formatter.format(0, (StringBuilder) null));
+    }
+
+    @Test
+    public void testFormatMatchesDurationFormatUtils() {
+        for (final String pattern : PATTERNS) {
+            for (final boolean padWithZeros : new boolean[] { true, false }) {
+                final DurationFormatter formatter = DurationFormatter.getInstance(pattern, padWithZeros);
+                for (final long duration : DURATIONS) {
+                    final String expected = DurationFormatUtils.formatDuration(duration, pattern, padWithZeros);
+                    assertEquals(expected, formatter.format(duration), () -> pattern + " " + duration);
+                    assertEquals(expected, formatter.format(Duration.ofMillis(duration)));
+                }
+            }
+        }
+        assertEquals("00:00:00.000", DurationFormatter.HMS.format(0));
+        assertEquals("123:45:06.007", DurationFormatter.HMS.format(((123 * 60 + 45) * 60 + 6) * 1000L + 7));
+        assertEquals("2562047788015:12:55.807", DurationFormatter.HMS.format(Long.MAX_VALUE));
+        assertEquals("P0Y0M0DT0H0M0.000S", DurationFormatter.ISO.format(0));
+        assertEquals("P0Y0M1DT1H1M1.001S", DurationFormatter.ISO.format(90_061_001));
+    }
+
+    @Test
+    public void testGetInstanceEvictsLeastRecentlyUsed() {
+        final DurationFormatter hot = DurationFormatter.getInstance("'hot' H:mm");
+        for (int i = 0; i < DurationFormatter.MAX_CACHED * 4; i++) {
+            final DurationFormatter formatter = DurationFormatter.getInstance("'" + i + "' H:mm");
+            // new instances are still cached once the cache is full
+            assertSame(formatter, DurationFormatter.getInstance("'" + i + "' H:mm"));
+            assertSame(hot, DurationFormatter.getInstance("'hot' H:mm"));
+        }
+    }
+
+    @Test
+    public void testGetInstance() {
+        final DurationFormatter formatter = DurationFormatter.getInstance("H:mm");
+        assertSame(formatter, DurationFormatter.getInstance("H:mm", true));
+        assertNotSame(formatter, DurationFormatter.getInstance("H:mm", false));
+        assertSame(DurationFormatter.HMS, DurationFormatter.getInstance("HH:mm:ss.SSS"));
+        assertSame(DurationFormatter.ISO, DurationFormatter.getInstance(DurationFormatUtils.ISO_EXTENDED_FORMAT_PATTERN, false));
+        assertEquals("H:mm", formatter.getFormat());
+        assertTrue(formatter.isPadWithZeros());
+        assertFalse(DurationFormatter.ISO.isPadWithZeros());
+        assertEquals("DurationFormatter[H:mm, padWithZeros=true]", formatter.toString());
+        assertThrows(NullPointerException.class, () -> DurationFormatter.getInstance(null));
+        assertThrows(IllegalArgumentException.class, () -> DurationFormatter.getInstance("'H"));
+        assertThrows(IllegalArgumentException.class, () -> DurationFormatter.getInstance("[H"));
+    }
+}
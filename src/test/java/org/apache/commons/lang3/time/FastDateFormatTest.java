@@ -19,15 +19,22 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.text.FieldPosition;
 import java.text.Format;
+import java.text.ParseException;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.Locale;
@@ -207,6 +214,60 @@ public void test_getInstance_String_TimeZone_Locale() {
         assertEquals(Locale.GERMANY, format3.getLocale());
     }
 
+    @Test
+    public void testCacheEviction() {
+        final AbstractFormatCache<FastDateFormat> cache = new AbstractFormatCache<FastDateFormat>() {
+            @Override
+            protected FastDateFormat createInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+                return new FastDateFormat(pattern, timeZone, locale);
+            }
+        };
+        assertEquals(AbstractFormatCache.DEFAULT_MAXIMUM_SIZE, cache.getMaximumSize());
+        cache.setMaximumSize(8);
+        final FastDateFormat kept = cache.getInstance("yyyy", TimeZones.GMT, Locale.US);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("'" + i + "'", cache.getInstance("'" + i + "'", TimeZones.GMT, Locale.US).getPattern());
+            // the most recently used instance stays
+            assertSame(kept, cache.getInstance("yyyy", TimeZones.GMT, Locale.US));
+        }
+        FastDateFormat.CacheStatistics statistics = cache.getStatistics();
+        assertEquals(100, statistics.getHitCount());
+        assertEquals(101, statistics.getMissCount());
+        assertTrue(statistics.getSize() <= 8, statistics::toString);
+        assertEquals(101 - statistics.getSize(), statistics.getEvictionCount());
+        assertEquals(8, statistics.getMaximumSize());
+        cache.setMaximumSize(0);
+        assertNotSame(kept, cache.getInstance("yyyy", TimeZones.GMT, Locale.US));
+        statistics = cache.getStatistics();
+        assertEquals(0, statistics.getSize());
+        assertEquals(102, statistics.getMissCount());
+        assertThrows(IllegalArgumentException.class, () -> cache.setMaximumSize(-1));
+        assertTrue(FastDateFormat.getCacheStatistics().getMaximumSize() > 0);
+    }
+
+    @Test
+    public void testCacheEvictionOfHotEntries() {
+        final AbstractFormatCache<FastDateFormat> cache = new AbstractFormatCache<FastDateFormat>() {
+            @Override
+            protected FastDateFormat createInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+                return new FastDateFormat(pattern, timeZone, locale);
+            }
+        };
+        cache.setMaximumSize(8);
+        for (int i = 0; i < 8; i++) {
+            cache.getInstance("'" + i + "'", TimeZones.GMT, Locale.US);
+        }
+        for (int i = 0; i < 8; i++) {
+            cache.getInstance("'" + i + "'", TimeZones.GMT, Locale.US);
+        }
+        // a single miss evicts only down to three quarters of the maximum size, although all entries are equally recent
+        final FastDateFormat added = cache.getInstance("yyyy", TimeZones.GMT, Locale.US);
+        final FastDateFormat.CacheStatistics statistics = cache.getStatistics();
+        assertEquals(3, statistics.getEvictionCount(), statistics::toString);
+        assertEquals(6, statistics.getSize(), statistics::toString);
+        assertSame(added, cache.getInstance("yyyy", TimeZones.GMT, Locale.US));
+    }
+
     @Test
     public void testCheckDefaults() {
         final FastDateFormat format = FastDateFormat.getInstance();
@@ -247,6 +308,22 @@ public void testDateDefaults() {
                 FastDateFormat.getDateInstance(FastDateFormat.LONG, TimeZone.getDefault(), Locale.getDefault()));
     }
 
+    @Test
+    public void testFormatTemporal() {
+        final FastDateFormat format = FastDateFormat.getInstance("G yyyy-MM-dd HH:mm:ss.SSS Z", TimeZone.getTimeZone("America/New_York"), Locale.US);
+        final Instant instant = Instant.parse("2024-07-04T16:30:15.123456Z");
+        assertEquals("AD 2024-07-04 12:30:15.123 -0400", format.format(instant));
+        assertEquals(format.format(Date.from(instant)), format.format(instant.atZone(ZoneId.of("Asia/Tokyo"))));
+        assertEquals("AD 2024-07-04 12:30:15.123 -0400", format.format((Object) instant));
+        assertEquals("AD 2024-07-04 12:30:15.123 -0400", format.format(instant, new StringBuilder()).toString());
+        // local temporals are in the time zone of the format
+        assertEquals("AD 2024-01-04 16:30:15.123 -0500", format.format(LocalDateTime.of(2024, 1, 4, 16, 30, 15, 123456789)));
+        assertEquals("AD 2024-07-04 00:00:00.000 -0400", format.format(LocalDate.of(2024, 7, 4)));
+        assertEquals("AD 1970-01-01 16:30:15.000 -0500", format.format(LocalTime.of(16, 30, 15)));
+        assertEquals("BC 0002-03-01 00:00:00.000 -0500", format.format(LocalDate.of(-1, 3, 1)));
+        assertThrows(DateTimeException.class, () -> format.format(Instant.MAX));
+    }
+
     @Test
     public void testLang1152() {
         final TimeZone utc = FastTimeZone.getGmtTimeZone();
@@ -286,6 +363,17 @@ public void testLang954() {
         FastDateFormat.getInstance(pattern);
     }
 
+    @Test
+    public void testParseInstant() throws ParseException {
+        final FastDateFormat format = FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss.SSS", TimeZone.getTimeZone("America/New_York"), Locale.US);
+        assertEquals(Instant.parse("2024-07-04T16:30:15.123Z"), format.parseInstant("2024-07-04 12:30:15.123"));
+        final ParsePosition pos = new ParsePosition(3);
+        assertEquals(Instant.parse("2024-07-04T16:30:15.123Z"), format.parseInstant("at 2024-07-04 12:30:15.123.", pos));
+        assertEquals(26, pos.getIndex());
+        assertNull(format.parseInstant("2024", new ParsePosition(0)));
+        assertThrows(ParseException.class, () -> format.parseInstant("2024"));
+    }
+
     @Test
     public void testParseSync() throws InterruptedException {
         final String pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS";
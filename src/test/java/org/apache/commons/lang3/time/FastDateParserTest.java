@@ -35,6 +35,7 @@
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.AbstractLangTest;
@@ -278,6 +279,23 @@ public void testAmPm(final TriFunction<String, TimeZone, Locale, DateParser> dpP
         assertEquals(cal.getTime(), H.parse("2010-08-01 12:33:20"));
     }
 
+    @Test
+    public void testConstructInParallel() {
+        final String pattern = "G yyyy MMMM dd EEEE a hh zzzz";
+        final Date date = new Date(1_700_000_000_000L);
+        final Locale[] locales = Stream.of(Locale.getAvailableLocales()).limit(64).toArray(Locale[]::new);
+        final Function<Locale, Date> parse = locale -> {
+            final SimpleDateFormat sdf = new SimpleDateFormat(pattern, locale);
+            sdf.setTimeZone(NEW_YORK);
+            return new FastDateParser(pattern, NEW_YORK, locale).parse(sdf.format(date), new ParsePosition(0));
+        };
+        // all threads race to create the same locale specific strategies
+        final Date[] parsed = Stream.of(locales).parallel().map(parse).toArray(Date[]::new);
+        for (int i = 0; i < locales.length; i++) {
+            assertEquals(parse.apply(locales[i]), parsed[i], locales[i]::toString);
+        }
+    }
+
     @Test
     public void testDayNumberOfWeek() throws ParseException {
         final DateParser parser = getInstance("u");
@@ -507,6 +525,56 @@ public void testParseOffset() {
         assertEquals(cal.getTime(), date);
     }
 
+    @Test
+    public void testParseNumbers() throws ParseException {
+        final FastDateParser parser = new FastDateParser("yyyy-MM-dd'T'HH:mm:ss.SSS", TimeZones.GMT, Locale.US);
+        final Calendar cal = Calendar.getInstance(TimeZones.GMT, Locale.US);
+        cal.clear();
+        cal.set(2024, Calendar.FEBRUARY, 29, 13, 45, 10);
+        cal.set(Calendar.MILLISECOND, 123);
+        assertEquals(cal.getTime(), parser.parse("2024-02-29T13:45:10.123"));
+        // any Unicode digits, like Integer.parseInt
+        assertEquals(cal.getTime(), parser.parse("٢٠٢٤-02-29T13:45:10.123"));
+        assertEquals(cal.getTime(), parser.parse("2024-2-29T13:45:10.123"));
+        assertThrows(ParseException.class, () -> parser.parse("2024-02-29T13:45:10."));
+        assertThrows(NumberFormatException.class, () -> parser.parse("20240000000-02-29T13:45:10.123"));
+        cal.set(Calendar.YEAR, 999999999);
+        assertEquals(cal.getTime(), parser.parse("999999999-02-29T13:45:10.123"));
+    }
+
+    @Test
+    public void testParseTextAtOffset() {
+        final DateParser parser = new FastDateParser("MMM d, yyyy", TimeZones.GMT, Locale.US);
+        final ParsePosition pos = new ParsePosition(3);
+        final Date date = parser.parse("On Jul 4, 2015 we", pos);
+        final Calendar cal = Calendar.getInstance(TimeZones.GMT, Locale.US);
+        cal.clear();
+        cal.set(2015, Calendar.JULY, 4);
+        assertEquals(cal.getTime(), date);
+        assertEquals(14, pos.getIndex());
+    }
+
+    @Test
+    public void testParseTextIgnoringCase() throws ParseException {
+        final DateParser parser = new FastDateParser("MMM yyyy", TimeZones.GMT, Locale.US);
+        final Date september = parser.parse("Sep 2024");
+        assertEquals(september, parser.parse("SEPTEMBER 2024"));
+        assertEquals(september, parser.parse("september 2024"));
+        // the longest name wins, not the "Sep" prefix
+        assertEquals(september, parser.parse("September 2024"));
+        // a name ignoring case that differs when lower cased by locale
+        final DateParser turkish = new FastDateParser("MMMM", TimeZones.GMT, new Locale("tr"));
+        assertEquals(turkish.parse("Haziran"), turkish.parse("HAZIRAN"));
+    }
+
+    @Test
+    public void testParseTimeZoneIgnoringCase() throws ParseException {
+        final DateParser parser = new FastDateParser("zzzz yyyy", TimeZones.GMT, Locale.US);
+        assertEquals(parser.parse("Eastern Standard Time 2024"), parser.parse("EASTERN STANDARD TIME 2024"));
+        assertEquals(parser.parse("-0500 2024"), parser.parse("gmt-5:00 2024"));
+        assertEquals(parser.parse("UTC 2024"), parser.parse("utc 2024"));
+    }
+
     @Test
     // Check that all Locales can parse the formats we use
     public void testParses() throws Exception {
@@ -18,16 +18,25 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
 import java.text.FieldPosition;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.Locale;
+import java.util.Random;
+import java.util.SimpleTimeZone;
 import java.util.TimeZone;
 
 import org.apache.commons.lang3.AbstractLangTest;
@@ -141,6 +150,22 @@ public void testAppendableOptions() {
         assertEquals(expected, format.format(epoch, sb).toString());
     }
 
+    @Test
+    public void testDaylightNameMatchesCalendarAroundTransitions() {
+        final String pattern = "yyyy-MM-dd HH:mm z zzzz";
+        for (final String zone : new String[] { "America/New_York", "Europe/Dublin", "Europe/Moscow", "Australia/Lord_Howe" }) {
+            final TimeZone timeZone = TimeZone.getTimeZone(zone);
+            final DatePrinter printer = getInstance(pattern, timeZone, Locale.US);
+            final Calendar calendar = Calendar.getInstance(timeZone, Locale.US);
+            // every ten minutes of 2011, in order, so that consecutive calls fall in the same hour
+            for (long m = 1_293_840_000_000L; m < 1_325_376_000_000L; m += 10 * 60 * 1000) {
+                calendar.setTimeInMillis(m);
+                final long millis = m;
+                assertEquals(printer.format(calendar), printer.format(millis), () -> zone + " " + millis);
+            }
+        }
+    }
+
     @Test
     public void testDayNumberOfWeek() {
         final DatePrinter printer = getInstance("u");
@@ -215,6 +240,86 @@ public void testFormat() {
         assertEquals(sdf.format(date2).replace("2003 03 03 03", "2003 2003 03 2003"), fdf.format(date2));
     }
 
+    @Test
+    public void testFormatMatchesCalendar() {
+        final String[] patterns = { "G yyyy yy MMMM MMM MM M LLL dd d DDD F EEE EEEE u a hh h K kk HH mm ss SSS S Z ZZ XXX",
+            "yyyy-MM-dd'T'HH:mm:ss.SSSZ z zzzz", "YYYY-'W'ww-W u" };
+        final String[] zones = { "UTC", "GMT", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe", "Europe/Dublin", "Europe/Amsterdam",
+            "Pacific/Apia", "America/Sao_Paulo", "GMT+05:30" };
+        final Locale[] locales = { Locale.US, Locale.GERMANY, new Locale("th", "TH") };
+        final long[] millis = new long[200];
+        final Random random = new Random(42);
+        for (int i = 0; i < millis.length; i++) {
+            // from year 1500 to year 2500
+            millis[i] = -15_000_000_000_000L + (long) (random.nextDouble() * 47_000_000_000_000L);
+        }
+        millis[0] = 0;
+        millis[1] = -1;
+        millis[2] = Long.MAX_VALUE / 2;
+        millis[3] = -12_219_292_800_000L; // 1582-10-15
+        for (final String pattern : patterns) {
+            for (final String zone : zones) {
+                final TimeZone timeZone = TimeZone.getTimeZone(zone);
+                for (final Locale locale : locales) {
+                    final DatePrinter printer = getInstance(pattern, timeZone, locale);
+                    final Calendar calendar = Calendar.getInstance(timeZone, locale);
+                    for (final long m : millis) {
+                        calendar.setTimeInMillis(m);
+                        final String expected = printer.format(calendar);
+                        assertEquals(expected, printer.format(m), () -> pattern + " " + zone + " " + locale + " " + m);
+                        assertEquals(expected, printer.format(new Date(m)));
+                        assertEquals(expected, printer.format(m, new StringBuilder()).toString());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFormatTemporalMatchesDate() {
+        final String pattern = "G yyyy yy MMMM MM M dd d DDD F EEE u a hh K kk HH mm ss SSS Z XXX z zzzz YYYY-'W'ww-W";
+        final Random random = new Random(42);
+        for (final String zone : new String[] { "UTC", "America/New_York", "Australia/Lord_Howe", "Europe/Dublin", "Asia/Kolkata" }) {
+            final TimeZone timeZone = TimeZone.getTimeZone(zone);
+            final ZoneId zoneId = timeZone.toZoneId();
+            final DatePrinter printer = getInstance(pattern, timeZone, Locale.UK);
+            if (!(printer instanceof FastDatePrinter)) {
+                return;
+            }
+            final FastDatePrinter fastPrinter = (FastDatePrinter) printer;
+            for (int i = 0; i < 500; i++) {
+                // from year 1950 to year 2400, where TimeZone and java.time agree on the offsets
+                final long millis = -631_152_000_000L + (long) (random.nextDouble() * 14_200_000_000_000L);
+                final Instant instant = Instant.ofEpochMilli(millis);
+                final String expected = printer.format(millis);
+                assertEquals(expected, fastPrinter.format(instant));
+                assertEquals(expected, fastPrinter.format(instant.atOffset(ZoneOffset.ofHours(3))));
+                final LocalDateTime local = LocalDateTime.ofInstant(instant, zoneId);
+                if (zoneId.getRules().getValidOffsets(local).size() == 1) {
+                    // neither in a gap nor in an overlap
+                    assertEquals(expected, fastPrinter.format(local), () -> zone + " " + local);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFormatTemporalMatchesDateInOtherCalendars() {
+        final TimeZone utc = TimeZone.getTimeZone("UTC");
+        final LocalDateTime local = LocalDateTime.of(2024, 3, 1, 0, 0);
+        final Date date = Date.from(local.toInstant(ZoneOffset.UTC));
+        for (final Locale locale : new Locale[] { Locale.forLanguageTag("th-TH"), Locale.forLanguageTag("ja-JP-u-ca-japanese"), Locale.US }) {
+            final FastDatePrinter printer = new FastDatePrinter("yyyy-MM-dd", utc, locale);
+            assertEquals(printer.format(date), printer.format(local), locale::toString);
+            assertEquals(printer.format(date), printer.format(local.toLocalDate()), locale::toString);
+        }
+        // the ISO fields, also before the Gregorian cutover
+        final FastDatePrinter printer = new FastDatePrinter("yyyy-MM-dd", utc, Locale.US);
+        assertEquals("1500-03-01", printer.format(LocalDate.of(1500, 3, 1)));
+        final FastDatePrinter buddhist = new FastDatePrinter("yyyy-MM-dd", utc, Locale.forLanguageTag("th-TH"));
+        assertThrows(DateTimeException.class, () -> buddhist.format(LocalDate.MAX));
+    }
+
     @Test
     public void testHourFormats() {
         final Calendar calendar = Calendar.getInstance();
@@ -367,6 +472,34 @@ public void testShortDateStyleWithLocales() {
 
     }
 
+    @Test
+    public void testSecondCacheMatchesUncached() {
+        final Random random = new Random(42);
+        final TimeZone[] zones = { TimeZone.getTimeZone("UTC"), TimeZone.getTimeZone("Europe/Paris"), TimeZone.getTimeZone("Asia/Kolkata"),
+            TimeZone.getTimeZone("Europe/Amsterdam"), new SimpleTimeZone(1234, "Odd") };
+        for (final String pattern : new String[] { "yyyy-MM-dd HH:mm:ss.SSS Z", "S ss SS zzzz SSSS", "HH:mm:ss", "GGGG yyyy.MM.dd hh:mm a S" }) {
+            for (final TimeZone timeZone : zones) {
+                for (final Locale locale : new Locale[] { Locale.US, Locale.forLanguageTag("th-TH") }) {
+                    final FastDatePrinter printer = new FastDatePrinter(pattern, timeZone, locale);
+                    final FastDatePrinter cached = printer.withSecondCache();
+                    assertSame(cached, cached.withSecondCache());
+                    assertEquals(printer, cached);
+                    long millis = -2_500_000_000_000L;
+                    for (int i = 0; i < 2000; i++) {
+                        // mostly consecutive instants, with jumps backwards and forwards
+                        millis += random.nextInt(10) == 0 ? (long) (random.nextGaussian() * 1_000_000_000_000L) : random.nextInt(400);
+                        final long at = millis;
+                        assertEquals(printer.format(at), cached.format(at), () -> pattern + " " + timeZone.getID() + " " + locale + " " + at);
+                        assertEquals(printer.format(new Date(at)), cached.format(Instant.ofEpochMilli(at)));
+                    }
+                }
+            }
+        }
+        final FastDateFormat format = FastDateFormat.getInstance("HH:mm:ss.SSS", TimeZone.getTimeZone("UTC"), Locale.US);
+        assertEquals("00:00:01.002", format.withSecondCache().format(1002L));
+        assertEquals(format, format.withSecondCache());
+    }
+
     /**
      * testLowYearPadding showed that the date was buggy This test confirms it, getting 366 back as a date
      */
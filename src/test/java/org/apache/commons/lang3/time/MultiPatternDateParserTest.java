@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.lang3.time;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.AbstractLangTest;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MultiPatternDateParser}.
+ */
+public class MultiPatternDateParserTest extends AbstractLangTest {
+
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+    private static final String[] PATTERNS = { "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd", "dd/MM/yyyy", "MMM d, yyyy", "yyyyMMdd", "HH:mm" };
+
+    private static final String[] INPUTS = { "2024-02-29T13:45:10", "2024-02-29", "29/02/2024", "Feb 29, 2024", "20240229", "13:45", "",
+        "2024-02-30", "2024/02/29", " 2024-02-29", "2024-02-29T", "Feb 29 2024", "feb 29, 2024", "13:45:10", "2024-2-9", "1", "x" };
+
+    /**
+     * Parses like DateUtils did before patterns were cached: a new parser per pattern and call.
+     */
+    private static Date parseUncached(final String source, final boolean lenient) {
+        final ParsePosition pos = new ParsePosition(0);
+        final Calendar calendar = Calendar.getInstance(GMT, Locale.US);
+        calendar.setLenient(lenient);
+        for (final String pattern : PATTERNS) {
+            final FastDateParser parser = new FastDateParser(pattern, GMT, Locale.US);
+            calendar.clear();
+            try {
+                if (parser.parse(source, pos, calendar) && pos.getIndex() == source.length()) {
+                    return calendar.getTime();
+                }
+            } catch (final IllegalArgumentException ignored) {
+                // not lenient
+            }
+            pos.setIndex(0);
+        }
+        return null;
+    }
+
+    @Test
+    public void testGetInstanceCopiesTimeZone() {
+        final TimeZone zone = new SimpleTimeZone(3_600_000, "Test/Zone");
+        final MultiPatternDateParser parser = MultiPatternDateParser.getInstance(zone, Locale.US, true, PATTERNS);
+        zone.setRawOffset(7_200_000);
+        assertEquals(3_600_000, parser.getTimeZone().getRawOffset());
+        assertNotSame(parser, MultiPatternDateParser.getInstance(zone, Locale.US, true, PATTERNS));
+    }
+
+    @Test
+    public void testGetInstanceEvictsLeastRecentlyUsed() {
+        final MultiPatternDateParser hot = MultiPatternDateParser.getInstance(GMT, Locale.US, true, "'hot' yyyy");
+        for (int i = 0; i < MultiPatternDateParser.MAX_CACHED * 4; i++) {
+            final MultiPatternDateParser parser = MultiPatternDateParser.getInstance(GMT, Locale.US, true, "'" + i + "' yyyy");
+            // new instances are still cached once the cache is full
+            assertSame(parser, MultiPatternDateParser.getInstance(GMT, Locale.US, true, "'" + i + "' yyyy"));
+            assertSame(hot, MultiPatternDateParser.getInstance(GMT, Locale.US, true, "'hot' yyyy"));
+        }
+    }
+
+    @Test
+    public void testGetInstance() {
+        final MultiPatternDateParser parser = MultiPatternDateParser.getInstance(GMT, Locale.US, true, PATTERNS);
+        assertSame(parser, MultiPatternDateParser.getInstance(GMT, Locale.US, true, PATTERNS.clone()));
+        assertNotSame(parser, MultiPatternDateParser.getInstance(GMT, Locale.US, false, PATTERNS));
+        assertNotSame(parser, MultiPatternDateParser.getInstance(GMT, Locale.GERMANY, true, PATTERNS));
+        assertArrayEquals(PATTERNS, parser.getPatterns());
+        assertEquals(GMT, parser.getTimeZone());
+        assertEquals(Locale.US, parser.getLocale());
+        assertTrue(parser.isLenient());
+        assertEquals(Locale.getDefault(), MultiPatternDateParser.getInstance(GMT, null, true, PATTERNS).getLocale());
+        assertThrows(NullPointerException.class, () -> MultiPatternDateParser.getInstance(null, Locale.US, true, PATTERNS));
+        assertThrows(NullPointerException.class, () -> MultiPatternDateParser.getInstance(GMT, Locale.US, true, (String[]) null));
+    }
+
+    @Test
+    public void testInvalidPattern() throws ParseException {
+        // an invalid pattern only fails when it is reached
+        final MultiPatternDateParser parser = MultiPatternDateParser.getInstance(GMT, Locale.US, true, "yyyy", "bad pattern");
+        assertEquals(new Date(0), parser.parse("1970"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("x"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("x"));
+    }
+
+    @Test
+    public void testMatchesUncachedParsing() throws ParseException {
+        for (final boolean lenient : new boolean[] { true, false }) {
+            final MultiPatternDateParser parser = MultiPatternDateParser.getInstance(GMT, Locale.US, lenient, PATTERNS);
+            for (final String input : INPUTS) {
+                final Date expected = parseUncached(input, lenient);
+                if (expected == null) {
+                    final ParseException e = assertThrows(ParseException.class, () -> parser.parse(input), input);
+                    assertEquals("Unable to parse the date: " + input, e.getMessage());
+                    assertEquals(-1, e.getErrorOffset());
+                } else {
+                    assertEquals(expected, parser.parse(input), input);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMayParse() {
+        final FastDateParser parser = new FastDateParser("yyyy-MM-dd'T'HH:mm", GMT, Locale.US);
+        assertTrue(parser.mayParse("2024-02-29T13:45"));
+        assertTrue(parser.mayParse("1-2-3T4:5"));
+        assertFalse(parser.mayParse("1-2-3T4:"));
+        assertFalse(parser.mayParse("2024-02-29 13:45"));
+        assertFalse(parser.mayParse("2024:02-29T13-45"));
+        assertTrue(new FastDateParser("MMM d", GMT, Locale.US).mayParse("May 1"));
+        assertTrue(new FastDateParser("MMM", GMT, Locale.US).mayParse(""));
+    }
+
+    @Test
+    public void testParseNull() {
+        assertThrows(NullPointerException.class, () -> MultiPatternDateParser.getInstance(GMT, Locale.US, true, PATTERNS).parse(null));
+    }
+}